@@ -0,0 +1,239 @@
+package com.chaosstream;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import net.minecraft.entity.Entity;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+
+/**
+ * Keeps mob spawning inside a configurable MSPT budget.
+ * Reads the server's average tick time every tick and the entity count once per second, and derives
+ * a spawn scale (MIN_SCALE..1.0) from them. Waves and chaos spawns scale their mob count down and make
+ * up for it with enhanced tiers; both are deferred while the server is over budget.
+ * Optionally, above an entity threshold, groups of identical low-tier wave mobs spawn as one CompoundElite.
+ * The budget describes the server's hardware, not a world, so it stays in the server directory.
+ */
+public class AdaptiveDifficulty {
+    private static AdaptiveDifficulty instance;
+
+    private static final String SAVE_FILE = "adaptive-difficulty.json";
+    private static final int SAVE_BACKUPS = 2;
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    private static final float DEFAULT_MSPT_BUDGET = 45.0f; // Leave headroom below the 50 ms tick
+    private static final float RECOVER_RATIO = 0.75f;       // Scale back up once MSPT is below 75% of budget
+    private static final float MIN_SCALE = 0.25f;
+    private static final float SCALE_DOWN_FACTOR = 0.85f;
+    private static final float SCALE_UP_STEP = 0.05f;
+    private static final int SAMPLE_INTERVAL = 20;          // Adjust scale and count entities once per second
+    private static final int MAX_DEFER_TICKS = 200;         // Never hold spawns back for more than 10 seconds
+    private static final int MAX_WAVE_MOBS = 300;           // Live wave mobs across all arenas
+    private static final int MAX_ENTITIES = 2000;           // All loaded entities across all worlds
+    private static final int DEFAULT_AGGREGATION_THRESHOLD = 1200;
+    private static final int AGGREGATION_GROUP_SIZE = 4;
+
+    private float msptBudget = DEFAULT_MSPT_BUDGET;
+    private boolean aggregationEnabled = false;
+    private int aggregationThreshold = DEFAULT_AGGREGATION_THRESHOLD;
+    private float mspt = 0;
+    private float spawnScale = 1.0f;
+    private int entityCount = 0;
+    private int sampleTimer = 0;
+    private int overBudgetTicks = 0;
+    private float chaosSpawnCredit = 0;
+
+    private AdaptiveDifficulty() {
+        load();
+    }
+
+    public static AdaptiveDifficulty getInstance() {
+        if (instance == null) {
+            instance = new AdaptiveDifficulty();
+        }
+        return instance;
+    }
+
+    /**
+     * Called every server tick before any spawning
+     */
+    public void tick(MinecraftServer server) {
+        mspt = server.getTickTime();
+        overBudgetTicks = isOverBudget() ? overBudgetTicks + 1 : 0;
+
+        if (++sampleTimer < SAMPLE_INTERVAL) return;
+        sampleTimer = 0;
+
+        entityCount = countEntities(server);
+
+        if (isOverBudget() || entityCount > MAX_ENTITIES) {
+            spawnScale = Math.max(MIN_SCALE, spawnScale * SCALE_DOWN_FACTOR);
+        } else if (mspt < msptBudget * RECOVER_RATIO) {
+            spawnScale = Math.min(1.0f, spawnScale + SCALE_UP_STEP);
+        }
+    }
+
+    private int countEntities(MinecraftServer server) {
+        int count = 0;
+        for (ServerWorld world : server.getWorlds()) {
+            for (Entity ignored : world.iterateEntities()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public boolean isOverBudget() {
+        return mspt > msptBudget;
+    }
+
+    /**
+     * Hold spawns back while over budget - but not forever, scaled-down spawns resume after MAX_DEFER_TICKS
+     */
+    public boolean shouldDeferSpawns() {
+        return isOverBudget() && overBudgetTicks <= MAX_DEFER_TICKS;
+    }
+
+    /**
+     * Mobs per spawn location for a wave, scaled to the current load and the live wave mob cap
+     */
+    public int scaleWaveMobCount(int countPerLocation, int locations) {
+        int scaled = Math.max(1, (int) Math.ceil(countPerLocation * spawnScale));
+
+        int capacity = MAX_WAVE_MOBS - WaveMobRegistry.getTotalAliveCount();
+        int perLocationCap = Math.max(1, capacity / Math.max(1, locations));
+        return Math.min(scaled, perLocationCap);
+    }
+
+    /**
+     * Enhancement tier (SpawnUtils.spawnEnhancedMob) that makes up for spawning fewer mobs
+     * @return 1 if no enhancement is needed, up to 4
+     */
+    public int getCompensationTier(int originalCount, int scaledCount) {
+        if (scaledCount >= originalCount) return 1;
+        return tierForRatio(originalCount / (double) scaledCount);
+    }
+
+    /**
+     * Thins chaos spawns out by the spawn scale - only every (1 / scale)-th spawn happens, at a compensating tier
+     * @return the enhancement tier for this spawn, or 0 to skip it
+     */
+    public int nextChaosSpawnTier() {
+        chaosSpawnCredit += spawnScale;
+        if (chaosSpawnCredit < 1.0f) return 0;
+
+        chaosSpawnCredit -= 1.0f;
+        return spawnScale >= 1.0f ? 1 : tierForRatio(1.0 / spawnScale);
+    }
+
+    private int tierForRatio(double ratio) {
+        if (ratio >= 3.0) return 4;
+        if (ratio >= 2.0) return 3;
+        return 2;
+    }
+
+    /**
+     * Aggregate low-tier wave mobs into compound elites right now?
+     */
+    public boolean shouldAggregate() {
+        return aggregationEnabled && entityCount >= aggregationThreshold;
+    }
+
+    public int getAggregationGroupSize() {
+        return AGGREGATION_GROUP_SIZE;
+    }
+
+    public boolean isAggregationEnabled() {
+        return aggregationEnabled;
+    }
+
+    public int getAggregationThreshold() {
+        return aggregationThreshold;
+    }
+
+    public void setAggregation(boolean enabled, int threshold) {
+        this.aggregationEnabled = enabled;
+        this.aggregationThreshold = threshold;
+        save();
+        ChaosMod.LOGGER.info("Mob aggregation {} (threshold: {} entities)", enabled ? "enabled" : "disabled", threshold);
+    }
+
+    public float getMspt() {
+        return mspt;
+    }
+
+    public float getMsptBudget() {
+        return msptBudget;
+    }
+
+    public void setMsptBudget(float msptBudget) {
+        this.msptBudget = msptBudget;
+        save();
+        ChaosMod.LOGGER.info("MSPT budget set to {} ms", msptBudget);
+    }
+
+    public float getSpawnScale() {
+        return spawnScale;
+    }
+
+    public int getEntityCount() {
+        return entityCount;
+    }
+
+    /**
+     * Save budget to file
+     */
+    public void save() {
+        try {
+            SnapshotWriter.writeJson(new File(SAVE_FILE), GSON,
+                new AdaptiveData(msptBudget, aggregationEnabled, aggregationThreshold), SAVE_BACKUPS);
+        } catch (IOException e) {
+            ChaosMod.LOGGER.error("Failed to save adaptive difficulty data", e);
+        }
+    }
+
+    /**
+     * Load budget from file
+     */
+    private void load() {
+        try {
+            File file = new File(SAVE_FILE);
+            SnapshotWriter.recover(file, SAVE_BACKUPS);
+            if (!file.exists()) return;
+
+            try (FileReader reader = new FileReader(file)) {
+                AdaptiveData data = GSON.fromJson(reader, AdaptiveData.class);
+                if (data != null && data.msptBudget > 0) {
+                    this.msptBudget = data.msptBudget;
+                    this.aggregationEnabled = data.aggregationEnabled;
+                    if (data.aggregationThreshold > 0) {
+                        this.aggregationThreshold = data.aggregationThreshold;
+                    }
+                    ChaosMod.LOGGER.info("Adaptive difficulty loaded - MSPT budget: {} ms, aggregation: {}",
+                        msptBudget, aggregationEnabled);
+                }
+            }
+        } catch (IOException e) {
+            ChaosMod.LOGGER.error("Failed to load adaptive difficulty data", e);
+        }
+    }
+
+    /**
+     * Data class for JSON serialization
+     */
+    private static class AdaptiveData {
+        float msptBudget;
+        boolean aggregationEnabled;
+        int aggregationThreshold;
+
+        AdaptiveData(float msptBudget, boolean aggregationEnabled, int aggregationThreshold) {
+            this.msptBudget = msptBudget;
+            this.aggregationEnabled = aggregationEnabled;
+            this.aggregationThreshold = aggregationThreshold;
+        }
+    }
+}
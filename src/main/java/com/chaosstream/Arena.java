@@ -0,0 +1,142 @@
+package com.chaosstream;
+
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A named tower defense arena: one village core with its own HP, wave session, defenders and towers.
+ * Everything within RADIUS blocks (rounded to whole chunks) of the core belongs to the arena.
+ */
+public class Arena {
+    public static final String DEFAULT_NAME = "default";
+    public static final int MAX_CORE_HP = 100;
+    public static final int RADIUS = 128; // Covers spawn locations (60) plus flow field and tower range
+    public static final int RADIUS_CHUNKS = RADIUS >> 4;
+
+    private final String name;
+    private final RegistryKey<World> worldKey;
+    private final BlockPos corePos;
+    private int coreHP;
+    private boolean gameOver;
+
+    // Players currently inside the arena, refreshed once per tick by VillageManager (not persistent)
+    private final List<ServerPlayerEntity> players = new ArrayList<>();
+
+    public Arena(String name, RegistryKey<World> worldKey, BlockPos corePos) {
+        this(name, worldKey, corePos, MAX_CORE_HP, false);
+    }
+
+    Arena(String name, RegistryKey<World> worldKey, BlockPos corePos, int coreHP, boolean gameOver) {
+        this.name = name;
+        this.worldKey = worldKey;
+        this.corePos = corePos;
+        this.coreHP = coreHP;
+        this.gameOver = gameOver;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public RegistryKey<World> getWorldKey() {
+        return worldKey;
+    }
+
+    public BlockPos getCorePos() {
+        return corePos;
+    }
+
+    public int getCoreHP() {
+        return coreHP;
+    }
+
+    public int getMaxCoreHP() {
+        return MAX_CORE_HP;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    /**
+     * Damage the core
+     * @return true if the HP changed
+     */
+    boolean damageCore(int damage) {
+        if (gameOver || damage <= 0) return false;
+
+        coreHP = Math.max(0, coreHP - damage);
+        if (coreHP <= 0) {
+            gameOver = true;
+        }
+        return true;
+    }
+
+    /**
+     * Repair the core
+     * @return true if the HP changed
+     */
+    boolean repairCore(int amount) {
+        if (gameOver) return false;
+
+        int oldHP = coreHP;
+        coreHP = Math.min(MAX_CORE_HP, coreHP + amount);
+        return coreHP > oldHP;
+    }
+
+    void resetHP() {
+        coreHP = MAX_CORE_HP;
+        gameOver = false;
+    }
+
+    /**
+     * Check if a block position lies inside this arena's chunk area
+     */
+    public boolean contains(RegistryKey<World> world, BlockPos pos) {
+        if (world != worldKey) return false;
+        int dx = ChunkSectionPos.getSectionCoord(pos.getX()) - ChunkSectionPos.getSectionCoord(corePos.getX());
+        int dz = ChunkSectionPos.getSectionCoord(pos.getZ()) - ChunkSectionPos.getSectionCoord(corePos.getZ());
+        return Math.abs(dx) <= RADIUS_CHUNKS && Math.abs(dz) <= RADIUS_CHUNKS;
+    }
+
+    public List<ServerPlayerEntity> getPlayers() {
+        return players;
+    }
+
+    /**
+     * An arena is active while at least one player is inside - inactive arenas are not ticked
+     */
+    public boolean isActive() {
+        return !players.isEmpty();
+    }
+
+    // Serialization
+    public NbtCompound toNbt() {
+        NbtCompound nbt = new NbtCompound();
+        nbt.putString("name", name);
+        nbt.putString("world", worldKey.getValue().toString());
+        nbt.putInt("x", corePos.getX());
+        nbt.putInt("y", corePos.getY());
+        nbt.putInt("z", corePos.getZ());
+        nbt.putInt("core_hp", coreHP);
+        nbt.putBoolean("game_over", gameOver);
+        return nbt;
+    }
+
+    // Deserialization
+    public static Arena fromNbt(NbtCompound nbt) {
+        String name = nbt.getString("name");
+        RegistryKey<World> world = RegistryKey.of(RegistryKeys.WORLD, new Identifier(nbt.getString("world")));
+        BlockPos pos = new BlockPos(nbt.getInt("x"), nbt.getInt("y"), nbt.getInt("z"));
+        return new Arena(name, world, pos, nbt.getInt("core_hp"), nbt.getBoolean("game_over"));
+    }
+}
@@ -3,15 +3,20 @@ package com.chaosstream;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.ai.goal.Goal;
 import net.minecraft.entity.mob.MobEntity;
-import net.minecraft.entity.passive.VillagerEntity;
-import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.Vec3d;
 
 import java.util.EnumSet;
 
 /**
  * Custom AI Goal that makes mobs navigate toward a village core block.
  * Mobs will attack villagers and players if they encounter them, but prioritize reaching the core.
+ * On the way to the core mobs follow the shared CoreFlowField; regular A* navigation is only
+ * used to chase threats or when the mob is off the field or stuck.
+ * Threats are looked up in the shared per-tick ThreatIndex and cached per mob for a short time.
+ * Arrival at the core is reported to the WaveManager, which applies the core damage that tick.
  */
 public class AttackVillageCoreGoal extends Goal {
     private final MobEntity mob;
@@ -19,12 +24,25 @@ public class AttackVillageCoreGoal extends Goal {
     private LivingEntity currentTarget;
     private int updatePathTimer;
     private int attackCooldown;
+    private boolean followingFlowField;
+    private int flowFieldCooldown;
+    private int stuckTicks;
+    private int lastBlockX;
+    private int lastBlockZ;
+    private LivingEntity cachedThreat;
+    private long threatCacheExpiry = Long.MIN_VALUE;
+    private int threatCacheEpoch;
+    private Vec3d threatCachePos;
 
     private static final double CORE_REACH_DISTANCE = 3.0;
     private static final double ENTITY_DETECTION_RANGE = 12.0;
     private static final double ATTACK_REACH = 2.5;
     private static final int PATH_UPDATE_INTERVAL = 20; // Update path every 20 ticks (1 second)
     private static final int ATTACK_COOLDOWN_TICKS = 20; // 1 second between attacks
+    private static final int STUCK_TICKS = 40; // No block progress for 2 seconds = stuck on the field
+    private static final int FLOW_FIELD_RETRY_TICKS = 60; // Use A* for 3 seconds after getting stuck
+    private static final int THREAT_CACHE_TTL = 30; // Reuse the nearest threat for 1.5 seconds
+    private static final double THREAT_CACHE_MAX_MOVE_SQ = 4.0 * 4.0; // Mob moved further (e.g. teleported) = re-query
 
     public AttackVillageCoreGoal(MobEntity mob, BlockPos corePos) {
         this.mob = mob;
@@ -39,8 +57,11 @@ public class AttackVillageCoreGoal extends Goal {
 
         double distanceToCore = mob.getPos().distanceTo(corePos.toCenterPos());
 
-        // Don't start if already at core
-        if (distanceToCore <= CORE_REACH_DISTANCE) return false;
+        // Don't start if already at core (e.g. spawned or pushed there) - report the contact instead
+        if (distanceToCore <= CORE_REACH_DISTANCE) {
+            reportCoreContact();
+            return false;
+        }
 
         // Start if within reasonable range (200 blocks)
         return distanceToCore < 200.0;
@@ -56,13 +77,23 @@ public class AttackVillageCoreGoal extends Goal {
     public void start() {
         this.updatePathTimer = 0;
         this.currentTarget = null;
+        this.followingFlowField = false;
+        this.flowFieldCooldown = 0;
+        this.stuckTicks = 0;
+        this.threatCacheExpiry = Long.MIN_VALUE;
     }
 
     @Override
     public void tick() {
+        // Reached the core - the WaveManager consumes the mob at the end of this tick
+        if (this.mob.squaredDistanceTo(corePos.toCenterPos()) <= CORE_REACH_DISTANCE * CORE_REACH_DISTANCE) {
+            reportCoreContact();
+        }
+
         // Update path periodically
         this.updatePathTimer--;
         this.attackCooldown--;
+        this.flowFieldCooldown--;
 
         if (this.updatePathTimer <= 0) {
             this.updatePathTimer = PATH_UPDATE_INTERVAL;
@@ -73,12 +104,20 @@ public class AttackVillageCoreGoal extends Goal {
             if (nearestThreat != null && nearestThreat.isAlive()) {
                 // Attack threat if in range
                 this.currentTarget = nearestThreat;
+                this.followingFlowField = false;
                 this.mob.setTarget(nearestThreat);
                 this.mob.getNavigation().startMovingTo(nearestThreat, 1.0);
             } else {
                 // No threats nearby - move toward core
                 this.currentTarget = null;
                 this.mob.setTarget(null);
+                if (!followFlowField()) {
+                    this.mob.getNavigation().startMovingTo(corePos.getX(), corePos.getY(), corePos.getZ(), 1.0);
+                }
+            }
+        } else if (this.currentTarget == null && this.followingFlowField) {
+            // Keep walking along the flow field between path updates
+            if (!followFlowField()) {
                 this.mob.getNavigation().startMovingTo(corePos.getX(), corePos.getY(), corePos.getZ(), 1.0);
             }
         }
@@ -98,6 +137,54 @@ public class AttackVillageCoreGoal extends Goal {
         }
     }
 
+    /**
+     * Steers the mob one cell along the flow field gradient.
+     * Must be called every tick while following the field (MoveControl targets only last one tick).
+     * @return false if the mob is off the field or stuck - caller should fall back to navigation
+     */
+    private boolean followFlowField() {
+        if (this.flowFieldCooldown > 0 || !(this.mob.getWorld() instanceof ServerWorld world)) {
+            this.followingFlowField = false;
+            return false;
+        }
+
+        BlockPos waypoint = CoreFlowField.get(world, corePos).nextWaypoint(world, mob.getX(), mob.getY(), mob.getZ());
+        if (waypoint == null) {
+            this.followingFlowField = false;
+            return false;
+        }
+
+        // Stuck detection: no progress to a new block for STUCK_TICKS
+        int blockX = this.mob.getBlockX();
+        int blockZ = this.mob.getBlockZ();
+        if (this.followingFlowField && blockX == this.lastBlockX && blockZ == this.lastBlockZ) {
+            if (++this.stuckTicks >= STUCK_TICKS) {
+                this.stuckTicks = 0;
+                this.flowFieldCooldown = FLOW_FIELD_RETRY_TICKS;
+                this.followingFlowField = false;
+                return false;
+            }
+        } else {
+            this.stuckTicks = 0;
+            this.lastBlockX = blockX;
+            this.lastBlockZ = blockZ;
+        }
+
+        if (!this.followingFlowField) {
+            this.mob.getNavigation().stop();
+            this.followingFlowField = true;
+        }
+        this.mob.getMoveControl().moveTo(waypoint.getX() + 0.5, waypoint.getY(), waypoint.getZ() + 0.5, 1.0);
+        return true;
+    }
+
+    private void reportCoreContact() {
+        WaveManager waveManager = ChaosMod.getWaveManager();
+        if (waveManager != null && this.mob.isAlive()) {
+            waveManager.onMobReachedCore(this.mob, corePos);
+        }
+    }
+
     /**
      * Führt einen Angriff auf das Ziel aus
      */
@@ -111,41 +198,28 @@ public class AttackVillageCoreGoal extends Goal {
 
     /**
      * Findet die nächste Bedrohung (Villager oder Spieler)
+     * Nutzt das Ergebnis aus dem Cache solange es gültig ist (TTL, keine Tode/Teleports, Mob kaum bewegt)
      */
     private LivingEntity findNearestThreat() {
-        LivingEntity closest = null;
-        double closestDistance = Double.MAX_VALUE;
-
-        // Finde Villagers
-        java.util.List<VillagerEntity> villagers = this.mob.getWorld().getEntitiesByClass(
-            VillagerEntity.class,
-            this.mob.getBoundingBox().expand(ENTITY_DETECTION_RANGE),
-            villager -> villager.isAlive()
-        );
-
-        for (VillagerEntity villager : villagers) {
-            double distance = this.mob.squaredDistanceTo(villager);
-            if (distance < closestDistance) {
-                closestDistance = distance;
-                closest = villager;
-            }
+        if (!(this.mob.getWorld() instanceof ServerWorld world)) {
+            return null;
         }
 
-        // Finde Spieler
-        java.util.List<PlayerEntity> players = this.mob.getWorld().getEntitiesByClass(
-            PlayerEntity.class,
-            this.mob.getBoundingBox().expand(ENTITY_DETECTION_RANGE),
-            player -> player.isAlive() && !player.isCreative() && !player.isSpectator()
-        );
-
-        for (PlayerEntity player : players) {
-            double distance = this.mob.squaredDistanceTo(player);
-            if (distance < closestDistance) {
-                closestDistance = distance;
-                closest = player;
-            }
+        long tick = world.getTime();
+        Box searchBox = this.mob.getBoundingBox().expand(ENTITY_DETECTION_RANGE);
+
+        if (tick < this.threatCacheExpiry
+            && this.threatCacheEpoch == ThreatIndex.getEpoch(world)
+            && this.mob.getPos().squaredDistanceTo(this.threatCachePos) <= THREAT_CACHE_MAX_MOVE_SQ
+            && (this.cachedThreat == null
+                || (this.cachedThreat.isAlive() && searchBox.intersects(this.cachedThreat.getBoundingBox())))) {
+            return this.cachedThreat;
         }
 
-        return closest;
+        this.cachedThreat = ThreatIndex.get(world).findNearest(this.mob, searchBox);
+        this.threatCacheExpiry = tick + THREAT_CACHE_TTL;
+        this.threatCacheEpoch = ThreatIndex.getEpoch(world);
+        this.threatCachePos = this.mob.getPos();
+        return this.cachedThreat;
     }
 }
@@ -2,14 +2,14 @@ package com.chaosstream;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import net.minecraft.nbt.NbtCompound;
 
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 
 public class ChaosManager {
-    private static final String SAVE_FILE = "chaos-data.json";
+    private static final String LEGACY_SAVE_FILE = "chaos-data.json";
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
 
     private int chaosLevel = 0;
@@ -21,7 +21,7 @@ public class ChaosManager {
     private static final int DECAY_AMOUNT = 1;
 
     public ChaosManager() {
-        load();
+        // State is read from the world on server start (ChaosWorldState)
     }
 
     /**
@@ -30,6 +30,7 @@ public class ChaosManager {
     public void addChaos(int amount) {
         chaosLevel += amount;
         totalChaos += amount;
+        ChaosWorldState.markChanged();
         ChaosMod.LOGGER.info("Chaos increased by {}. Current level: {}", amount, chaosLevel);
     }
 
@@ -79,6 +80,7 @@ public class ChaosManager {
         if (currentTime - lastDecayTime >= DECAY_INTERVAL) {
             if (chaosLevel > 0) {
                 chaosLevel = Math.max(0, chaosLevel - DECAY_AMOUNT);
+                ChaosWorldState.markChanged();
                 ChaosMod.LOGGER.debug("Chaos decayed to: {}", chaosLevel);
             }
             lastDecayTime = currentTime;
@@ -90,60 +92,58 @@ public class ChaosManager {
      */
     public void reset() {
         chaosLevel = 0;
+        ChaosWorldState.markChanged();
         ChaosMod.LOGGER.info("Chaos level reset to 0");
     }
 
     /**
-     * Save chaos data to file
+     * Write chaos data for the world save
      */
-    public void save() {
-        try {
-            File file = new File(SAVE_FILE);
-            ChaosData data = new ChaosData(chaosLevel, totalChaos);
-
-            try (FileWriter writer = new FileWriter(file)) {
-                GSON.toJson(data, writer);
-                ChaosMod.LOGGER.info("Chaos data saved");
-            }
-        } catch (IOException e) {
-            ChaosMod.LOGGER.error("Failed to save chaos data", e);
-        }
+    public NbtCompound writeNbt() {
+        NbtCompound nbt = new NbtCompound();
+        nbt.putInt("chaos_level", chaosLevel);
+        nbt.putInt("total_chaos", totalChaos);
+        return nbt;
     }
 
     /**
-     * Load chaos data from file
+     * Read chaos data from the world save
      */
-    private void load() {
-        try {
-            File file = new File(SAVE_FILE);
-            if (!file.exists()) {
-                ChaosMod.LOGGER.info("No chaos data file found, starting fresh");
-                return;
-            }
+    public void readNbt(NbtCompound nbt) {
+        this.chaosLevel = nbt.getInt("chaos_level");
+        this.totalChaos = nbt.getInt("total_chaos");
+        ChaosMod.LOGGER.info("Chaos data loaded - Level: {}, Total: {}", chaosLevel, totalChaos);
+    }
+
+    /**
+     * One-time migration of the old chaos-data.json from the server directory
+     */
+    public void loadLegacyJson() {
+        chaosLevel = 0;
+        totalChaos = 0;
 
-            try (FileReader reader = new FileReader(file)) {
-                ChaosData data = GSON.fromJson(reader, ChaosData.class);
-                if (data != null) {
-                    this.chaosLevel = data.chaosLevel;
-                    this.totalChaos = data.totalChaos;
-                    ChaosMod.LOGGER.info("Chaos data loaded - Level: {}, Total: {}", chaosLevel, totalChaos);
-                }
+        File file = new File(LEGACY_SAVE_FILE);
+        if (!file.exists()) return;
+
+        try (FileReader reader = new FileReader(file)) {
+            ChaosData data = GSON.fromJson(reader, ChaosData.class);
+            if (data != null) {
+                this.chaosLevel = data.chaosLevel;
+                this.totalChaos = data.totalChaos;
+                ChaosMod.LOGGER.info("Migrated chaos data - Level: {}, Total: {}", chaosLevel, totalChaos);
             }
         } catch (IOException e) {
             ChaosMod.LOGGER.error("Failed to load chaos data", e);
+            return;
         }
+        ChaosWorldState.retireLegacyFile(file);
     }
 
     /**
-     * Data class for JSON serialization
+     * Old JSON data class (read only)
      */
     private static class ChaosData {
         int chaosLevel;
         int totalChaos;
-
-        ChaosData(int chaosLevel, int totalChaos) {
-            this.chaosLevel = chaosLevel;
-            this.totalChaos = totalChaos;
-        }
     }
 }
@@ -3,8 +3,15 @@ package com.chaosstream;
 import com.chaosstream.network.NetworkHandler;
 import net.fabricmc.api.ModInitializer;
 import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.fabricmc.fabric.api.entity.event.v1.ServerEntityWorldChangeEvents;
+import net.fabricmc.fabric.api.entity.event.v1.ServerLivingEntityEvents;
+import net.fabricmc.fabric.api.event.player.PlayerBlockBreakEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.minecraft.server.world.ServerWorld;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,39 +58,99 @@ public class ChaosMod implements ModInitializer {
         DefenderInteractionHandler interactionHandler = new DefenderInteractionHandler(defenderManager);
         interactionHandler.register();
 
+        // Keep the wave mob flow field and spawn point pools in sync with broken blocks
+        PlayerBlockBreakEvents.AFTER.register((world, player, pos, state, blockEntity) -> {
+            CoreFlowField.onBlockChanged(world, pos);
+            WaveManager waveManager = getWaveManager();
+            if (waveManager != null) {
+                waveManager.onBlockChanged(world, pos);
+            }
+        });
+
+        // Flow field columns in unloaded chunks are measured once their chunk loads
+        ServerChunkEvents.CHUNK_LOAD.register((world, chunk) -> CoreFlowField.onChunkLoaded(world, chunk.getPos()));
+
+        // Cached wave mob threat lookups become stale when a threat dies or changes world
+        ServerLivingEntityEvents.AFTER_DEATH.register((entity, damageSource) -> {
+            ThreatIndex.invalidate(entity);
+            WaveMobRegistry.onEntityRemoved(entity);
+            CompoundElite.onEntityRemoved(entity);
+        });
+
+        // Compound elites split once damaged below their threshold (checked at the end of the tick)
+        ServerLivingEntityEvents.ALLOW_DAMAGE.register((entity, source, amount) -> {
+            CompoundElite.onDamaged(entity);
+            return true;
+        });
+
+        ServerEntityWorldChangeEvents.AFTER_PLAYER_CHANGE_WORLD.register((player, origin, destination) -> {
+            ThreatIndex.invalidate(origin);
+            ThreatIndex.invalidate(destination);
+        });
+
+        // Wave mob alive counts also drop when a mob is discarded - not when its chunk merely unloads
+        ServerEntityEvents.ENTITY_UNLOAD.register((entity, world) -> {
+            WaveMobRegistry.onEntityUnloaded(entity);
+            CompoundElite.onEntityUnloaded(entity);
+        });
+        ServerEntityEvents.ENTITY_LOAD.register((entity, world) -> {
+            WaveMobRegistry.onEntityLoaded(entity);
+            CompoundElite.onEntityLoaded(entity);
+        });
+
+        // Wave and core boss bars follow arena membership, so only disconnects need cleanup
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> {
+            WaveManager waveManager = getWaveManager();
+            if (waveManager != null) {
+                waveManager.onPlayerLeave(handler.player);
+            }
+        });
+
         // Register commands
         CommandRegistrationCallback.EVENT.register(CommandHandler::register);
 
         // Register server lifecycle events
         ServerLifecycleEvents.SERVER_STARTED.register(server -> {
+            // Read chaos, arenas, towers and defenders from this world
+            ChaosWorldState.attach(server);
+
             LOGGER.info("Server started - Starting file watcher...");
             fileWatcher.start();
 
-            // Respawn gespeicherte Defender
-            server.getWorlds().forEach(world -> {
-                if (villageManager.hasVillageCore()) {
-                    defenderManager.respawnAllDefenders(world, villageManager.getVillageCorePos());
-                }
-            });
+            // Respawn gespeicherte Defender (gestaffelt über die ersten Ticks, jeweils in der Welt ihrer Arena)
+            defenderManager.respawnAllDefenders(server);
         });
 
         ServerLifecycleEvents.SERVER_STOPPING.register(server -> {
             LOGGER.info("Server stopping - Stopping file watcher...");
             fileWatcher.stop();
-            chaosManager.save();
-            villageManager.save();
-            towerManager.save();
-            defenderManager.shutdown(); // Speichert Defender-Daten
+            // Written by the final world save right after this event
+            ChaosWorldState.markChanged();
+        });
+
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            defenderManager.shutdown(); // Speichert restliche Defender-Daten
+            ChaosWorldState.detach();
+            CoreFlowField.clear();
         });
 
         // Register tick events for monster spawning, tower attacks, scoreboard, and stats
         ServerTickEvents.END_SERVER_TICK.register(server -> {
-            spawnHandler.onServerTick(server, chaosManager);
+            // Sort players into arenas first - everything below only ticks active arenas
+            villageManager.updateArenaPlayers(server);
 
-            // Process tower attacks for all worlds
-            server.getWorlds().forEach(world -> {
-                towerAttackLogic.tick(world);
-            });
+            spawnHandler.onServerTick(server, chaosManager);
+            defenderManager.tickRespawns(server);
+            CompoundElite.processDamaged();
+            WaveMobRegistry.discardOrphans();
+
+            // Process tower attacks for active arenas
+            for (Arena arena : villageManager.getActiveArenas()) {
+                ServerWorld world = server.getWorld(arena.getWorldKey());
+                if (world != null) {
+                    towerAttackLogic.tick(world, arena);
+                }
+            }
 
             // Update scoreboard
             scoreboardManager.tick(server);
@@ -0,0 +1,93 @@
+package com.chaosstream;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Central RNG service for the whole mod.
+ * Every call returns the Random of the calling thread, so nothing is allocated per call
+ * and threads never contend on a shared seed.
+ *
+ * Normal mode uses ThreadLocalRandom. In replay mode every thread gets its own Random
+ * seeded from the replay seed, so the same seed reproduces the same waves, spawns and patrols.
+ */
+public final class ChaosRandom {
+    private static final ThreadLocal<SeededRandom> SEEDED = ThreadLocal.withInitial(SeededRandom::new);
+
+    private static volatile long replaySeed = 0L;
+    private static volatile int replayGeneration = 0; // 0 = Replay-Modus aus
+
+    private ChaosRandom() {
+    }
+
+    /**
+     * Returns the Random for the current thread (never allocates after the first call per thread)
+     */
+    public static Random current() {
+        int generation = replayGeneration;
+        if (generation == 0) {
+            return ThreadLocalRandom.current();
+        }
+
+        SeededRandom seeded = SEEDED.get();
+        if (seeded.generation != generation) {
+            // Seed neu ableiten - gleicher Thread-Name + gleicher Seed = gleiche Sequenz
+            seeded.random.setSeed(mix(replaySeed ^ Thread.currentThread().getName().hashCode()));
+            seeded.generation = generation;
+        }
+        return seeded.random;
+    }
+
+    public static int nextInt(int bound) {
+        return current().nextInt(bound);
+    }
+
+    public static float nextFloat() {
+        return current().nextFloat();
+    }
+
+    public static double nextDouble() {
+        return current().nextDouble();
+    }
+
+    /**
+     * Enables deterministic replay mode with the given seed.
+     * All threads reseed lazily on their next call.
+     */
+    public static synchronized void setReplaySeed(long seed) {
+        replaySeed = seed;
+        int next = replayGeneration + 1;
+        replayGeneration = next == 0 ? 1 : next;
+        ChaosMod.LOGGER.info("ChaosRandom replay mode enabled (seed: {})", seed);
+    }
+
+    /**
+     * Disables replay mode and goes back to ThreadLocalRandom
+     */
+    public static synchronized void clearReplaySeed() {
+        replayGeneration = 0;
+        ChaosMod.LOGGER.info("ChaosRandom replay mode disabled");
+    }
+
+    public static boolean isReplayMode() {
+        return replayGeneration != 0;
+    }
+
+    public static long getReplaySeed() {
+        return replaySeed;
+    }
+
+    /**
+     * SplitMix64 finalizer - spreads similar seeds over the whole 64-bit range
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class SeededRandom {
+        final Random random = new Random();
+        int generation = 0;
+    }
+}
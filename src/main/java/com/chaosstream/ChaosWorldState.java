@@ -0,0 +1,114 @@
+package com.chaosstream;
+
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtHelper;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.WorldSavePath;
+import net.minecraft.world.PersistentState;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * World-attached storage for the mod's managers (chaos level, arenas, towers).
+ * Lives in the overworld's data folder (data/chaosstream.dat) and is written as NBT by the world's
+ * save cycle (autosave, /save-all, shutdown) - managers only mark it changed. The defender roster keeps
+ * its own log-structured file next to it (DefenderRosterStore) and is flushed in the same save.
+ * Old JSON files from the server directory are migrated once into the first world that is opened.
+ */
+public class ChaosWorldState extends PersistentState {
+    private static final String NAME = ChaosMod.MOD_ID;
+    private static final String DEFENDER_FILE = "chaosstream-defenders.dat";
+    private static final int SAVE_BACKUPS = 3;
+
+    private static ChaosWorldState current;
+
+    // Data read from disk - null for a state that did not exist yet
+    private final NbtCompound loaded;
+
+    private ChaosWorldState(NbtCompound loaded) {
+        this.loaded = loaded;
+    }
+
+    /**
+     * Loads the managers from the server's overworld - called on server start
+     */
+    public static void attach(MinecraftServer server) {
+        File stateFile = server.getSavePath(WorldSavePath.ROOT).resolve("data").resolve(NAME + ".dat").toFile();
+        SnapshotWriter.recover(stateFile, SAVE_BACKUPS);
+
+        ChaosWorldState state = server.getOverworld().getPersistentStateManager().getOrCreate(
+            ChaosWorldState::new, () -> new ChaosWorldState(null), NAME);
+        current = state;
+
+        if (state.loaded != null) {
+            ChaosMod.getChaosManager().readNbt(state.loaded.getCompound("chaos"));
+            ChaosMod.getVillageManager().readNbt(state.loaded.getCompound("village"));
+            ChaosMod.getTowerManager().readNbt(state.loaded.getCompound("towers"));
+        } else {
+            ChaosMod.getChaosManager().loadLegacyJson();
+            ChaosMod.getVillageManager().loadLegacyJson();
+            ChaosMod.getTowerManager().loadLegacyJson();
+            state.markDirty();
+        }
+
+        File defenderFile = server.getSavePath(WorldSavePath.ROOT).resolve("data").resolve(DEFENDER_FILE).toFile();
+        ChaosMod.getDefenderManager().loadDefenders(defenderFile);
+    }
+
+    /**
+     * Server stopped - changes after this point belong to no world
+     */
+    public static void detach() {
+        current = null;
+    }
+
+    /**
+     * Something changed - written with the next world save
+     */
+    public static void markChanged() {
+        if (current != null) {
+            current.markDirty();
+        }
+    }
+
+    /**
+     * Renames a migrated file so no other world picks it up again
+     */
+    static void retireLegacyFile(File file) {
+        File migrated = new File(file.getPath() + ".migrated");
+        if (!file.renameTo(migrated)) {
+            ChaosMod.LOGGER.warn("Could not rename migrated {} - it will be ignored from now on", file.getName());
+        }
+    }
+
+    /**
+     * Same layout as the vanilla save, but written through SnapshotWriter - vanilla truncates the file first
+     */
+    @Override
+    public void save(File file) {
+        if (!isDirty()) return;
+
+        NbtCompound root = new NbtCompound();
+        root.put("data", writeNbt(new NbtCompound()));
+        NbtHelper.putDataVersion(root);
+        try {
+            SnapshotWriter.write(file, out -> NbtIo.writeCompressed(root, out), SAVE_BACKUPS);
+        } catch (IOException e) {
+            ChaosMod.LOGGER.error("Failed to save chaos world data", e);
+        }
+        setDirty(false);
+    }
+
+    @Override
+    public NbtCompound writeNbt(NbtCompound nbt) {
+        nbt.put("chaos", ChaosMod.getChaosManager().writeNbt());
+        nbt.put("village", ChaosMod.getVillageManager().writeNbt());
+        nbt.put("towers", ChaosMod.getTowerManager().writeNbt());
+
+        // Same save, own file: only changed defender records are appended
+        ChaosMod.getDefenderManager().flushDefenders();
+        return nbt;
+    }
+}
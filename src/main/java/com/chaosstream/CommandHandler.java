@@ -2,6 +2,7 @@ package com.chaosstream;
 
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.LongArgumentType;
 import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.context.CommandContext;
 import net.minecraft.command.CommandRegistryAccess;
@@ -39,8 +40,35 @@ public class CommandHandler {
                 .executes(CommandHandler::resetVillage))
             .then(CommandManager.literal("corehp")
                 .executes(CommandHandler::getCoreHP))
+            .then(CommandManager.literal("arena")
+                .then(CommandManager.literal("create")
+                    .then(CommandManager.argument("name", StringArgumentType.word())
+                        .executes(CommandHandler::createArena)))
+                .then(CommandManager.literal("remove")
+                    .then(CommandManager.argument("name", StringArgumentType.word())
+                        .executes(CommandHandler::removeArena)))
+                .then(CommandManager.literal("list")
+                    .executes(CommandHandler::listArenas)))
+            .then(CommandManager.literal("performance")
+                .executes(CommandHandler::showPerformance)
+                .then(CommandManager.literal("budget")
+                    .then(CommandManager.argument("mspt", IntegerArgumentType.integer(10, 100))
+                        .executes(CommandHandler::setMsptBudget)))
+                .then(CommandManager.literal("saves")
+                    .executes(CommandHandler::showSaveMetrics))
+                .then(CommandManager.literal("aggregate")
+                    .then(CommandManager.literal("off")
+                        .executes(CommandHandler::disableAggregation))
+                    .then(CommandManager.argument("threshold", IntegerArgumentType.integer(100, 10000))
+                        .executes(CommandHandler::enableAggregation))))
             .then(CommandManager.literal("cleanbars")
                 .executes(CommandHandler::cleanBossBars))
+            .then(CommandManager.literal("seed")
+                .executes(CommandHandler::showSeed)
+                .then(CommandManager.literal("off")
+                    .executes(CommandHandler::clearSeed))
+                .then(CommandManager.argument("value", LongArgumentType.longArg())
+                    .executes(CommandHandler::setSeed)))
             .then(CommandManager.literal("givetower")
                 .then(CommandManager.argument("type", StringArgumentType.word())
                     .executes(CommandHandler::giveTower)))
@@ -75,6 +103,13 @@ public class CommandHandler {
                     .executes(CommandHandler::dismissDefender)))
             .then(CommandManager.literal("defender-clear-all")
                 .executes(CommandHandler::clearAllDefenders))
+            .then(CommandManager.literal("defender-summon")
+                .then(CommandManager.argument("viewer", StringArgumentType.word())
+                    .executes(CommandHandler::summonDefender)))
+            .then(CommandManager.literal("defender-export")
+                .executes(CommandHandler::exportDefenders))
+            .then(CommandManager.literal("defender-import")
+                .executes(CommandHandler::importDefenders))
         );
     }
 
@@ -196,7 +231,7 @@ public class CommandHandler {
             VillageManager villageManager = ChaosMod.getVillageManager();
 
             // Set village core at player's current position
-            villageManager.setVillageCore(player.getBlockPos());
+            villageManager.setVillageCore(player.getBlockPos(), player.getWorld().getRegistryKey());
 
             context.getSource().sendFeedback(
                 () -> Text.literal("§a§lVillage core set at: §e" + player.getBlockPos().toShortString() +
@@ -251,6 +286,163 @@ public class CommandHandler {
         return 1;
     }
 
+    private static int createArena(CommandContext<ServerCommandSource> context) {
+        try {
+            ServerPlayerEntity player = context.getSource().getPlayerOrThrow();
+            String name = StringArgumentType.getString(context, "name").toLowerCase();
+
+            // Name is used in boss bar ids - keep it identifier-safe
+            if (!name.matches("[a-z0-9_-]+")) {
+                context.getSource().sendError(Text.literal("§cArena names may only contain a-z, 0-9, _ and -"));
+                return 0;
+            }
+
+            VillageManager villageManager = ChaosMod.getVillageManager();
+            Arena overlapping = villageManager.getArenaAt(player.getWorld().getRegistryKey(), player.getBlockPos());
+            if (overlapping != null && !overlapping.getName().equals(name)) {
+                context.getSource().sendError(Text.literal("§cThis position belongs to arena '" + overlapping.getName() + "'!"));
+                return 0;
+            }
+
+            Arena arena = villageManager.createArena(name, player.getBlockPos(), player.getWorld().getRegistryKey());
+
+            context.getSource().sendFeedback(
+                () -> Text.literal("§a§lArena '" + arena.getName() + "' created at: §e" + arena.getCorePos().toShortString() +
+                    "\n§aCore HP: §e" + arena.getCoreHP() + "/" + arena.getMaxCoreHP() +
+                    "\n§aRadius: §e" + Arena.RADIUS + " blocks"),
+                true
+            );
+
+            return 1;
+        } catch (Exception e) {
+            context.getSource().sendError(Text.literal("§cError: " + e.getMessage()));
+            ChaosMod.LOGGER.error("Error creating arena", e);
+            return 0;
+        }
+    }
+
+    private static int removeArena(CommandContext<ServerCommandSource> context) {
+        String name = StringArgumentType.getString(context, "name").toLowerCase();
+        VillageManager villageManager = ChaosMod.getVillageManager();
+
+        if (!villageManager.removeArena(name)) {
+            context.getSource().sendError(Text.literal("§cNo arena named '" + name + "'!"));
+            return 0;
+        }
+
+        context.getSource().sendFeedback(
+            () -> Text.literal("§aArena '" + name + "' removed."),
+            true
+        );
+
+        return 1;
+    }
+
+    private static int listArenas(CommandContext<ServerCommandSource> context) {
+        VillageManager villageManager = ChaosMod.getVillageManager();
+
+        if (villageManager.getArenas().isEmpty()) {
+            context.getSource().sendFeedback(
+                () -> Text.literal("§eNo arenas. Use '/chaos arena create <name>' or '/chaos setvillage'."),
+                false
+            );
+            return 1;
+        }
+
+        StringBuilder message = new StringBuilder("§e=== Arenas (" + villageManager.getArenas().size() + ") ===");
+        for (Arena arena : villageManager.getArenas()) {
+            String status = arena.isGameOver() ? "§c§lDESTROYED" : "§a" + arena.getCoreHP() + "/" + arena.getMaxCoreHP();
+            message.append("\n§6").append(arena.getName())
+                .append(" §7- ").append(arena.getWorldKey().getValue())
+                .append(" §e").append(arena.getCorePos().toShortString())
+                .append(" §7HP: ").append(status)
+                .append(arena.isActive() ? " §b(" + arena.getPlayers().size() + " players)" : "");
+        }
+
+        context.getSource().sendFeedback(() -> Text.literal(message.toString()), false);
+        return 1;
+    }
+
+    private static int showPerformance(CommandContext<ServerCommandSource> context) {
+        AdaptiveDifficulty adaptive = AdaptiveDifficulty.getInstance();
+        String state = adaptive.isOverBudget() ? "§c§lOVER BUDGET" : "§a§lOK";
+
+        context.getSource().sendFeedback(
+            () -> Text.literal("§e=== Adaptive Difficulty ===\n" +
+                "§aMSPT: §e" + String.format("%.1f", adaptive.getMspt()) + " / " + String.format("%.0f", adaptive.getMsptBudget()) + " ms " + state + "\n" +
+                "§aSpawn Scale: §e" + String.format("%.0f%%", adaptive.getSpawnScale() * 100) + "\n" +
+                "§aEntities: §e" + adaptive.getEntityCount() + "\n" +
+                "§aWave Mobs: §e" + WaveMobRegistry.getTotalAliveCount() + "\n" +
+                "§aAggregation: " + (adaptive.isAggregationEnabled()
+                    ? (adaptive.shouldAggregate() ? "§c§lACTIVE" : "§aon") + " §7(from " + adaptive.getAggregationThreshold() + " entities)"
+                    : "§7off")),
+            false
+        );
+
+        return 1;
+    }
+
+    private static int setMsptBudget(CommandContext<ServerCommandSource> context) {
+        int budget = IntegerArgumentType.getInteger(context, "mspt");
+        AdaptiveDifficulty.getInstance().setMsptBudget(budget);
+
+        context.getSource().sendFeedback(
+            () -> Text.literal("§aMSPT budget set to §e" + budget + " ms"),
+            true
+        );
+
+        return 1;
+    }
+
+    private static int enableAggregation(CommandContext<ServerCommandSource> context) {
+        int threshold = IntegerArgumentType.getInteger(context, "threshold");
+        AdaptiveDifficulty.getInstance().setAggregation(true, threshold);
+
+        context.getSource().sendFeedback(
+            () -> Text.literal("§aMob aggregation enabled from §e" + threshold + " entities"),
+            true
+        );
+
+        return 1;
+    }
+
+    private static int disableAggregation(CommandContext<ServerCommandSource> context) {
+        AdaptiveDifficulty adaptive = AdaptiveDifficulty.getInstance();
+        adaptive.setAggregation(false, adaptive.getAggregationThreshold());
+
+        context.getSource().sendFeedback(
+            () -> Text.literal("§aMob aggregation disabled"),
+            true
+        );
+
+        return 1;
+    }
+
+    private static int showSaveMetrics(CommandContext<ServerCommandSource> context) {
+        java.util.Map<String, SnapshotWriter.Metrics> metrics = SnapshotWriter.getMetrics();
+        if (metrics.isEmpty()) {
+            context.getSource().sendFeedback(() -> Text.literal("§7No saves written yet"), false);
+            return 1;
+        }
+
+        StringBuilder message = new StringBuilder("§e=== Save Latency ===");
+        for (java.util.Map.Entry<String, SnapshotWriter.Metrics> entry : metrics.entrySet()) {
+            SnapshotWriter.Metrics m = entry.getValue();
+            message.append("\n§a").append(entry.getKey()).append(": §e")
+                .append(String.format("%.1f", m.getLastMillis())).append(" ms §7(avg ")
+                .append(String.format("%.1f", m.getAverageMillis())).append(", max ")
+                .append(String.format("%.1f", m.getMaxMillis())).append(" ms, ")
+                .append(m.getWrites()).append(" writes, ")
+                .append(m.getLastBytes() / 1024).append(" KB)");
+            if (m.getFailures() > 0) {
+                message.append(" §c").append(m.getFailures()).append(" failed");
+            }
+        }
+
+        context.getSource().sendFeedback(() -> Text.literal(message.toString()), false);
+        return 1;
+    }
+
     private static int cleanBossBars(CommandContext<ServerCommandSource> context) {
         try {
             // Remove all custom boss bars with chaosstream namespace
@@ -264,6 +456,14 @@ public class CommandHandler {
                 manager.remove(coreBar);
             }
 
+            // Remove core HP bars of the other arenas
+            for (Arena arena : ChaosMod.getVillageManager().getArenas()) {
+                var arenaBar = manager.get(new net.minecraft.util.Identifier("chaosstream", "core_hp_" + arena.getName()));
+                if (arenaBar != null) {
+                    manager.remove(arenaBar);
+                }
+            }
+
             context.getSource().sendFeedback(
                 () -> net.minecraft.text.Text.literal("§aAll Chaos Stream boss bars removed! They will be recreated automatically."),
                 true
@@ -277,6 +477,38 @@ public class CommandHandler {
         }
     }
 
+    private static int showSeed(CommandContext<ServerCommandSource> context) {
+        String status = ChaosRandom.isReplayMode()
+            ? "§aReplay mode: §eON §7(seed: §e" + ChaosRandom.getReplaySeed() + "§7)"
+            : "§aReplay mode: §cOFF";
+
+        context.getSource().sendFeedback(() -> Text.literal(status), false);
+        return 1;
+    }
+
+    private static int setSeed(CommandContext<ServerCommandSource> context) {
+        long seed = LongArgumentType.getLong(context, "value");
+        ChaosRandom.setReplaySeed(seed);
+
+        context.getSource().sendFeedback(
+            () -> Text.literal("§aDeterministic replay enabled with seed: §e" + seed),
+            true
+        );
+
+        return 1;
+    }
+
+    private static int clearSeed(CommandContext<ServerCommandSource> context) {
+        ChaosRandom.clearReplaySeed();
+
+        context.getSource().sendFeedback(
+            () -> Text.literal("§aDeterministic replay disabled"),
+            true
+        );
+
+        return 1;
+    }
+
     private static int giveTower(CommandContext<ServerCommandSource> context) {
         try {
             ServerPlayerEntity player = context.getSource().getPlayerOrThrow();
@@ -724,6 +956,71 @@ public class CommandHandler {
     /**
      * Löscht alle Defender (Admin-Command)
      */
+    private static int summonDefender(CommandContext<ServerCommandSource> context) {
+        try {
+            String viewerName = StringArgumentType.getString(context, "viewer");
+            DefenderManager manager = DefenderManager.getInstance();
+            DefenderVillager defender = manager.summonDefender(context.getSource().getServer(), viewerName);
+
+            if (defender == null) {
+                context.getSource().sendError(Text.literal("§c[Defender] Kein ausgelagerter Defender von " + viewerName + " gefunden!"));
+                return 0;
+            }
+
+            context.getSource().sendFeedback(
+                () -> Text.literal("§a[Defender] " + defender.getFormattedName() + " §aist zurück! §7(" +
+                    manager.getDormantDefenderCount() + " weitere ausgelagert)"),
+                true
+            );
+            return 1;
+
+        } catch (Exception e) {
+            context.getSource().sendError(Text.literal("§c[Defender] Error: " + e.getMessage()));
+            ChaosMod.LOGGER.error("Error summoning defender", e);
+            return 0;
+        }
+    }
+
+    private static int exportDefenders(CommandContext<ServerCommandSource> context) {
+        try {
+            DefenderManager manager = DefenderManager.getInstance();
+            var file = manager.exportDefenders();
+            int count = manager.getAllDefenders().size();
+
+            context.getSource().sendFeedback(
+                () -> Text.literal("§a[Defender] " + count + " Defender nach §e" + file.getName() + " §aexportiert"),
+                true
+            );
+            return 1;
+
+        } catch (Exception e) {
+            context.getSource().sendError(Text.literal("§c[Defender] Export fehlgeschlagen: " + e.getMessage()));
+            ChaosMod.LOGGER.error("Error exporting defenders", e);
+            return 0;
+        }
+    }
+
+    private static int importDefenders(CommandContext<ServerCommandSource> context) {
+        try {
+            int count = DefenderManager.getInstance().importDefenders();
+            if (count < 0) {
+                context.getSource().sendError(Text.literal("§c[Defender] defender-data-export.json fehlt oder ist ungültig!"));
+                return 0;
+            }
+
+            context.getSource().sendFeedback(
+                () -> Text.literal("§a[Defender] " + count + " Defender importiert"),
+                true
+            );
+            return 1;
+
+        } catch (Exception e) {
+            context.getSource().sendError(Text.literal("§c[Defender] Import fehlgeschlagen: " + e.getMessage()));
+            ChaosMod.LOGGER.error("Error importing defenders", e);
+            return 0;
+        }
+    }
+
     private static int clearAllDefenders(CommandContext<ServerCommandSource> context) {
         try {
             DefenderManager manager = DefenderManager.getInstance();
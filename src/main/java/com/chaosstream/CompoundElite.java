@@ -0,0 +1,199 @@
+package com.chaosstream;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.attribute.EntityAttributeInstance;
+import net.minecraft.entity.attribute.EntityAttributes;
+import net.minecraft.entity.mob.MobEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.text.Text;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A single mob standing in for a group of identical low-tier wave mobs.
+ * Health, attack damage and core damage equal the whole group. Each time the elite drops below
+ * SPLIT_THRESHOLD of its max health, half of its surviving members break off as regular mobs,
+ * keeping the total remaining health of the group unchanged.
+ * The member count is stored on the entity as a command tag (saved with the mob), so an elite
+ * whose chunk unloads or that survives a restart is rebuilt when it loads again (see onEntityLoaded).
+ */
+public class CompoundElite {
+    private static final float SPLIT_THRESHOLD = 0.5f;
+    private static final String MEMBERS_TAG_PREFIX = "chaosstream_compound_";
+
+    private static final Map<UUID, CompoundElite> ELITES = new HashMap<>();
+    // Elites hit this tick - checked for splits at the end of the tick
+    private static final Set<CompoundElite> DAMAGED = new LinkedHashSet<>();
+
+    private MobEntity mob; // Replaced by the new instance when the chunk reloads
+    private final float memberHealth;
+    private final double memberDamage;
+    private int members;
+
+    private CompoundElite(MobEntity mob, int members, float memberHealth, double memberDamage) {
+        this.mob = mob;
+        this.members = members;
+        this.memberHealth = memberHealth;
+        this.memberDamage = memberDamage;
+    }
+
+    /**
+     * Turns a freshly created mob into an elite of the given group size (before it is added to the world)
+     */
+    public static void apply(MobEntity mob, int members) {
+        float memberHealth = mob.getMaxHealth();
+        EntityAttributeInstance damage = mob.getAttributeInstance(EntityAttributes.GENERIC_ATTACK_DAMAGE);
+        double memberDamage = damage != null ? damage.getBaseValue() : 0;
+
+        CompoundElite elite = new CompoundElite(mob, members, memberHealth, memberDamage);
+        elite.applyGroupStats();
+        mob.setHealth(mob.getMaxHealth());
+        ELITES.put(mob.getUuid(), elite);
+    }
+
+    /**
+     * Re-binds a known elite to its reloaded entity, or rebuilds it from the member tag (after a restart).
+     * Health and damage attributes were saved with the mob at group size, so one member is a share of them.
+     */
+    public static void onEntityLoaded(Entity entity) {
+        if (!(entity instanceof MobEntity mob)) return;
+
+        CompoundElite known = ELITES.get(mob.getUuid());
+        if (known != null) {
+            known.mob = mob;
+            return;
+        }
+
+        int members = readMembersTag(mob);
+        if (members <= 1) return;
+
+        EntityAttributeInstance maxHealth = mob.getAttributeInstance(EntityAttributes.GENERIC_MAX_HEALTH);
+        EntityAttributeInstance damage = mob.getAttributeInstance(EntityAttributes.GENERIC_ATTACK_DAMAGE);
+        float memberHealth = (float) ((maxHealth != null ? maxHealth.getBaseValue() : mob.getMaxHealth()) / members);
+        double memberDamage = damage != null ? damage.getBaseValue() / members : 0;
+        ELITES.put(mob.getUuid(), new CompoundElite(mob, members, memberHealth, memberDamage));
+    }
+
+    /**
+     * Called on entity unload - the elite is only forgotten once the mob is gone for good.
+     * An elite unloaded with its chunk (or moved to another dimension) is re-bound on load.
+     */
+    public static void onEntityUnloaded(Entity entity) {
+        Entity.RemovalReason reason = entity.getRemovalReason();
+        if (reason == null || reason.shouldDestroy()) {
+            onEntityRemoved(entity);
+        }
+    }
+
+    /**
+     * Number of regular mobs this entity stands for (1 for anything that is not an elite)
+     */
+    public static int getMembers(Entity entity) {
+        CompoundElite elite = ELITES.get(entity.getUuid());
+        return elite != null ? elite.members : 1;
+    }
+
+    public static void onDamaged(LivingEntity entity) {
+        CompoundElite elite = ELITES.get(entity.getUuid());
+        if (elite != null) {
+            DAMAGED.add(elite);
+        }
+    }
+
+    public static void onEntityRemoved(Entity entity) {
+        CompoundElite elite = ELITES.remove(entity.getUuid());
+        if (elite != null) {
+            DAMAGED.remove(elite);
+        }
+    }
+
+    /**
+     * Splits elites that were damaged below the threshold this tick
+     */
+    public static void processDamaged() {
+        if (DAMAGED.isEmpty()) return;
+
+        List<CompoundElite> damaged = new ArrayList<>(DAMAGED);
+        DAMAGED.clear();
+        for (CompoundElite elite : damaged) {
+            if (elite.mob.isAlive() && !elite.mob.isRemoved()) {
+                elite.checkSplit();
+            }
+        }
+    }
+
+    private void checkSplit() {
+        while (members > 1 && mob.getHealth() <= mob.getMaxHealth() * SPLIT_THRESHOLD) {
+            // Surviving members, based on the health left - half of them break off
+            int surviving = Math.max(1, (int) Math.ceil(mob.getHealth() / memberHealth));
+            int shed = surviving / 2;
+
+            split(shed, surviving - shed);
+            members = Math.max(1, surviving - shed);
+            float health = mob.getHealth() - shed * memberHealth;
+            applyGroupStats();
+            mob.setHealth(Math.max(1.0f, health));
+        }
+
+        if (members <= 1) {
+            ELITES.remove(mob.getUuid());
+            clearMembersTag(mob);
+            mob.setCustomName(null);
+            mob.setCustomNameVisible(false);
+        }
+    }
+
+    private void split(int count, int remaining) {
+        if (count <= 0 || !(mob.getWorld() instanceof ServerWorld world)) return;
+
+        for (int i = 0; i < count; i++) {
+            MobEntity member = SpawnUtils.spawnMob(world, mob.getType(), mob.getBlockPos());
+            if (member != null) {
+                WaveMobRegistry.registerSibling(mob, member);
+            }
+        }
+        ChaosMod.LOGGER.debug("Compound {} split off {} mobs ({} left)", mob.getType().getName().getString(), count, remaining);
+    }
+
+    private void applyGroupStats() {
+        EntityAttributeInstance maxHealth = mob.getAttributeInstance(EntityAttributes.GENERIC_MAX_HEALTH);
+        if (maxHealth != null) {
+            maxHealth.setBaseValue(memberHealth * members);
+        }
+        EntityAttributeInstance damage = mob.getAttributeInstance(EntityAttributes.GENERIC_ATTACK_DAMAGE);
+        if (damage != null) {
+            damage.setBaseValue(memberDamage * members);
+        }
+
+        if (members > 1) {
+            clearMembersTag(mob);
+            mob.addCommandTag(MEMBERS_TAG_PREFIX + members);
+            mob.setCustomName(Text.literal("§6" + mob.getType().getName().getString() + " §ex" + members));
+            mob.setCustomNameVisible(true);
+        }
+    }
+
+    private static int readMembersTag(MobEntity mob) {
+        for (String tag : mob.getCommandTags()) {
+            if (tag.startsWith(MEMBERS_TAG_PREFIX)) {
+                try {
+                    return Integer.parseInt(tag.substring(MEMBERS_TAG_PREFIX.length()));
+                } catch (NumberFormatException e) {
+                    return 1;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static void clearMembersTag(MobEntity mob) {
+        mob.getCommandTags().removeIf(tag -> tag.startsWith(MEMBERS_TAG_PREFIX));
+    }
+}
@@ -0,0 +1,279 @@
+package com.chaosstream;
+
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.tag.FluidTags;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.World;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Core-centred flow field for wave mobs, one per dimension and core position.
+ * Stores the surface height of every column around the village core and a BFS step distance
+ * from each walkable column to the core. Mobs follow the gradient (the neighbour with the
+ * lowest distance) instead of running their own A* search, so path cost no longer scales
+ * with the number of mobs.
+ *
+ * The field is built once per core. Changed columns (reported via onBlockChanged or detected
+ * when a mob samples a stale height) are re-measured on the next rebuild; only their heights
+ * are re-read from the world, the BFS itself works on flat arrays and is cheap.
+ * Columns in unloaded chunks stay unknown until onChunkLoaded reports their chunk, so an
+ * unloaded edge never causes periodic rebuilds. Lava columns are measured once and kept as blocked.
+ */
+public class CoreFlowField {
+    private static final Map<RegistryKey<World>, Map<BlockPos, CoreFlowField>> FIELDS = new HashMap<>();
+
+    public static final int RADIUS = 72; // Covers MAX_SPAWN_DISTANCE (60) plus spawn spread
+    private static final int SIZE = RADIUS * 2 + 1;
+    private static final int UNKNOWN_HEIGHT = Integer.MIN_VALUE;
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final int MAX_STEP_UP = 1;
+    private static final int MAX_DROP = 3;
+    private static final int REBUILD_COOLDOWN_TICKS = 20; // At most one rebuild per second
+    private static final int MAX_MOB_HEIGHT_OFFSET = 2; // Mob further off the surface = in a cave, not on the field
+
+    private static final int[] NEIGHBOUR_DX = {1, -1, 0, 0, 1, 1, -1, -1};
+    private static final int[] NEIGHBOUR_DZ = {0, 0, 1, -1, 1, -1, 1, -1};
+
+    private final BlockPos corePos;
+    private final int originX;
+    private final int originZ;
+    private final int[] heights = new int[SIZE * SIZE];
+    private final int[] distances = new int[SIZE * SIZE];
+    private final boolean[] blocked = new boolean[SIZE * SIZE]; // Lava surface, never walkable
+    private final boolean[] dirtyColumns = new boolean[SIZE * SIZE];
+    private final int[] queue = new int[SIZE * SIZE];
+    private boolean built = false;
+    private boolean dirty = false;
+    private long lastRebuildTick = Long.MIN_VALUE;
+
+    private CoreFlowField(BlockPos corePos) {
+        this.corePos = corePos;
+        this.originX = corePos.getX() - RADIUS;
+        this.originZ = corePos.getZ() - RADIUS;
+        Arrays.fill(heights, UNKNOWN_HEIGHT);
+        Arrays.fill(distances, UNREACHABLE);
+    }
+
+    /**
+     * Returns the (lazily built) flow field for a core
+     */
+    public static CoreFlowField get(ServerWorld world, BlockPos corePos) {
+        CoreFlowField field = FIELDS.computeIfAbsent(world.getRegistryKey(), key -> new HashMap<>())
+            .computeIfAbsent(corePos, CoreFlowField::new);
+        field.ensureUpToDate(world);
+        return field;
+    }
+
+    /**
+     * Marks the column of a changed block as dirty in every field that covers it
+     */
+    public static void onBlockChanged(World world, BlockPos pos) {
+        Map<BlockPos, CoreFlowField> fields = FIELDS.get(world.getRegistryKey());
+        if (fields == null) return;
+        for (CoreFlowField field : fields.values()) {
+            field.markDirty(pos.getX(), pos.getZ());
+        }
+    }
+
+    /**
+     * Re-measures the unknown columns of a chunk that just loaded in every field that covers it
+     */
+    public static void onChunkLoaded(World world, ChunkPos chunkPos) {
+        Map<BlockPos, CoreFlowField> fields = FIELDS.get(world.getRegistryKey());
+        if (fields == null) return;
+        for (CoreFlowField field : fields.values()) {
+            field.markUnknownDirty(chunkPos);
+        }
+    }
+
+    /**
+     * Drops the field of a core (core moved or reset)
+     */
+    public static void invalidate(RegistryKey<World> world, BlockPos corePos) {
+        Map<BlockPos, CoreFlowField> fields = FIELDS.get(world);
+        if (fields != null && corePos != null) {
+            fields.remove(corePos);
+        }
+    }
+
+    /**
+     * Drops every field - called when the server stops, the next world starts without them
+     */
+    public static void clear() {
+        FIELDS.clear();
+    }
+
+    /**
+     * Computes the next waypoint along the gradient for a mob standing at the given position.
+     * Returns null when the mob is not on the field (outside, unreachable, or off the surface);
+     * the caller then falls back to regular navigation.
+     */
+    public BlockPos nextWaypoint(ServerWorld world, double x, double y, double z) {
+        int bx = (int) Math.floor(x);
+        int bz = (int) Math.floor(z);
+        int index = indexOf(bx, bz);
+        if (index < 0) return null;
+
+        // Cheap staleness check: the mob's chunk is loaded, so this is a plain heightmap read
+        int worldHeight = world.getTopY(Heightmap.Type.MOTION_BLOCKING_NO_LEAVES, bx, bz);
+        if (worldHeight != heights[index]) {
+            markDirty(bx, bz);
+            return null;
+        }
+
+        int distance = distances[index];
+        if (distance == UNREACHABLE || Math.abs(y - heights[index]) > MAX_MOB_HEIGHT_OFFSET) {
+            return null;
+        }
+        if (distance == 0) {
+            return corePos;
+        }
+
+        int cx = bx - originX;
+        int cz = bz - originZ;
+        int bestIndex = -1;
+        int bestDistance = distance;
+        for (int n = 0; n < NEIGHBOUR_DX.length; n++) {
+            int nx = cx + NEIGHBOUR_DX[n];
+            int nz = cz + NEIGHBOUR_DZ[n];
+            if (nx < 0 || nz < 0 || nx >= SIZE || nz >= SIZE) continue;
+
+            int neighbourIndex = nz * SIZE + nx;
+            if (distances[neighbourIndex] < bestDistance && canStep(index, neighbourIndex)) {
+                bestDistance = distances[neighbourIndex];
+                bestIndex = neighbourIndex;
+            }
+        }
+
+        if (bestIndex < 0) return null;
+        return new BlockPos(originX + bestIndex % SIZE, heights[bestIndex], originZ + bestIndex / SIZE);
+    }
+
+    /**
+     * BFS step distance from a position to the core, or -1 if not on the field
+     */
+    public int getDistance(int x, int z) {
+        int index = indexOf(x, z);
+        if (index < 0 || distances[index] == UNREACHABLE) return -1;
+        return distances[index];
+    }
+
+    private void markDirty(int x, int z) {
+        int index = indexOf(x, z);
+        if (index >= 0) {
+            dirtyColumns[index] = true;
+            dirty = true;
+        }
+    }
+
+    private void markUnknownDirty(ChunkPos chunkPos) {
+        int minX = Math.max(chunkPos.getStartX(), originX);
+        int maxX = Math.min(chunkPos.getEndX(), originX + SIZE - 1);
+        int minZ = Math.max(chunkPos.getStartZ(), originZ);
+        int maxZ = Math.min(chunkPos.getEndZ(), originZ + SIZE - 1);
+
+        for (int z = minZ; z <= maxZ; z++) {
+            for (int x = minX; x <= maxX; x++) {
+                int index = indexOf(x, z);
+                if (heights[index] == UNKNOWN_HEIGHT) {
+                    dirtyColumns[index] = true;
+                    dirty = true;
+                }
+            }
+        }
+    }
+
+    private void ensureUpToDate(ServerWorld world) {
+        if (built && !dirty) return;
+
+        long tick = world.getTime();
+        if (built && tick - lastRebuildTick < REBUILD_COOLDOWN_TICKS) return;
+        lastRebuildTick = tick;
+
+        boolean fullScan = !built;
+        for (int index = 0; index < heights.length; index++) {
+            if (!fullScan && !dirtyColumns[index]) continue;
+            dirtyColumns[index] = false;
+            sampleColumn(world, index);
+        }
+
+        computeDistances();
+        built = true;
+        // Columns in unloaded chunks are retried once onChunkLoaded reports their chunk
+        dirty = false;
+
+        ChaosMod.LOGGER.debug("Flow field for core {} rebuilt (full: {})", corePos, fullScan);
+    }
+
+    /**
+     * Reads the surface height of a column (UNKNOWN_HEIGHT if the chunk is not loaded) and whether it is lava
+     */
+    private void sampleColumn(ServerWorld world, int index) {
+        int x = originX + index % SIZE;
+        int z = originZ + index / SIZE;
+        if (!world.getChunkManager().isChunkLoaded(ChunkSectionPos.getSectionCoord(x), ChunkSectionPos.getSectionCoord(z))) {
+            heights[index] = UNKNOWN_HEIGHT;
+            blocked[index] = false;
+            return;
+        }
+
+        int y = world.getTopY(Heightmap.Type.MOTION_BLOCKING_NO_LEAVES, x, z);
+        heights[index] = y;
+        blocked[index] = world.getFluidState(new BlockPos(x, y - 1, z)).isIn(FluidTags.LAVA);
+    }
+
+    /**
+     * Breadth-first search outward from the core column over walkable edges
+     */
+    private void computeDistances() {
+        Arrays.fill(distances, UNREACHABLE);
+
+        int coreIndex = indexOf(corePos.getX(), corePos.getZ());
+        if (heights[coreIndex] == UNKNOWN_HEIGHT || blocked[coreIndex]) return;
+
+        int head = 0;
+        int tail = 0;
+        distances[coreIndex] = 0;
+        queue[tail++] = coreIndex;
+
+        while (head < tail) {
+            int current = queue[head++];
+            int cx = current % SIZE;
+            int cz = current / SIZE;
+
+            for (int n = 0; n < NEIGHBOUR_DX.length; n++) {
+                int nx = cx + NEIGHBOUR_DX[n];
+                int nz = cz + NEIGHBOUR_DZ[n];
+                if (nx < 0 || nz < 0 || nx >= SIZE || nz >= SIZE) continue;
+
+                int neighbour = nz * SIZE + nx;
+                // Edge is traversed by mobs from neighbour towards current
+                if (distances[neighbour] == UNREACHABLE && canStep(neighbour, current)) {
+                    distances[neighbour] = distances[current] + 1;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+    }
+
+    private boolean canStep(int fromIndex, int toIndex) {
+        int from = heights[fromIndex];
+        int to = heights[toIndex];
+        if (from == UNKNOWN_HEIGHT || to == UNKNOWN_HEIGHT || blocked[fromIndex] || blocked[toIndex]) return false;
+        return to - from <= MAX_STEP_UP && from - to <= MAX_DROP;
+    }
+
+    private int indexOf(int x, int z) {
+        int cx = x - originX;
+        int cz = z - originZ;
+        if (cx < 0 || cz < 0 || cx >= SIZE || cz >= SIZE) return -1;
+        return cz * SIZE + cx;
+    }
+}
@@ -9,11 +9,9 @@ import net.minecraft.particle.ParticleTypes;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Box;
-import net.minecraft.util.math.Vec3d;
 
 import java.util.EnumSet;
 import java.util.List;
-import java.util.Random;
 
 /**
  * Custom AI Goals für Defender-Villagers
@@ -36,8 +34,10 @@ public class DefenderGoals {
         private int hpUpdateTimer;
         private int patrolUpdateTimer;
         private BlockPos patrolTarget;
+        private final PatrolRing patrolRing;
         private boolean isRetreating;
         private VillagerEntity targetHealer;
+        private final Dormancy dormancy;
 
         private static final int PATH_UPDATE_INTERVAL = 40; // 2 Sekunden (optimiert für Performance)
         private static final double ATTACK_RANGE = 20.0;
@@ -55,6 +55,8 @@ public class DefenderGoals {
             this.corePos = corePos;
             this.maxDistanceFromCore = maxDistanceFromCore;
             this.attackDamage = attackDamage;
+            this.patrolRing = corePos != null ? PatrolRing.filled(corePos, PATROL_RADIUS) : null;
+            this.dormancy = new Dormancy(villager);
             this.setControls(EnumSet.of(Control.MOVE, Control.LOOK));
         }
 
@@ -79,8 +81,16 @@ public class DefenderGoals {
             this.targetHealer = null;
         }
 
+        @Override
+        public void stop() {
+            TargetAllocator.getInstance().release(villager, corePos);
+        }
+
         @Override
         public void tick() {
+            // LOD: Fernab von Spielern und Mobs nur billiger Idle-Tick
+            if (dormancy.tick(false)) return;
+
             this.updatePathTimer--;
             this.attackCooldown--;
             this.hpUpdateTimer--;
@@ -170,11 +180,7 @@ public class DefenderGoals {
                         if (this.patrolUpdateTimer <= 0) {
                             this.patrolUpdateTimer = PATROL_UPDATE_INTERVAL;
 
-                            java.util.Random random = new java.util.Random();
-                            int offsetX = (int) ((random.nextDouble() - 0.5) * 2 * PATROL_RADIUS);
-                            int offsetZ = (int) ((random.nextDouble() - 0.5) * 2 * PATROL_RADIUS);
-
-                            this.patrolTarget = corePos.add(offsetX, 0, offsetZ);
+                            this.patrolTarget = patrolRing.next();
                             this.villager.getNavigation().startMovingTo(
                                 patrolTarget.getX(),
                                 patrolTarget.getY(),
@@ -206,8 +212,7 @@ public class DefenderGoals {
          */
         private void performMeleeAttack(HostileEntity target) {
             // Kritischer Treffer-System (15% Chance)
-            java.util.Random random = new java.util.Random();
-            boolean isCrit = random.nextFloat() < 0.15f;
+            boolean isCrit = ChaosRandom.nextFloat() < 0.15f;
             float finalDamage = isCrit ? (float)(attackDamage * 1.5) : (float)attackDamage;
 
             // Verursache Schaden
@@ -251,41 +256,13 @@ public class DefenderGoals {
         }
 
         /**
-         * Findet besten Target mit Score-basierter Priorität
-         * Mobs näher am Core haben höhere Priorität
-         * Score = distanceToVillager * 0.3 + distanceToCore * 0.7
-         * Niedrigster Score = höchste Priorität
+         * Holt das Ziel vom TargetAllocator
+         * Der Allocator scored alle Hostiles einmal pro Tick (Mobs näher am Core zuerst)
+         * und verteilt die Defender so, dass nicht alle auf denselben Mob gehen
          */
         private HostileEntity findBestTarget() {
-            List<HostileEntity> hostiles = this.villager.getWorld().getEntitiesByClass(
-                HostileEntity.class,
-                this.villager.getBoundingBox().expand(ATTACK_RANGE),
-                entity -> entity.isAlive()
-            );
-
-            if (hostiles.isEmpty()) {
-                return null;
-            }
-
-            HostileEntity bestTarget = null;
-            double bestScore = Double.MAX_VALUE;
-
-            Vec3d coreCenter = corePos.toCenterPos();
-
-            for (HostileEntity hostile : hostiles) {
-                double distanceToVillager = Math.sqrt(this.villager.squaredDistanceTo(hostile));
-                double distanceToCore = hostile.getPos().distanceTo(coreCenter);
-
-                // Score-Berechnung: Priorisiere Mobs näher am Core (70%) über Nähe zum Villager (30%)
-                double score = (distanceToVillager * 0.3) + (distanceToCore * 0.7);
-
-                if (score < bestScore) {
-                    bestScore = score;
-                    bestTarget = hostile;
-                }
-            }
-
-            return bestTarget;
+            double expectedDamage = attackDamage * PATH_UPDATE_INTERVAL / (double) ATTACK_COOLDOWN_TICKS;
+            return TargetAllocator.getInstance().assign(villager, corePos, ATTACK_RANGE, expectedDamage, PATH_UPDATE_INTERVAL);
         }
 
         /**
@@ -333,8 +310,10 @@ public class DefenderGoals {
         private int hpUpdateTimer;
         private int patrolUpdateTimer;
         private BlockPos patrolTarget;
+        private final PatrolRing patrolRing;
         private boolean isRetreating;
         private VillagerEntity targetHealer;
+        private final Dormancy dormancy;
 
         private static final int ATTACK_COOLDOWN_TICKS = 20; // 1 Sekunde (erhöht von 30 für schnellere Schussrate)
         private static final int PATH_UPDATE_INTERVAL = 40; // 2 Sekunden (optimiert für Performance)
@@ -351,6 +330,8 @@ public class DefenderGoals {
             this.attackDamage = attackDamage;
             this.attackRange = attackRange;
             this.preferredDistance = preferredDistance;
+            this.patrolRing = corePos != null ? PatrolRing.ring(corePos, PATROL_DISTANCE_FROM_CORE) : null;
+            this.dormancy = new Dormancy(archer);
             this.setControls(EnumSet.of(Control.MOVE, Control.LOOK));
         }
 
@@ -376,8 +357,16 @@ public class DefenderGoals {
             this.targetHealer = null;
         }
 
+        @Override
+        public void stop() {
+            TargetAllocator.getInstance().release(archer, corePos);
+        }
+
         @Override
         public void tick() {
+            // LOD: Fernab von Spielern und Mobs nur billiger Idle-Tick
+            if (dormancy.tick(false)) return;
+
             this.attackCooldown--;
             this.updatePathTimer--;
             this.hpUpdateTimer--;
@@ -484,12 +473,7 @@ public class DefenderGoals {
                             this.patrolUpdateTimer = PATROL_UPDATE_INTERVAL;
 
                             // Archer patrouillieren in PATROL_DISTANCE_FROM_CORE Distanz zum Core
-                            java.util.Random random = new java.util.Random();
-                            double angle = random.nextDouble() * Math.PI * 2;
-                            int offsetX = (int) (Math.cos(angle) * PATROL_DISTANCE_FROM_CORE);
-                            int offsetZ = (int) (Math.sin(angle) * PATROL_DISTANCE_FROM_CORE);
-
-                            this.patrolTarget = corePos.add(offsetX, 0, offsetZ);
+                            this.patrolTarget = patrolRing.next();
                             archer.getNavigation().startMovingTo(
                                 patrolTarget.getX(),
                                 patrolTarget.getY(),
@@ -525,8 +509,7 @@ public class DefenderGoals {
             ServerWorld world = (ServerWorld) archer.getWorld();
 
             // Kritischer Treffer-System (15% Chance)
-            java.util.Random random = new java.util.Random();
-            boolean isCrit = random.nextFloat() < 0.15f;
+            boolean isCrit = ChaosRandom.nextFloat() < 0.15f;
             double finalDamage = isCrit ? attackDamage * 1.5 : attackDamage;
 
             // Erstelle Pfeil-Entity
@@ -596,41 +579,13 @@ public class DefenderGoals {
         }
 
         /**
-         * Findet besten Target mit Score-basierter Priorität
-         * Mobs näher am Core haben höhere Priorität
-         * Score = distanceToArcher * 0.3 + distanceToCore * 0.7
-         * Niedrigster Score = höchste Priorität
+         * Holt das Ziel vom TargetAllocator
+         * Der Allocator scored alle Hostiles einmal pro Tick (Mobs näher am Core zuerst)
+         * und verteilt die Defender so, dass nicht alle auf denselben Mob gehen
          */
         private HostileEntity findBestTarget() {
-            List<HostileEntity> hostiles = this.archer.getWorld().getEntitiesByClass(
-                HostileEntity.class,
-                this.archer.getBoundingBox().expand(attackRange),
-                entity -> entity.isAlive()
-            );
-
-            if (hostiles.isEmpty()) {
-                return null;
-            }
-
-            HostileEntity bestTarget = null;
-            double bestScore = Double.MAX_VALUE;
-
-            Vec3d coreCenter = corePos.toCenterPos();
-
-            for (HostileEntity hostile : hostiles) {
-                double distanceToArcher = Math.sqrt(this.archer.squaredDistanceTo(hostile));
-                double distanceToCore = hostile.getPos().distanceTo(coreCenter);
-
-                // Score-Berechnung: Priorisiere Mobs näher am Core (70%) über Nähe zum Archer (30%)
-                double score = (distanceToArcher * 0.3) + (distanceToCore * 0.7);
-
-                if (score < bestScore) {
-                    bestScore = score;
-                    bestTarget = hostile;
-                }
-            }
-
-            return bestTarget;
+            double expectedDamage = attackDamage * PATH_UPDATE_INTERVAL / (double) ATTACK_COOLDOWN_TICKS;
+            return TargetAllocator.getInstance().assign(archer, corePos, attackRange, expectedDamage, PATH_UPDATE_INTERVAL);
         }
 
         /**
@@ -676,6 +631,8 @@ public class DefenderGoals {
         private int hpUpdateTimer;
         private int patrolUpdateTimer;
         private BlockPos patrolTarget;
+        private final PatrolRing patrolRing;
+        private final Dormancy dormancy;
 
         private static final int HP_UPDATE_INTERVAL = 40; // 2 Sekunden
         private static final int PATROL_UPDATE_INTERVAL = 100; // 5 Sekunden
@@ -691,6 +648,8 @@ public class DefenderGoals {
             this.hpUpdateTimer = 0;
             this.patrolUpdateTimer = 0;
             this.patrolTarget = null;
+            this.patrolRing = corePos != null ? PatrolRing.filled(corePos, PATROL_RADIUS) : null;
+            this.dormancy = new Dormancy(healer);
             this.setControls(EnumSet.of(Control.MOVE, Control.LOOK));
         }
 
@@ -706,6 +665,9 @@ public class DefenderGoals {
 
         @Override
         public void tick() {
+            // LOD: Fernab von Spielern und Mobs nur billiger Idle-Tick
+            if (dormancy.tick(false)) return;
+
             cooldownTimer--;
             hpUpdateTimer--;
             patrolUpdateTimer--;
@@ -748,12 +710,8 @@ public class DefenderGoals {
                     // Niemand zu heilen - Patrol-Mode
                     patrolUpdateTimer = PATROL_UPDATE_INTERVAL;
 
-                    // Generiere zufällige Patrol-Position in PATROL_RADIUS um Core
-                    java.util.Random random = new java.util.Random();
-                    int offsetX = (int) ((random.nextDouble() - 0.5) * 2 * PATROL_RADIUS);
-                    int offsetZ = (int) ((random.nextDouble() - 0.5) * 2 * PATROL_RADIUS);
-
-                    patrolTarget = corePos.add(offsetX, 0, offsetZ);
+                    // Zufällige vorberechnete Patrol-Position in PATROL_RADIUS um Core
+                    patrolTarget = patrolRing.next();
                     healer.getNavigation().startMovingTo(
                         patrolTarget.getX(),
                         patrolTarget.getY(),
@@ -843,6 +801,8 @@ public class DefenderGoals {
         private int hpUpdateTimer;
         private int patrolUpdateTimer;
         private BlockPos patrolTarget;
+        private final PatrolRing patrolRing;
+        private final Dormancy dormancy;
 
         private static final int HP_UPDATE_INTERVAL = 40; // 2 Sekunden
         private static final int PATROL_UPDATE_INTERVAL = 100; // 5 Sekunden
@@ -857,6 +817,8 @@ public class DefenderGoals {
             this.hpUpdateTimer = 0;
             this.patrolUpdateTimer = 0;
             this.patrolTarget = null;
+            this.patrolRing = corePos != null ? PatrolRing.filled(corePos, PATROL_RADIUS) : null;
+            this.dormancy = new Dormancy(builder);
             this.setControls(EnumSet.of(Control.MOVE, Control.LOOK));
         }
 
@@ -872,6 +834,11 @@ public class DefenderGoals {
 
         @Override
         public void tick() {
+            // LOD: Builder bleiben wach solange der Core beschädigt ist (Arena von der Dormancy gecacht)
+            Arena arena = dormancy.getArena();
+            boolean coreDamaged = arena != null && arena.getCoreHP() < arena.getMaxCoreHP();
+            if (dormancy.tick(coreDamaged)) return;
+
             cooldownTimer--;
             hpUpdateTimer--;
             patrolUpdateTimer--;
@@ -896,9 +863,11 @@ public class DefenderGoals {
 
             double distanceToCore = builder.getPos().distanceTo(corePos.toCenterPos());
 
-            VillageManager villageManager = ChaosMod.getVillageManager();
-            int currentHP = villageManager.getCoreHP();
-            int maxHP = 100;
+            // Core gehört zu keiner Arena mehr (Arena entfernt) - nichts zu reparieren
+            if (arena == null) return;
+
+            int currentHP = arena.getCoreHP();
+            int maxHP = arena.getMaxCoreHP();
 
             if (currentHP < maxHP) {
                 // Core braucht Reparatur - navigiere zum Core
@@ -910,7 +879,7 @@ public class DefenderGoals {
                 // Repariere Core wenn in Reichweite
                 if (cooldownTimer <= 0 && distanceToCore <= 10.0) {
                     // Repariere
-                    villageManager.repairCore(repairAmount, builder.getUuid());
+                    ChaosMod.getVillageManager().repairCore(arena, repairAmount, builder.getUuid());
 
                     // Spawn Partikel
                     spawnRepairParticles();
@@ -931,12 +900,8 @@ public class DefenderGoals {
                 // Core ist voll - Patrol-Mode
                 patrolUpdateTimer = PATROL_UPDATE_INTERVAL;
 
-                // Generiere zufällige Patrol-Position in PATROL_RADIUS um Core
-                java.util.Random random = new java.util.Random();
-                int offsetX = (int) ((random.nextDouble() - 0.5) * 2 * PATROL_RADIUS);
-                int offsetZ = (int) ((random.nextDouble() - 0.5) * 2 * PATROL_RADIUS);
-
-                patrolTarget = corePos.add(offsetX, 0, offsetZ);
+                // Zufällige vorberechnete Patrol-Position in PATROL_RADIUS um Core
+                patrolTarget = patrolRing.next();
                 builder.getNavigation().startMovingTo(
                     patrolTarget.getX(),
                     patrolTarget.getY(),
@@ -980,12 +945,14 @@ public class DefenderGoals {
         private final double tauntRange;
         private final int tauntInterval;
         private int tauntTimer;
+        private final Dormancy dormancy;
 
         public TauntGoal(VillagerEntity tank, double tauntRange, int tauntInterval) {
             this.tank = tank;
             this.tauntRange = tauntRange;
             this.tauntInterval = tauntInterval;
             this.tauntTimer = 0;
+            this.dormancy = new Dormancy(tank);
             this.setControls(EnumSet.of(Control.LOOK));
         }
 
@@ -1001,6 +968,9 @@ public class DefenderGoals {
 
         @Override
         public void tick() {
+            // LOD: Fernab von Spielern und Mobs nur billiger Idle-Tick
+            if (dormancy.tick(false)) return;
+
             // Check ob Tank gestorben ist
             if (tank.getHealth() <= 0 && tank.getWorld() instanceof ServerWorld) {
                 DefenderManager.getInstance().onDefenderDeath(
@@ -1138,6 +1108,7 @@ public class DefenderGoals {
                     villager.getYaw(),
                     villager.getPitch()
                 );
+                ThreatIndex.invalidate(villager);
 
                 // Teleport Particles
                 if (villager.getWorld() instanceof ServerWorld) {
@@ -1174,6 +1145,7 @@ public class DefenderGoals {
         private final double arrivalDistance;
         private int patrolTimer;
         private BlockPos currentPatrolPos;
+        private final Dormancy dormancy;
 
         public PatrolGoal(VillagerEntity villager, DefenderVillager defenderData, double speed) {
             this.villager = villager;
@@ -1181,6 +1153,7 @@ public class DefenderGoals {
             this.speed = speed;
             this.arrivalDistance = 3.0; // Defender stoppt 3 Blöcke vor Ziel
             this.patrolTimer = 0;
+            this.dormancy = new Dormancy(villager);
             this.setControls(java.util.EnumSet.of(Control.MOVE));
         }
 
@@ -1211,6 +1184,8 @@ public class DefenderGoals {
         @Override
         public void tick() {
             if (currentPatrolPos == null) return;
+            // LOD: Fernab von Spielern und Mobs nur billiger Idle-Tick
+            if (dormancy.tick(false)) return;
 
             // Alle 20 Ticks (1 Sekunde) prüfen ob wir am Ziel sind
             patrolTimer++;
@@ -1235,9 +1210,8 @@ public class DefenderGoals {
                     // Am Ziel angekommen -> Patrouilliere in kleinem Radius (5 Blöcke)
                     if (villager.getNavigation().isIdle()) {
                         // Wähle zufälligen Punkt in 5-Block-Radius
-                        Random random = new Random();
-                        int offsetX = random.nextInt(11) - 5; // -5 bis +5
-                        int offsetZ = random.nextInt(11) - 5;
+                        int offsetX = ChaosRandom.nextInt(11) - 5; // -5 bis +5
+                        int offsetZ = ChaosRandom.nextInt(11) - 5;
 
                         BlockPos randomPos = currentPatrolPos.add(offsetX, 0, offsetZ);
                         villager.getNavigation().startMovingTo(
@@ -1257,4 +1231,159 @@ public class DefenderGoals {
             currentPatrolPos = null;
         }
     }
+
+    /**
+     * Level-of-Detail für Defender-Goals
+     * Defender außerhalb der Tracking-Reichweite aller Spieler und ohne Hostiles in der Nähe
+     * schlafen: kein Pathfinding, keine Entity-Queries, nur ein billiger Idle-Tick.
+     * Aufgeweckt wird sofort bei Wellenstart oder wenn der Defender Schaden nimmt,
+     * spätestens nach WAKE_CHECK_INTERVAL wenn ein Spieler oder Hostile näher kommt.
+     * Arena (aus dem Defender-Record, nicht aus der Position - Follower und Patrols stehen oft außerhalb)
+     * und Wellen-Status werden nur alle WAKE_CHECK_INTERVAL neu bestimmt - oder sofort,
+     * wenn WaveManager einen Wellenstart meldet (getWaveNightEpoch).
+     */
+    static final class Dormancy {
+        private static final int WAKE_CHECK_INTERVAL = 20; // 1 Sekunde
+        private static final double HOSTILE_WAKE_RANGE = 32.0;
+
+        private final VillagerEntity villager;
+        private int checkTimer;
+        private boolean dormant;
+        private boolean waveRunning;
+        private int waveNightEpoch = -1;
+        private Arena arena;
+
+        Dormancy(VillagerEntity villager) {
+            this.villager = villager;
+            // Checks über die Ticks verteilen statt alle Defender im selben Tick
+            this.checkTimer = Math.floorMod(villager.getId(), WAKE_CHECK_INTERVAL);
+        }
+
+        /**
+         * @param keepAwake Goal-spezifischer Grund wach zu bleiben (z.B. beschädigter Core)
+         * @return true wenn der Defender schläft und das Goal diesen Tick überspringen soll
+         */
+        boolean tick(boolean keepAwake) {
+            boolean check = --checkTimer <= 0;
+            if (check) {
+                checkTimer = WAKE_CHECK_INTERVAL;
+                arena = resolveArena();
+            }
+            WaveManager waveManager = ChaosMod.getWaveManager();
+            if (waveManager != null && (check || waveManager.getWaveNightEpoch() != waveNightEpoch)) {
+                waveNightEpoch = waveManager.getWaveNightEpoch();
+                waveRunning = arena != null && waveManager.isWaveNightActive(arena);
+            }
+
+            // Sofort aufwachen: Welle läuft oder Defender wird angegriffen
+            if (keepAwake || villager.hurtTime > 0 || waveRunning) {
+                dormant = false;
+                return false;
+            }
+
+            if (!check) {
+                return dormant;
+            }
+
+            if (!(villager.getWorld() instanceof ServerWorld world)) {
+                dormant = false;
+                return false;
+            }
+
+            boolean sleep = !isPlayerTracking(world) && !isHostileNearby(world);
+            if (sleep && !dormant) {
+                villager.getNavigation().stop();
+            }
+            dormant = sleep;
+            return dormant;
+        }
+
+        /**
+         * Arena des Defenders (alle WAKE_CHECK_INTERVAL aktualisiert), null vor dem ersten Check
+         */
+        Arena getArena() {
+            return arena;
+        }
+
+        /**
+         * Arena aus dem Defender-Record, sonst die Arena an der eigenen Position
+         */
+        private Arena resolveArena() {
+            VillageManager villageManager = ChaosMod.getVillageManager();
+            DefenderVillager defender = DefenderManager.getInstance().getDefenderByEntityUUID(villager.getUuid());
+            Arena recorded = defender != null ? villageManager.getArena(defender.getArenaName()) : null;
+            return recorded != null ? recorded
+                : villageManager.getArenaAt(villager.getWorld().getRegistryKey(), villager.getBlockPos());
+        }
+
+        private boolean isPlayerTracking(ServerWorld world) {
+            int viewDistance = world.getServer().getPlayerManager().getViewDistance();
+            double trackingRange = Math.min(villager.getType().getMaxTrackDistance(), viewDistance) * 16.0;
+            return world.isPlayerInRange(villager.getX(), villager.getY(), villager.getZ(), trackingRange);
+        }
+
+        private boolean isHostileNearby(ServerWorld world) {
+            return !world.getEntitiesByClass(
+                HostileEntity.class,
+                villager.getBoundingBox().expand(HOSTILE_WAKE_RANGE),
+                entity -> entity.isAlive()
+            ).isEmpty();
+        }
+    }
+
+    /**
+     * Vorberechnete Patrol-Punkte um den Core
+     * Die Offsets (Einheitskreis) werden einmal statisch berechnet, die BlockPos-Punkte einmal pro Goal.
+     * next() wählt nur noch einen Index - keine Allokation pro Patrol-Update.
+     */
+    static final class PatrolRing {
+        private static final int ANGLE_STEPS = 32;
+        private static final double[] RING_FRACTIONS = {0.25, 0.5, 0.75, 1.0}; // Für Flächen-Patrol
+        private static final double[] COS = new double[ANGLE_STEPS];
+        private static final double[] SIN = new double[ANGLE_STEPS];
+
+        static {
+            for (int i = 0; i < ANGLE_STEPS; i++) {
+                double angle = (i / (double) ANGLE_STEPS) * Math.PI * 2;
+                COS[i] = Math.cos(angle);
+                SIN[i] = Math.sin(angle);
+            }
+        }
+
+        private final BlockPos[] points;
+
+        private PatrolRing(BlockPos[] points) {
+            this.points = points;
+        }
+
+        /**
+         * Punkte auf mehreren Ringen innerhalb von radius (für Nahkämpfer, Heiler, Builder)
+         */
+        static PatrolRing filled(BlockPos center, double radius) {
+            BlockPos[] points = new BlockPos[ANGLE_STEPS * RING_FRACTIONS.length];
+            int index = 0;
+            for (double fraction : RING_FRACTIONS) {
+                for (int i = 0; i < ANGLE_STEPS; i++) {
+                    points[index++] = center.add(
+                        (int) (COS[i] * radius * fraction), 0, (int) (SIN[i] * radius * fraction));
+                }
+            }
+            return new PatrolRing(points);
+        }
+
+        /**
+         * Punkte auf genau einem Ring mit festem Abstand (für Archer)
+         */
+        static PatrolRing ring(BlockPos center, double radius) {
+            BlockPos[] points = new BlockPos[ANGLE_STEPS];
+            for (int i = 0; i < ANGLE_STEPS; i++) {
+                points[i] = center.add((int) (COS[i] * radius), 0, (int) (SIN[i] * radius));
+            }
+            return new PatrolRing(points);
+        }
+
+        BlockPos next() {
+            return points[ChaosRandom.nextInt(points.length)];
+        }
+    }
 }
@@ -1,6 +1,5 @@
 package com.chaosstream;
 
-import com.google.gson.*;
 import net.minecraft.block.Blocks;
 import net.minecraft.entity.EntityType;
 import net.minecraft.entity.EquipmentSlot;
@@ -11,6 +10,7 @@ import net.minecraft.entity.passive.VillagerEntity;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.Items;
 import net.minecraft.particle.ParticleTypes;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.sound.SoundCategory;
@@ -22,8 +22,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -32,6 +30,11 @@ import java.util.stream.Collectors;
 /**
  * Manager für alle Defender-Villagers
  * Verwaltet Spawning, Stats, Level-System und Persistenz
+ *
+ * Im Speicher ist nur ein Hot-Set von Defendern (Ziel: MAX_RESIDENT_DEFENDERS).
+ * Alle anderen liegen ausgelagert in DefenderRosterStore und werden bei Bedarf eingelagert
+ * (zurückkehrender Viewer, /chaos defender-summon); verdrängt wird der am längsten inaktive (LRU).
+ * Defender mit lebender Entity werden nie verdrängt - das Hot-Set darf dafür über das Limit wachsen.
  */
 public class DefenderManager {
     private static final Logger LOGGER = LoggerFactory.getLogger("ChaosMod");
@@ -39,12 +42,22 @@ public class DefenderManager {
 
     private final Map<UUID, DefenderVillager> defenders = new ConcurrentHashMap<>();
     private final Map<UUID, DefenderVillager> entityToDefender = new ConcurrentHashMap<>(); // Entity UUID -> Defender
-    private final File dataFile;
-    private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
-
+    private final DefenderRosterStore store = new DefenderRosterStore();
+
+    // Ziel-Größe des Hot-Sets (Defender mit lebender Entity zählen mit, werden aber nie verdrängt)
+    private static final int MAX_RESIDENT_DEFENDERS = 100;
+
+    // Gestaffelter Respawn bei Server-Start
+    private static final int RESPAWNS_PER_TICK = 4;
+    private static final long RESPAWN_TICK_BUDGET_NANOS = 2_000_000L; // 2 ms pro Tick
+    private static final List<VillagerClass> RESPAWN_PRIORITY = List.of(
+        VillagerClass.TANK, VillagerClass.WARRIOR, VillagerClass.ARCHER, VillagerClass.HEALER, VillagerClass.BUILDER);
+    private final ArrayDeque<DefenderVillager> respawnQueue = new ArrayDeque<>();
+    private int respawnTotal = 0;
+    private int respawnDone = 0;
+    private int respawnTicks = 0;
     private DefenderManager() {
-        this.dataFile = new File("defender-data.json");
-        loadDefenders();
+        // Geladen wird beim Server-Start aus dem Weltordner (ChaosWorldState)
     }
 
     public static DefenderManager getInstance() {
@@ -58,8 +71,12 @@ public class DefenderManager {
      * Spawnt einen neuen Defender-Villager
      */
     public DefenderVillager spawnDefender(ServerWorld world, BlockPos position, String viewerName, VillagerClass villagerClass) {
-        // Erstelle Defender-Daten
-        DefenderVillager defender = new DefenderVillager(viewerName, villagerClass);
+        // Zurückkehrender Viewer: ausgelagerten Defender gleicher Klasse einlagern, sonst neu erstellen
+        DefenderVillager defender = pageInDormant(viewerName, villagerClass);
+        boolean returning = defender != null;
+        if (!returning) {
+            defender = new DefenderVillager(viewerName, villagerClass);
+        }
 
         // Spawne Villager-Entity
         VillagerEntity villager = EntityType.VILLAGER.create(world);
@@ -84,6 +101,12 @@ public class DefenderManager {
         // Position wird nur gesetzt wenn explizit ein Patrol-Command kommt
         defender.setLastPosition(null);
 
+        // Defender gehört zur Arena, in der er spawnt
+        Arena arena = ChaosMod.getVillageManager().getArenaAt(world.getRegistryKey(), position);
+        if (arena != null) {
+            defender.setArenaName(arena.getName());
+        }
+
         // Registriere Defender
         defenders.put(defender.getUuid(), defender);
         entityToDefender.put(villager.getUuid(), defender);
@@ -97,11 +120,11 @@ public class DefenderManager {
         // Spawn-Effekte
         playSpawnEffects(world, position, villagerClass);
 
-        // Speichere
-        saveDefenders();
+        // Speichere (und verdränge inaktive Defender über dem Hot-Set-Limit)
+        saveAndEvict();
 
-        LOGGER.info("Defender {} ({}) gespawnt für Viewer {} an {}",
-            defender.getUuid(), villagerClass.getDisplayName(), viewerName, position);
+        LOGGER.info("Defender {} ({}) {} für Viewer {} an {}",
+            defender.getUuid(), villagerClass.getDisplayName(), returning ? "eingelagert" : "gespawnt", viewerName, position);
 
         return defender;
     }
@@ -435,9 +458,10 @@ public class DefenderManager {
             SoundEvents.ENTITY_WITHER_DEATH,
             SoundCategory.NEUTRAL, 1.0f, 0.5f);
 
-        // 5. Entferne aus Maps (PERMANENTER TOD!)
+        // 5. Entferne aus Maps und Disk-Index (PERMANENTER TOD!)
         defenders.remove(defender.getUuid());
         entityToDefender.remove(villagerUUID);
+        store.remove(defender.getUuid());
 
         // 6. Speichere (ohne toten Defender)
         saveDefenders();
@@ -447,55 +471,204 @@ public class DefenderManager {
     }
 
     /**
-     * Respawnt alle gespeicherten Defender bei Server-Start
+     * Stellt alle geladenen Defender (Hot-Set) bei Server-Start in die Respawn-Warteschlange.
+     * Gespawnt wird gestaffelt über mehrere Ticks (tickRespawns), damit der Server sofort spielbar ist.
      */
-    public void respawnAllDefenders(ServerWorld world, BlockPos villageCorePos) {
-        if (villageCorePos == null) {
+    public void respawnAllDefenders(MinecraftServer server) {
+        VillageManager villageManager = ChaosMod.getVillageManager();
+        if (villageManager.getArenas().isEmpty()) {
             LOGGER.warn("Kein Village Core gefunden - kann Defender nicht respawnen!");
             return;
         }
 
-        int respawnCount = 0;
-        for (DefenderVillager defender : defenders.values()) {
-            // Respawne nur wenn noch keine Entity verknüpft ist
-            if (defender.getLinkedEntity() == null || !defender.getLinkedEntity().isAlive()) {
-                BlockPos spawnPos = defender.getLastPosition() != null ?
-                    defender.getLastPosition() : villageCorePos;
-
-                // Spawne Villager
-                VillagerEntity villager = EntityType.VILLAGER.create(world);
-                if (villager != null) {
-                    villager.refreshPositionAndAngles(
-                        spawnPos.getX() + 0.5,
-                        spawnPos.getY(),
-                        spawnPos.getZ() + 0.5,
-                        0, 0
-                    );
-
-                    villager.setCustomName(Text.literal(defender.getFormattedName()));
-                    villager.setCustomNameVisible(true);
-                    villager.setPersistent();
-
-                    defender.setLinkedEntity(villager);
-                    entityToDefender.put(villager.getUuid(), defender);
-
-                    applyClassStats(villager, defender);
-                    applyDefenderAI(villager, defender, villageCorePos); // AI-Goals hinzufügen
-                    world.spawnEntity(villager);
-
-                    // Sanfte Respawn-Effekte
-                    playSpawnEffects(world, spawnPos, defender.getVillagerClass());
-
-                    respawnCount++;
-                }
+        // Priorität: Frontlinie zuerst (Klassen-Reihenfolge), innerhalb der Klasse höheres Level zuerst
+        List<DefenderVillager> pending = defenders.values().stream()
+            .filter(d -> d.getLinkedEntity() == null || !d.getLinkedEntity().isAlive())
+            .sorted(Comparator
+                .comparingInt((DefenderVillager d) -> RESPAWN_PRIORITY.indexOf(d.getVillagerClass()))
+                .thenComparing(Comparator.comparingInt(DefenderVillager::getLevel).reversed()))
+            .collect(Collectors.toList());
+
+        respawnQueue.clear();
+        respawnQueue.addAll(pending);
+        respawnTotal = pending.size();
+        respawnDone = 0;
+        respawnTicks = 0;
+
+        if (respawnTotal > 0) {
+            LOGGER.info("{} Defender werden gestaffelt respawned (max. {} pro Tick)", respawnTotal, RESPAWNS_PER_TICK);
+        }
+    }
+
+    /**
+     * Arbeitet die Respawn-Warteschlange ab - höchstens RESPAWNS_PER_TICK Defender bzw. RESPAWN_TICK_BUDGET_NANOS pro Tick,
+     * ohne Spawn-Effekte
+     */
+    public void tickRespawns(MinecraftServer server) {
+        if (respawnQueue.isEmpty()) return;
+
+        long start = System.nanoTime();
+        int spawned = 0;
+        while (!respawnQueue.isEmpty() && spawned < RESPAWNS_PER_TICK
+                && System.nanoTime() - start < RESPAWN_TICK_BUDGET_NANOS) {
+            DefenderVillager defender = respawnQueue.poll();
+
+            // Inzwischen ausgelagert, gestorben oder anderweitig gespawnt
+            if (!defenders.containsKey(defender.getUuid())) continue;
+            if (defender.getLinkedEntity() != null && defender.getLinkedEntity().isAlive()) continue;
+
+            if (respawnDefender(server, defender, false)) {
+                respawnDone++;
             }
+            spawned++;
         }
 
-        if (respawnCount > 0) {
-            LOGGER.info("{} Defender erfolgreich respawned!", respawnCount);
+        // Fortschritt jede Sekunde in der Actionbar
+        respawnTicks++;
+        if (respawnQueue.isEmpty()) {
+            LOGGER.info("{} Defender erfolgreich respawned! ({} Ticks)", respawnDone, respawnTicks);
+            String message = String.format("§a✦ %d Defender sind zurück! ✦", respawnDone);
+            for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
+                player.sendMessage(Text.literal(message), true);
+            }
+        } else if (respawnTicks % 20 == 0) {
+            int processed = respawnTotal - respawnQueue.size();
+            LOGGER.info("Defender-Respawn: {}/{}", processed, respawnTotal);
+            String message = String.format("§7Defender kehren zurück... §e%d§7/§e%d", processed, respawnTotal);
+            for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
+                player.sendMessage(Text.literal(message), true);
+            }
         }
     }
 
+    /**
+     * Spawnt die Entity eines Defenders in der Welt seiner Arena
+     * @return true wenn gespawnt
+     */
+    private boolean respawnDefender(MinecraftServer server, DefenderVillager defender, boolean effects) {
+        Arena arena = ChaosMod.getVillageManager().getArena(defender.getArenaName());
+        if (arena == null) {
+            LOGGER.warn("Arena '{}' von Defender {} existiert nicht mehr - kein Respawn",
+                defender.getArenaName(), defender.getViewerName());
+            return false;
+        }
+        ServerWorld world = server.getWorld(arena.getWorldKey());
+        if (world == null) return false;
+
+        BlockPos villageCorePos = arena.getCorePos();
+        BlockPos spawnPos = defender.getLastPosition() != null ?
+            defender.getLastPosition() : villageCorePos;
+
+        // Spawne Villager
+        VillagerEntity villager = EntityType.VILLAGER.create(world);
+        if (villager == null) return false;
+
+        villager.refreshPositionAndAngles(
+            spawnPos.getX() + 0.5,
+            spawnPos.getY(),
+            spawnPos.getZ() + 0.5,
+            0, 0
+        );
+
+        villager.setCustomName(Text.literal(defender.getFormattedName()));
+        villager.setCustomNameVisible(true);
+        villager.setPersistent();
+
+        defender.setLinkedEntity(villager);
+        entityToDefender.put(villager.getUuid(), defender);
+
+        applyClassStats(villager, defender);
+        applyDefenderAI(villager, defender, villageCorePos); // AI-Goals hinzufügen
+        world.spawnEntity(villager);
+
+        // Sanfte Respawn-Effekte (nicht beim Massen-Respawn - zu viele Partikel-Pakete)
+        if (effects) {
+            playSpawnEffects(world, spawnPos, defender.getVillagerClass());
+        }
+        return true;
+    }
+
+    /**
+     * Lagert den zuletzt aktiven ausgelagerten Defender eines Viewers ein und spawnt ihn bei seiner Arena
+     * @return eingelagerter Defender, oder null wenn der Viewer keinen ausgelagerten Defender hat
+     */
+    public DefenderVillager summonDefender(MinecraftServer server, String viewerName) {
+        DefenderVillager defender = pageInDormant(viewerName, null);
+        if (defender == null) return null;
+
+        if (!respawnDefender(server, defender, true)) {
+            // Arena weg - bleibt geladen, wird beim nächsten Verdrängen wieder ausgelagert
+            LOGGER.warn("Defender {} eingelagert, konnte aber nicht gespawnt werden", defender.getViewerName());
+        }
+        saveAndEvict();
+        return defender;
+    }
+
+    /**
+     * Lagert einen ausgelagerten Defender des Viewers ein (zuletzt aktiver zuerst)
+     * @param villagerClass gewünschte Klasse, oder null für beliebige
+     */
+    private DefenderVillager pageInDormant(String viewerName, VillagerClass villagerClass) {
+        DefenderRosterStore.RosterEntry best = null;
+        for (DefenderRosterStore.RosterEntry entry : store.getEntriesByViewer(viewerName)) {
+            if (defenders.containsKey(entry.getUuid())) continue;
+            if (villagerClass != null && entry.getVillagerClass() != villagerClass) continue;
+            if (best == null || entry.getLastActive() > best.getLastActive()) {
+                best = entry;
+            }
+        }
+        if (best == null) return null;
+
+        DefenderVillager defender = store.page(best.getUuid());
+        if (defender != null) {
+            defender.touch();
+            defenders.put(defender.getUuid(), defender);
+        }
+        return defender;
+    }
+
+    /**
+     * Speichert und lagert danach die Defender über MAX_RESIDENT_DEFENDERS aus - nur solche ohne
+     * lebende Entity, die am längsten inaktiven zuerst (LRU). Lebende Defender bleiben in der Welt.
+     */
+    private void saveAndEvict() {
+        int excess = defenders.size() - MAX_RESIDENT_DEFENDERS;
+        List<DefenderVillager> evicted = new ArrayList<>();
+        if (excess > 0) {
+            evicted = defenders.values().stream()
+                .filter(d -> d.getLinkedEntity() == null || !d.getLinkedEntity().isAlive())
+                .sorted(Comparator.comparingLong(DefenderVillager::getLastActive))
+                .limit(excess)
+                .collect(Collectors.toList());
+        }
+
+        if (evicted.isEmpty()) {
+            saveDefenders();
+            return;
+        }
+
+        // Erst schreiben - die Records der verdrängten Defender müssen auf Disk sein
+        flushDefenders();
+
+        for (DefenderVillager defender : evicted) {
+            VillagerEntity entity = defender.getLinkedEntity();
+            if (entity != null) {
+                entityToDefender.remove(entity.getUuid());
+            }
+            defenders.remove(defender.getUuid());
+        }
+
+        LOGGER.info("{} inaktive Defender ausgelagert ({} geladen, {} gesamt)",
+            evicted.size(), defenders.size(), store.size());
+    }
+
+    /**
+     * Anzahl ausgelagerter Defender (nur auf Disk)
+     */
+    public int getDormantDefenderCount() {
+        return store.size() - defenders.size();
+    }
+
     /**
      * Gibt Defender anhand Entity-UUID zurück
      */
@@ -504,7 +677,7 @@ public class DefenderManager {
     }
 
     /**
-     * Gibt alle aktiven Defender zurück (als List für Sorting)
+     * Gibt alle geladenen Defender zurück (als List für Sorting) - ausgelagerte sind nicht enthalten
      */
     public List<DefenderVillager> getAllDefenders() {
         return new ArrayList<>(defenders.values());
@@ -534,6 +707,7 @@ public class DefenderManager {
     public void clearAllDefenders() {
         defenders.clear();
         entityToDefender.clear();
+        store.clear();
         saveDefenders(); // Speichere leere Liste
         LOGGER.info("All defenders cleared");
     }
@@ -941,7 +1115,8 @@ public class DefenderManager {
             );
         } else {
             // Patrouille-Modus: Wende normale AI wieder an
-            BlockPos corePos = ChaosMod.getVillageManager().getVillageCorePos();
+            Arena arena = ChaosMod.getVillageManager().getArena(defender.getArenaName());
+            BlockPos corePos = arena != null ? arena.getCorePos() : null;
             applyDefenderAI(villager, defender, corePos);
 
             // Visual Effect
@@ -1007,11 +1182,12 @@ public class DefenderManager {
             );
         }
 
-        // Entferne aus Maps
+        // Entferne aus Maps und Disk-Index
         defenders.remove(defender.getUuid());
         if (defender.getEntityUUID() != null) {
             entityToDefender.remove(defender.getEntityUUID());
         }
+        store.remove(defender.getUuid());
 
         // Speichern
         saveDefenders();
@@ -1020,67 +1196,73 @@ public class DefenderManager {
     }
 
     /**
-     * Lädt Defender aus JSON
+     * Indiziert die Defender-Liste der Welt und lädt nur die zuletzt aktiven Defender (Hot-Set)
      */
-    private void loadDefenders() {
-        if (!dataFile.exists()) {
-            LOGGER.info("Keine defender-data.json gefunden - starte mit leerem Defender-Pool");
-            return;
-        }
-
-        try (FileReader reader = new FileReader(dataFile)) {
-            JsonElement element = JsonParser.parseReader(reader);
-
-            // Check if file is empty or invalid
-            if (element == null || !element.isJsonObject()) {
-                LOGGER.warn("defender-data.json ist leer oder ungültig - starte mit leerem Defender-Pool");
-                return;
-            }
-
-            JsonObject root = element.getAsJsonObject();
-            JsonArray defenderArray = root.getAsJsonArray("defenders");
+    public void loadDefenders(File rosterFile) {
+        defenders.clear();
+        entityToDefender.clear();
+        respawnQueue.clear();
 
-            if (defenderArray == null) {
-                LOGGER.warn("Kein 'defenders' Array in defender-data.json gefunden");
-                return;
-            }
+        List<DefenderRosterStore.RosterEntry> entries = new ArrayList<>(store.open(rosterFile));
+        entries.sort(Comparator.comparingLong(DefenderRosterStore.RosterEntry::getLastActive).reversed());
 
-            for (JsonElement arrayElement : defenderArray) {
-                DefenderVillager defender = new DefenderVillager(arrayElement.getAsJsonObject());
+        for (int i = 0; i < Math.min(entries.size(), MAX_RESIDENT_DEFENDERS); i++) {
+            DefenderVillager defender = store.page(entries.get(i).getUuid());
+            if (defender != null) {
                 defenders.put(defender.getUuid(), defender);
             }
+        }
 
-            LOGGER.info("{} Defender aus defender-data.json geladen", defenders.size());
-        } catch (IOException e) {
-            LOGGER.error("Fehler beim Laden von defender-data.json", e);
-        } catch (Exception e) {
-            LOGGER.error("Fehler beim Parsen von defender-data.json - Datei ist möglicherweise korrupt", e);
+        if (!entries.isEmpty()) {
+            LOGGER.info("{} von {} Defendern geladen ({} ausgelagert)",
+                defenders.size(), entries.size(), entries.size() - defenders.size());
         }
     }
 
     /**
-     * Speichert Defender zu JSON
+     * Vormerken zum Speichern - geschrieben wird mit dem nächsten Welt-Save (ChaosWorldState)
      */
     public void saveDefenders() {
-        try (FileWriter writer = new FileWriter(dataFile)) {
-            JsonObject root = new JsonObject();
-            JsonArray defenderArray = new JsonArray();
-
-            for (DefenderVillager defender : defenders.values()) {
-                // WICHTIG: lastPosition ist die PATROL-ZIEL-Position, NICHT die aktuelle Position!
-                // Wir updaten sie NICHT automatisch beim Save!
-                // lastPosition wird nur gesetzt wenn explizit ein Patrol-Command kommt
+        ChaosWorldState.markChanged();
+    }
 
-                defenderArray.add(defender.toJson());
-            }
+    /**
+     * Schreibt geänderte Defender (nur dirty Records werden angehängt, ausgelagerte bleiben unverändert)
+     */
+    public void flushDefenders() {
+        // WICHTIG: lastPosition ist die PATROL-ZIEL-Position und wird nicht gespeichert
+        store.save(defenders.values());
+    }
 
-            root.add("defenders", defenderArray);
-            gson.toJson(root, writer);
+    /**
+     * Exportiert alle Defender als JSON für externe Tools
+     */
+    public File exportDefenders() throws IOException {
+        return store.exportJson(defenders.values());
+    }
 
-            LOGGER.debug("{} Defender in defender-data.json gespeichert", defenders.size());
-        } catch (IOException e) {
-            LOGGER.error("Fehler beim Speichern von defender-data.json", e);
+    /**
+     * Importiert Defender aus der JSON-Export-Datei (gleiche UUID wird überschrieben)
+     * @return Anzahl importierter Defender, oder -1 wenn die Datei fehlt oder ungültig ist
+     */
+    public int importDefenders() {
+        List<DefenderVillager> imported = store.importJson();
+        if (imported == null) return -1;
+
+        for (DefenderVillager defender : imported) {
+            DefenderVillager existing = defenders.get(defender.getUuid());
+            if (existing != null && existing.getLinkedEntity() != null) {
+                // Gespawnte Entity bleibt mit dem importierten Datensatz verknüpft
+                defender.setLinkedEntity(existing.getLinkedEntity());
+                entityToDefender.put(existing.getLinkedEntity().getUuid(), defender);
+            }
+            defenders.put(defender.getUuid(), defender);
         }
+
+        // Import kann größer als das Hot-Set sein - Überschuss wird direkt ausgelagert
+        saveAndEvict();
+        LOGGER.info("{} Defender aus JSON importiert", imported.size());
+        return imported.size();
     }
 
     /**
@@ -1309,7 +1491,7 @@ public class DefenderManager {
      * Cleanup bei Server-Shutdown
      */
     public void shutdown() {
-        saveDefenders();
+        flushDefenders();
         LOGGER.info("DefenderManager heruntergefahren - {} Defender gespeichert", defenders.size());
     }
 }
@@ -0,0 +1,676 @@
+package com.chaosstream;
+
+import com.google.gson.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * Indizierte, log-strukturierte On-Disk-Defender-Liste (im Weltordner, siehe ChaosWorldState)
+ *
+ * Aufbau (unkomprimiert für wahlfreien Zugriff):
+ *   int MAGIC, varint VERSION, danach bis Dateiende Einträge: varint Länge + byte Typ + Daten
+ *   Typ RECORD: Defender-Record (siehe DefenderVillager.writeBinary), Typ TOMBSTONE: UUID eines gelöschten Defenders
+ * Zahlen als Varints, UUIDs als zwei rohe Longs, Inventar-Items als binäres NBT.
+ *
+ * Gespeichert werden nur geänderte (dirty) Defender - als neuer Eintrag am Dateiende, der spätere gewinnt.
+ * Überholte Einträge werden per Kompaktierung entfernt, sobald sie mehr Platz belegen als die gültigen.
+ * Beim Öffnen werden nur die Kopfdaten jedes Records gelesen (Index nach UUID und Viewer-Name) -
+ * Inventare und ganze Defender werden erst beim Einlagern (page) dekodiert.
+ * Die alte defender-data.json wird beim ersten Öffnen einmalig migriert.
+ * Export/Import als JSON bleibt für Tools erhalten (/chaos defender-export, /chaos defender-import).
+ */
+public class DefenderRosterStore {
+    private static final Logger LOGGER = LoggerFactory.getLogger("ChaosMod");
+
+    private static final int MAGIC = 0x43444652; // "CDFR"
+    static final int VERSION = 1;
+
+    private static final byte TYPE_RECORD = 0;
+    private static final byte TYPE_TOMBSTONE = 1;
+
+    // Frühere Stände, die beim Kompaktieren aufbewahrt werden (siehe SnapshotWriter)
+    private static final int BACKUPS = 2;
+
+    // Kompaktieren, wenn überholte Einträge mehr Platz belegen als gültige (mindestens 64 KB)
+    private static final long MIN_COMPACT_GARBAGE = 64 * 1024;
+
+    // Alter Speicherort im Server-Arbeitsverzeichnis (vor dem Binärformat)
+    private static final File LEGACY_JSON_FILE = new File("defender-data.json");
+    private static final File EXPORT_FILE = new File("defender-data-export.json");
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    // Alle Defender auf Disk (inkl. der gerade geladenen)
+    private final Map<UUID, RosterEntry> index = new HashMap<>();
+    // Viewer-Name (lowercase) -> Defender-UUIDs
+    private final Map<String, Set<UUID>> byViewer = new HashMap<>();
+    // Gelöscht, aber noch nicht als Tombstone geschrieben
+    private final Set<UUID> pendingTombstones = new HashSet<>();
+
+    // Liste der aktuellen Welt (siehe open)
+    private File dataFile;
+
+    private long liveBytes = 0;   // Bytes der gültigen Einträge
+    private long garbageBytes = 0; // Bytes überholter Einträge und Tombstones
+    private boolean needsCompaction = false;
+    // Datei und Sicherungen unlesbar - nichts schreiben, damit die Datei für eine Reparatur erhalten bleibt
+    private boolean loadFailed = false;
+
+    /**
+     * Kopfdaten eines Records + Position in der Datei
+     */
+    public static class RosterEntry {
+        final UUID uuid;
+        final String viewerName;
+        final VillagerClass villagerClass;
+        final String arenaName;
+        final int level;
+        final long lastActive;
+        long offset = -1; // Position der Record-Daten, -1 = noch nicht auf Disk
+        int length;
+
+        RosterEntry(DefenderVillager defender) {
+            this.uuid = defender.getUuid();
+            this.viewerName = defender.getViewerName();
+            this.villagerClass = defender.getVillagerClass();
+            this.arenaName = defender.getArenaName();
+            this.level = defender.getLevel();
+            this.lastActive = defender.getLastActive();
+        }
+
+        RosterEntry(DefenderVillager defender, long offset, int length) {
+            this(defender);
+            this.offset = offset;
+            this.length = length;
+        }
+
+        /**
+         * Kopie an neuer Position (Kompaktierung)
+         */
+        RosterEntry(RosterEntry other, long offset, int length) {
+            this.uuid = other.uuid;
+            this.viewerName = other.viewerName;
+            this.villagerClass = other.villagerClass;
+            this.arenaName = other.arenaName;
+            this.level = other.level;
+            this.lastActive = other.lastActive;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        public UUID getUuid() {
+            return uuid;
+        }
+
+        public String getViewerName() {
+            return viewerName;
+        }
+
+        public VillagerClass getVillagerClass() {
+            return villagerClass;
+        }
+
+        public long getLastActive() {
+            return lastActive;
+        }
+
+        int entrySize() {
+            return varIntSize(length + 1) + 1 + length;
+        }
+    }
+
+    /**
+     * Öffnet die Liste einer Welt und baut den Index auf - migriert einmalig die alte
+     * defender-data.json aus dem Arbeitsverzeichnis ins Binärformat
+     * @param file Speicherort in der Welt (siehe ChaosWorldState)
+     * @return alle Einträge
+     */
+    public Collection<RosterEntry> open(File file) {
+        resetIndex();
+        loadFailed = false;
+
+        dataFile = file;
+        File parent = file.getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+
+        SnapshotWriter.recover(dataFile, BACKUPS);
+
+        if (!dataFile.exists()) {
+            if (LEGACY_JSON_FILE.exists()) {
+                migrateLegacyJson();
+            } else {
+                LOGGER.info("Keine Defender-Liste gefunden - starte mit leerem Defender-Pool");
+            }
+            return index.values();
+        }
+
+        try {
+            scan();
+            LOGGER.info("{} Defender in defender-data.dat indiziert", index.size());
+        } catch (IOException e) {
+            LOGGER.error("Fehler beim Laden von defender-data.dat - Datei ist möglicherweise korrupt", e);
+            if (!restoreBackup()) {
+                loadFailed = true;
+                LOGGER.error("Keine lesbare Sicherung von defender-data.dat - Speichern der Defender ist gesperrt, "
+                    + "die Datei bleibt für eine Reparatur unverändert");
+                return index.values();
+            }
+        }
+        compactIfNeeded(Collections.emptyList());
+        return index.values();
+    }
+
+    /**
+     * Ersetzt eine korrupte Datei durch die neueste lesbare Sicherung (.bak1, .bak2, ...).
+     * Die korrupte Datei bleibt als defender-data.dat.corrupt erhalten.
+     * @return true wenn eine Sicherung geladen wurde
+     */
+    private boolean restoreBackup() {
+        File corrupt = new File(dataFile.getPath() + ".corrupt");
+        try {
+            Files.copy(dataFile.toPath(), corrupt.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOGGER.error("Konnte korrupte defender-data.dat nicht sichern - Sicherungen werden nicht eingespielt", e);
+            resetIndex();
+            return false;
+        }
+
+        for (int i = 1; i <= BACKUPS; i++) {
+            File backup = new File(dataFile.getPath() + ".bak" + i);
+            if (!backup.exists()) continue;
+
+            resetIndex();
+            try {
+                Files.copy(backup.toPath(), dataFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                scan();
+                LOGGER.warn("defender-data.dat aus {} wiederhergestellt ({} Defender) - korrupte Datei: {}",
+                    backup.getName(), index.size(), corrupt.getName());
+                return true;
+            } catch (IOException e) {
+                LOGGER.error("Sicherung {} ist ebenfalls nicht lesbar", backup.getName(), e);
+            }
+        }
+
+        // Keine Sicherung lesbar - Original zurücklegen
+        resetIndex();
+        try {
+            Files.copy(corrupt.toPath(), dataFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            LOGGER.error("Konnte defender-data.dat nicht zurücklegen - Original liegt in {}", corrupt.getName(), e);
+        }
+        return false;
+    }
+
+    private void resetIndex() {
+        index.clear();
+        byViewer.clear();
+        pendingTombstones.clear();
+        liveBytes = 0;
+        garbageBytes = 0;
+        needsCompaction = false;
+    }
+
+    /**
+     * Liest nur die Kopfdaten aller Einträge (ohne Inventar). Ein abgeschnittener letzter Eintrag
+     * (z.B. Absturz beim Anhängen) wird verworfen.
+     * @throws IOException wenn ein Eintrag in der Datei nicht lesbar ist (Länge, Typ oder Inhalt ungültig)
+     */
+    private void scan() throws IOException {
+        long fileLength = dataFile.length();
+        long validEnd;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(dataFile)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Keine Defender-Datei (falsche Kennung)");
+            }
+            int version = readVarInt(in);
+            if (version != VERSION) {
+                throw new IOException("Unbekannte Defender-Dateiversion " + version);
+            }
+
+            long position = 4 + varIntSize(version);
+            validEnd = position;
+            byte[] buffer = new byte[256];
+
+            try {
+                while (in.available() > 0) {
+                    int length = readVarInt(in);
+                    long entryStart = position;
+                    position += varIntSize(length);
+                    if (length < 1) {
+                        throw new IOException("Ungültige Eintragslänge " + length + " bei Offset " + entryStart);
+                    }
+                    if (length > fileLength - position) {
+                        // Länge reicht über das Dateiende - abgeschnittener letzter Eintrag
+                        throw new EOFException();
+                    }
+
+                    byte type = in.readByte();
+                    position++;
+                    length--;
+                    if (type != TYPE_RECORD && type != TYPE_TOMBSTONE) {
+                        throw new IOException("Unbekannter Eintragstyp " + type + " bei Offset " + entryStart);
+                    }
+
+                    if (buffer.length < length) {
+                        buffer = new byte[Math.max(length, buffer.length * 2)];
+                    }
+                    in.readFully(buffer, 0, length);
+
+                    // Fehler im Inhalt sind Korruption, kein abgeschnittenes Ende (daher kein EOFException)
+                    DataInputStream data = new DataInputStream(new ByteArrayInputStream(buffer, 0, length));
+                    try {
+                        if (type == TYPE_TOMBSTONE) {
+                            unindex(readUuid(data));
+                            garbageBytes += position + length - entryStart;
+                        } else {
+                            RosterEntry entry = new RosterEntry(DefenderVillager.readBinary(data, false));
+                            entry.offset = position;
+                            entry.length = length;
+                            unindex(entry.uuid);
+                            index(entry);
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        throw new IOException("Defekter Eintrag bei Offset " + entryStart, e);
+                    }
+
+                    position += length;
+                    validEnd = position;
+                }
+            } catch (EOFException e) {
+                LOGGER.warn("Unvollständiger Eintrag am Ende von defender-data.dat verworfen");
+            }
+        }
+
+        if (validEnd < dataFile.length()) {
+            try (RandomAccessFile file = new RandomAccessFile(dataFile, "rw")) {
+                file.setLength(validEnd);
+            }
+        }
+    }
+
+    /**
+     * Lädt einen Defender vollständig von Disk
+     * @return Defender, oder null wenn er nicht im Index ist
+     */
+    public DefenderVillager page(UUID uuid) {
+        RosterEntry entry = index.get(uuid);
+        if (entry == null || entry.offset < 0) return null;
+
+        try (RandomAccessFile file = new RandomAccessFile(dataFile, "r")) {
+            byte[] record = new byte[entry.length];
+            file.seek(entry.offset);
+            file.readFully(record);
+            return DefenderVillager.readBinary(new DataInputStream(new ByteArrayInputStream(record)), true);
+        } catch (IOException e) {
+            LOGGER.error("Fehler beim Einlagern von Defender {}", uuid, e);
+            return null;
+        }
+    }
+
+    /**
+     * Hängt geänderte Defender und ausstehende Löschungen ans Dateiende an - Schreibvolumen
+     * hängt nur von der Aktivität ab, nicht von der Größe der Liste
+     */
+    public void save(Collection<DefenderVillager> resident) {
+        if (dataFile == null) return; // Noch keine Welt geöffnet
+        if (loadFailed) {
+            LOGGER.warn("defender-data.dat konnte nicht geladen werden - Defender werden nicht gespeichert");
+            return;
+        }
+        if (needsCompaction || !dataFile.exists()) {
+            compact(resident);
+            return;
+        }
+
+        List<DefenderVillager> dirty = new ArrayList<>();
+        for (DefenderVillager defender : resident) {
+            if (defender.isDirty() || !index.containsKey(defender.getUuid())) {
+                dirty.add(defender);
+            }
+        }
+        if (dirty.isEmpty() && pendingTombstones.isEmpty()) return;
+
+        try (RandomAccessFile file = new RandomAccessFile(dataFile, "rw")) {
+            long position = file.length();
+            ByteArrayOutputStream batch = new ByteArrayOutputStream(256 * (dirty.size() + pendingTombstones.size()));
+            DataOutputStream out = new DataOutputStream(batch);
+            ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream(256);
+            List<RosterEntry> appended = new ArrayList<>(dirty.size());
+
+            for (UUID uuid : pendingTombstones) {
+                writeVarInt(out, 16 + 1);
+                out.writeByte(TYPE_TOMBSTONE);
+                writeUuid(out, uuid);
+            }
+
+            for (DefenderVillager defender : dirty) {
+                recordBuffer.reset();
+                defender.writeBinary(new DataOutputStream(recordBuffer));
+
+                writeVarInt(out, recordBuffer.size() + 1);
+                out.writeByte(TYPE_RECORD);
+                RosterEntry entry = new RosterEntry(defender);
+                entry.offset = position + out.size();
+                entry.length = recordBuffer.size();
+                recordBuffer.writeTo(out);
+                appended.add(entry);
+            }
+
+            file.seek(position);
+            file.write(batch.toByteArray());
+
+            // Index erst nach erfolgreichem Schreiben aktualisieren
+            garbageBytes += pendingTombstones.size() * (long) (varIntSize(17) + 17);
+            pendingTombstones.clear();
+            for (RosterEntry entry : appended) {
+                unindex(entry.uuid);
+                index(entry);
+            }
+            for (DefenderVillager defender : dirty) {
+                defender.clearDirty();
+            }
+            LOGGER.debug("{} geänderte Defender an defender-data.dat angehängt", dirty.size());
+        } catch (IOException e) {
+            LOGGER.error("Fehler beim Speichern von defender-data.dat", e);
+            return;
+        }
+
+        compactIfNeeded(resident);
+    }
+
+    /**
+     * Kompaktiert, wenn überholte Einträge mehr Platz belegen als gültige
+     */
+    public void compactIfNeeded(Collection<DefenderVillager> resident) {
+        if (garbageBytes > Math.max(MIN_COMPACT_GARBAGE, liveBytes)) {
+            compact(resident);
+        }
+    }
+
+    /**
+     * Schreibt die Datei neu mit nur den gültigen Einträgen: geladene Defender werden serialisiert,
+     * ausgelagerte Records roh kopiert
+     */
+    private void compact(Collection<DefenderVillager> resident) {
+        if (loadFailed) return; // Würde die unlesbare Datei aus einem unvollständigen Index überschreiben
+        Map<UUID, DefenderVillager> residentByUuid = new HashMap<>();
+        for (DefenderVillager defender : resident) {
+            residentByUuid.put(defender.getUuid(), defender);
+        }
+        boolean hasSource = dataFile.exists();
+
+        // Neue Einträge mit neuen Offsets - der Index bleibt bis zum erfolgreichen Schreiben unverändert
+        List<RosterEntry> written = new ArrayList<>(index.size() + resident.size());
+        try {
+            SnapshotWriter.write(dataFile, stream -> {
+                DataOutputStream out = new DataOutputStream(stream);
+                out.writeInt(MAGIC);
+                writeVarInt(out, VERSION);
+
+                // Quelle nur innerhalb des Schreibvorgangs offen - vor dem Ersetzen der Datei geschlossen (Windows)
+                try (RandomAccessFile source = hasSource ? new RandomAccessFile(dataFile, "r") : null) {
+                    ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream(256);
+                    for (RosterEntry entry : index.values()) {
+                        DefenderVillager defender = residentByUuid.get(entry.uuid);
+                        if (defender != null) {
+                            writeRecord(out, recordBuffer, defender, written);
+                        } else if (source != null && entry.offset >= 0) {
+                            byte[] record = readRecord(source, entry);
+                            writeVarInt(out, record.length + 1);
+                            out.writeByte(TYPE_RECORD);
+                            written.add(new RosterEntry(entry, out.size(), record.length));
+                            out.write(record);
+                        }
+                        // Sonst weder geladen noch auf Disk
+                    }
+
+                    // Geladene Defender, die noch nie gespeichert wurden
+                    for (DefenderVillager defender : resident) {
+                        if (!index.containsKey(defender.getUuid())) {
+                            writeRecord(out, recordBuffer, defender, written);
+                        }
+                    }
+                }
+            }, BACKUPS);
+        } catch (IOException e) {
+            LOGGER.error("Fehler beim Kompaktieren von defender-data.dat", e);
+            return;
+        }
+
+        // Neue Offsets erst nach erfolgreichem Schreiben übernehmen
+        index.clear();
+        byViewer.clear();
+        liveBytes = 0;
+        garbageBytes = 0;
+        pendingTombstones.clear();
+        needsCompaction = false;
+        for (RosterEntry entry : written) {
+            index(entry);
+        }
+        for (DefenderVillager defender : resident) {
+            defender.clearDirty();
+        }
+        LOGGER.debug("defender-data.dat kompaktiert: {} Defender ({} geladen)", index.size(), resident.size());
+    }
+
+    private static void writeRecord(DataOutputStream out, ByteArrayOutputStream recordBuffer,
+                                    DefenderVillager defender, List<RosterEntry> written) throws IOException {
+        recordBuffer.reset();
+        defender.writeBinary(new DataOutputStream(recordBuffer));
+        writeVarInt(out, recordBuffer.size() + 1);
+        out.writeByte(TYPE_RECORD);
+        written.add(new RosterEntry(defender, out.size(), recordBuffer.size()));
+        recordBuffer.writeTo(out);
+    }
+
+    private static byte[] readRecord(RandomAccessFile source, RosterEntry entry) throws IOException {
+        byte[] record = new byte[entry.length];
+        source.seek(entry.offset);
+        source.readFully(record);
+        return record;
+    }
+
+    /**
+     * Entfernt einen Defender (Tombstone wird beim nächsten save geschrieben)
+     */
+    public void remove(UUID uuid) {
+        if (unindex(uuid)) {
+            pendingTombstones.add(uuid);
+        }
+    }
+
+    /**
+     * Entfernt alle Defender (Datei wird beim nächsten save neu geschrieben)
+     */
+    public void clear() {
+        index.clear();
+        byViewer.clear();
+        pendingTombstones.clear();
+        needsCompaction = true;
+    }
+
+    public RosterEntry getEntry(UUID uuid) {
+        return index.get(uuid);
+    }
+
+    /**
+     * Alle Defender eines Viewers (geladen und ausgelagert)
+     */
+    public List<RosterEntry> getEntriesByViewer(String viewerName) {
+        Set<UUID> uuids = byViewer.get(viewerName.toLowerCase(Locale.ROOT));
+        if (uuids == null) return Collections.emptyList();
+
+        List<RosterEntry> entries = new ArrayList<>(uuids.size());
+        for (UUID uuid : uuids) {
+            entries.add(index.get(uuid));
+        }
+        return entries;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    private void index(RosterEntry entry) {
+        index.put(entry.uuid, entry);
+        byViewer.computeIfAbsent(entry.viewerName.toLowerCase(Locale.ROOT), name -> new LinkedHashSet<>()).add(entry.uuid);
+        if (entry.offset >= 0) {
+            liveBytes += entry.entrySize();
+        }
+    }
+
+    /**
+     * @return true wenn der Defender im Index war
+     */
+    private boolean unindex(UUID uuid) {
+        RosterEntry entry = index.remove(uuid);
+        if (entry == null) return false;
+
+        Set<UUID> viewerDefenders = byViewer.get(entry.viewerName.toLowerCase(Locale.ROOT));
+        if (viewerDefenders != null) {
+            viewerDefenders.remove(uuid);
+        }
+        if (entry.offset >= 0) {
+            // Der alte Eintrag bleibt bis zur Kompaktierung in der Datei
+            liveBytes -= entry.entrySize();
+            garbageBytes += entry.entrySize();
+        }
+        return true;
+    }
+
+    // ===== Migration =====
+
+    /**
+     * Einmalige Migration: defender-data.json -> defender-data.dat
+     */
+    private void migrateLegacyJson() {
+        List<DefenderVillager> roster = readJson(LEGACY_JSON_FILE);
+        if (roster == null) return;
+
+        compact(roster);
+
+        File migrated = new File(LEGACY_JSON_FILE.getPath() + ".migrated");
+        if (!LEGACY_JSON_FILE.renameTo(migrated)) {
+            LOGGER.warn("Konnte defender-data.json nicht umbenennen - wird ab jetzt ignoriert");
+        }
+        LOGGER.info("{} Defender von defender-data.json ins Binärformat migriert", roster.size());
+    }
+
+    // ===== JSON Export/Import =====
+
+    /**
+     * Exportiert alle Defender als JSON (gleiches Format wie die alte defender-data.json)
+     * Geladene Defender kommen aus dem Speicher, ausgelagerte werden dafür einzeln eingelagert.
+     * @return Export-Datei
+     */
+    public File exportJson(Collection<DefenderVillager> resident) throws IOException {
+        Map<UUID, DefenderVillager> residentByUuid = new HashMap<>();
+        for (DefenderVillager defender : resident) {
+            residentByUuid.put(defender.getUuid(), defender);
+        }
+
+        JsonArray defenderArray = new JsonArray();
+        for (DefenderVillager defender : resident) {
+            defenderArray.add(defender.toJson());
+        }
+        for (RosterEntry entry : index.values()) {
+            if (residentByUuid.containsKey(entry.uuid)) continue;
+            DefenderVillager dormant = page(entry.uuid);
+            if (dormant != null) {
+                defenderArray.add(dormant.toJson());
+            }
+        }
+
+        JsonObject root = new JsonObject();
+        root.addProperty("version", VERSION);
+        root.add("defenders", defenderArray);
+
+        SnapshotWriter.writeJson(EXPORT_FILE, GSON, root, 0);
+        return EXPORT_FILE;
+    }
+
+    /**
+     * Liest die Export-Datei wieder ein
+     * @return Defender aus der Datei, oder null wenn sie fehlt oder ungültig ist
+     */
+    public List<DefenderVillager> importJson() {
+        return readJson(EXPORT_FILE);
+    }
+
+    private static List<DefenderVillager> readJson(File file) {
+        if (!file.exists()) {
+            LOGGER.warn("{} nicht gefunden", file.getName());
+            return null;
+        }
+
+        try (FileReader reader = new FileReader(file)) {
+            JsonElement element = JsonParser.parseReader(reader);
+            if (element == null || !element.isJsonObject()) {
+                LOGGER.warn("{} ist leer oder ungültig", file.getName());
+                return null;
+            }
+
+            JsonArray defenderArray = element.getAsJsonObject().getAsJsonArray("defenders");
+            if (defenderArray == null) {
+                LOGGER.warn("Kein 'defenders' Array in {} gefunden", file.getName());
+                return null;
+            }
+
+            List<DefenderVillager> roster = new ArrayList<>(defenderArray.size());
+            for (JsonElement arrayElement : defenderArray) {
+                roster.add(new DefenderVillager(arrayElement.getAsJsonObject()));
+            }
+            return roster;
+        } catch (Exception e) {
+            LOGGER.error("Fehler beim Parsen von {} - Datei ist möglicherweise korrupt", file.getName(), e);
+            return null;
+        }
+    }
+
+    // ===== Varint / UUID Helfer =====
+
+    static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Varint zu lang");
+    }
+
+    static int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    static void writeUuid(DataOutput out, UUID uuid) throws IOException {
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    static UUID readUuid(DataInput in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+}
@@ -6,9 +6,13 @@ import net.minecraft.entity.passive.VillagerEntity;
 import net.minecraft.inventory.SimpleInventory;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtIo;
 import net.minecraft.nbt.StringNbtReader;
 import net.minecraft.util.math.BlockPos;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.UUID;
 
 /**
@@ -34,17 +38,28 @@ public class DefenderVillager {
     private int healingDone;
     private int coreRepaired;
     private long spawnTime;
+    private long lastActive; // Letzte Aktivität - bestimmt, wer im Hot-Set bleibt (LRU)
     private BlockPos lastPosition;
 
     // Behavior
     private boolean following; // Folge-Modus Status (persistent)
 
+    // Arena, deren Core dieser Defender verteidigt
+    private String arenaName;
+
     // Inventar (9 Slots für Item-Storage)
     private SimpleInventory inventory;
 
     // Linked Entity (nicht persistent)
     private transient VillagerEntity linkedEntity;
 
+    // Geändert seit dem letzten Schreiben auf Disk (nur geänderte Records werden gespeichert)
+    private transient boolean dirty = true;
+
+    // Flags im Binär-Record
+    private static final int FLAG_ENTITY_UUID = 1;
+    private static final int FLAG_FOLLOWING = 2;
+
     /**
      * Konstruktor für neue Defender
      */
@@ -60,8 +75,11 @@ public class DefenderVillager {
         this.healingDone = 0;
         this.coreRepaired = 0;
         this.spawnTime = System.currentTimeMillis();
+        this.lastActive = spawnTime;
         this.following = false; // Start im Patrouille-Modus
+        this.arenaName = Arena.DEFAULT_NAME;
         this.inventory = new SimpleInventory(9); // 9 Slots Inventar
+        this.inventory.addListener(changed -> markDirty());
     }
 
     /**
@@ -82,6 +100,7 @@ public class DefenderVillager {
         this.coreRepaired = stats.get("core_repaired").getAsInt();
 
         this.spawnTime = json.get("spawn_time").getAsLong();
+        this.lastActive = json.has("last_active") ? json.get("last_active").getAsLong() : spawnTime;
 
         // WICHTIG: lastPosition wird beim Laden NICHT gesetzt!
         // lastPosition ist nur für aktive Patrol-Commands, nicht für persistente Speicherung
@@ -99,8 +118,12 @@ public class DefenderVillager {
             this.following = false; // Default für alte Saves
         }
 
+        // Alte Saves kennen nur einen Core - die Default-Arena
+        this.arenaName = json.has("arena") ? json.get("arena").getAsString() : Arena.DEFAULT_NAME;
+
         // Lade Inventar
         this.inventory = new SimpleInventory(9);
+        this.inventory.addListener(changed -> markDirty());
         if (json.has("inventory")) {
             JsonArray inventoryArray = json.getAsJsonArray("inventory");
             for (int i = 0; i < Math.min(inventoryArray.size(), 9); i++) {
@@ -138,6 +161,7 @@ public class DefenderVillager {
         json.add("stats", stats);
 
         json.addProperty("spawn_time", spawnTime);
+        json.addProperty("last_active", lastActive);
 
         if (lastPosition != null) {
             JsonObject pos = new JsonObject();
@@ -153,6 +177,7 @@ public class DefenderVillager {
 
         // Speichere Behavior-Status
         json.addProperty("following", following);
+        json.addProperty("arena", arenaName);
 
         // Speichere Inventar
         JsonArray inventoryArray = new JsonArray();
@@ -171,11 +196,106 @@ public class DefenderVillager {
         return json;
     }
 
+    /**
+     * Konstruktor für Laden aus dem Binärformat (siehe readBinary)
+     */
+    private DefenderVillager() {
+        this.inventory = new SimpleInventory(9);
+        this.inventory.addListener(changed -> markDirty());
+    }
+
+    /**
+     * Schreibt diesen Defender als Binär-Record (Format: DefenderRosterStore)
+     */
+    public void writeBinary(DataOutput out) throws IOException {
+        DefenderRosterStore.writeUuid(out, uuid);
+
+        int flags = (entityUUID != null ? FLAG_ENTITY_UUID : 0) | (following ? FLAG_FOLLOWING : 0);
+        out.writeByte(flags);
+        if (entityUUID != null) {
+            DefenderRosterStore.writeUuid(out, entityUUID);
+        }
+
+        out.writeUTF(viewerName);
+        out.writeUTF(villagerClass.name());
+        out.writeUTF(arenaName);
+
+        DefenderRosterStore.writeVarInt(out, level);
+        DefenderRosterStore.writeVarInt(out, xp);
+        DefenderRosterStore.writeVarInt(out, kills);
+        DefenderRosterStore.writeVarInt(out, damageDealt);
+        DefenderRosterStore.writeVarInt(out, wavesCompleted);
+        DefenderRosterStore.writeVarInt(out, healingDone);
+        DefenderRosterStore.writeVarInt(out, coreRepaired);
+        out.writeLong(spawnTime);
+        out.writeLong(lastActive);
+
+        // Inventar: Bitmaske der belegten Slots, danach die Items als binäres NBT
+        int slotMask = 0;
+        for (int i = 0; i < 9; i++) {
+            if (!inventory.getStack(i).isEmpty()) {
+                slotMask |= 1 << i;
+            }
+        }
+        DefenderRosterStore.writeVarInt(out, slotMask);
+        for (int i = 0; i < 9; i++) {
+            if ((slotMask & (1 << i)) != 0) {
+                NbtCompound nbt = new NbtCompound();
+                inventory.getStack(i).writeNbt(nbt);
+                NbtIo.write(nbt, out);
+            }
+        }
+    }
+
+    /**
+     * Liest einen Binär-Record (lastPosition bleibt wie beim JSON-Laden null)
+     * @param withInventory false liest nur die Kopfdaten (für den Index) und überspringt das Inventar
+     */
+    public static DefenderVillager readBinary(DataInput in, boolean withInventory) throws IOException {
+        DefenderVillager defender = new DefenderVillager();
+        defender.uuid = DefenderRosterStore.readUuid(in);
+
+        int flags = in.readByte();
+        if ((flags & FLAG_ENTITY_UUID) != 0) {
+            defender.entityUUID = DefenderRosterStore.readUuid(in);
+        }
+        defender.following = (flags & FLAG_FOLLOWING) != 0;
+
+        defender.viewerName = in.readUTF();
+        defender.villagerClass = VillagerClass.fromString(in.readUTF());
+        defender.arenaName = in.readUTF();
+
+        defender.level = DefenderRosterStore.readVarInt(in);
+        defender.xp = DefenderRosterStore.readVarInt(in);
+        defender.kills = DefenderRosterStore.readVarInt(in);
+        defender.damageDealt = DefenderRosterStore.readVarInt(in);
+        defender.wavesCompleted = DefenderRosterStore.readVarInt(in);
+        defender.healingDone = DefenderRosterStore.readVarInt(in);
+        defender.coreRepaired = DefenderRosterStore.readVarInt(in);
+        defender.spawnTime = in.readLong();
+        defender.lastActive = in.readLong();
+
+        defender.dirty = false;
+        if (!withInventory) return defender;
+
+        int slotMask = DefenderRosterStore.readVarInt(in);
+        for (int i = 0; i < 9; i++) {
+            if ((slotMask & (1 << i)) != 0) {
+                NbtCompound nbt = NbtIo.read(in);
+                defender.inventory.setStack(i, ItemStack.fromNbt(nbt));
+            }
+        }
+
+        defender.dirty = false; // Frisch von Disk
+        return defender;
+    }
+
     /**
      * Fügt XP hinzu und checkt Level-Up
      * @return true wenn Level-Up erfolgt ist
      */
     public boolean addXP(int amount) {
+        touch();
         if (level >= 5) return false; // Max Level erreicht
 
         int oldLevel = level;
@@ -223,6 +343,30 @@ public class DefenderVillager {
      */
     public void addDamage(int damage) {
         damageDealt += damage;
+        touch();
+    }
+
+    /**
+     * Markiert den Defender als gerade aktiv
+     */
+    public void touch() {
+        lastActive = System.currentTimeMillis();
+        dirty = true;
+    }
+
+    /**
+     * Markiert den Record als geändert - wird beim nächsten Speichern geschrieben
+     */
+    public void markDirty() {
+        dirty = true;
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    void clearDirty() {
+        dirty = false;
     }
 
     /**
@@ -238,6 +382,7 @@ public class DefenderVillager {
      */
     public boolean addHealing(int amount) {
         healingDone += amount;
+        touch();
         // 1 XP pro 10 HP geheilt
         if (healingDone % 10 == 0) {
             return addXP(1);
@@ -250,6 +395,7 @@ public class DefenderVillager {
      */
     public boolean addCoreRepair(int amount) {
         coreRepaired += amount;
+        touch();
         // 1 XP pro 5 HP repariert
         if (coreRepaired % 5 == 0) {
             return addXP(1);
@@ -305,6 +451,7 @@ public class DefenderVillager {
 
     public void setEntityUUID(UUID entityUUID) {
         this.entityUUID = entityUUID;
+        this.dirty = true;
     }
 
     public String getViewerName() {
@@ -347,6 +494,10 @@ public class DefenderVillager {
         return spawnTime;
     }
 
+    public long getLastActive() {
+        return lastActive;
+    }
+
     public BlockPos getLastPosition() {
         return lastPosition;
     }
@@ -361,8 +512,9 @@ public class DefenderVillager {
 
     public void setLinkedEntity(VillagerEntity entity) {
         this.linkedEntity = entity;
-        if (entity != null) {
+        if (entity != null && !entity.getUuid().equals(entityUUID)) {
             this.entityUUID = entity.getUuid();
+            this.dirty = true;
         }
     }
 
@@ -372,6 +524,16 @@ public class DefenderVillager {
 
     public void setFollowing(boolean following) {
         this.following = following;
+        this.dirty = true;
+    }
+
+    public String getArenaName() {
+        return arenaName;
+    }
+
+    public void setArenaName(String arenaName) {
+        this.arenaName = arenaName;
+        this.dirty = true;
     }
 
     public SimpleInventory getInventory() {
@@ -380,6 +542,8 @@ public class DefenderVillager {
 
     public void setInventory(SimpleInventory inventory) {
         this.inventory = inventory;
+        this.inventory.addListener(changed -> markDirty());
+        this.dirty = true;
     }
 
     /**
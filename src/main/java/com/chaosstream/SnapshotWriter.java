@@ -0,0 +1,252 @@
+package com.chaosstream;
+
+import com.google.gson.Gson;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Crash-safe whole-file writes for everything the mod saves.
+ * A snapshot is written to "<file>.tmp", fsynced and atomically moved over the target, so the target
+ * always holds either the old or the new complete content - never a truncated file. Readers such as the
+ * OBS overlay therefore never see a half-written export. Frequent exports that are regenerated anyway
+ * may skip the fsync (they stay atomic, but may be lost on power failure). Optionally the previous
+ * content is kept as rotating backups "<file>.bak1" (newest) to "<file>.bakN", which recover() falls back to.
+ * Write latency and size are tracked per file name (see getMetrics, /chaos performance saves).
+ */
+public final class SnapshotWriter {
+    private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+    private static final int MAX_RETAINED_BUFFER = 1024 * 1024; // Drop buffers that grew past 1 MB
+
+    // JSON is serialized here first, so the file is only opened once the content is complete
+    private static final ThreadLocal<ExposedBuffer> BUFFER =
+        ThreadLocal.withInitial(() -> new ExposedBuffer(INITIAL_BUFFER_SIZE));
+
+    private static final Map<String, Metrics> METRICS = new LinkedHashMap<>();
+
+    private SnapshotWriter() {
+    }
+
+    /**
+     * Writes the raw content of a snapshot
+     */
+    @FunctionalInterface
+    public interface Body {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Serializes src as UTF-8 JSON into a reusable buffer and commits it atomically
+     * @param backups number of previous versions to keep (0 = none)
+     */
+    public static void writeJson(File target, Gson gson, Object src, int backups) throws IOException {
+        writeJson(target, gson, src, backups, true);
+    }
+
+    /**
+     * Like writeJson, optionally without fsync - for exports rewritten every few seconds
+     * @param sync false skips the fsync of the temp file (still atomic, not durable)
+     */
+    public static void writeJson(File target, Gson gson, Object src, int backups, boolean sync) throws IOException {
+        long start = System.nanoTime();
+        ExposedBuffer buffer = BUFFER.get();
+        buffer.reset();
+        try {
+            Writer writer = new OutputStreamWriter(buffer, StandardCharsets.UTF_8);
+            gson.toJson(src, writer);
+            writer.flush();
+            commit(target, out -> out.write(buffer.array(), 0, buffer.size()), backups, sync, start);
+        } finally {
+            if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+                BUFFER.remove();
+            }
+        }
+    }
+
+    /**
+     * Streams a snapshot straight into the temp file and commits it atomically - for large binary files
+     * @param backups number of previous versions to keep (0 = none)
+     */
+    public static void write(File target, Body body, int backups) throws IOException {
+        commit(target, body, backups, true, System.nanoTime());
+    }
+
+    private static void commit(File target, Body body, int backups, boolean sync, long start) throws IOException {
+        File temp = new File(target.getPath() + ".tmp");
+        File parent = target.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+
+        try {
+            try (FileOutputStream fileOut = new FileOutputStream(temp)) {
+                BufferedOutputStream out = new BufferedOutputStream(fileOut, INITIAL_BUFFER_SIZE);
+                body.writeTo(out);
+                out.flush();
+                if (sync) {
+                    fileOut.getFD().sync();
+                }
+            }
+            long bytes = temp.length();
+
+            rotateBackups(target, backups);
+            move(temp.toPath(), target.toPath());
+            record(target, System.nanoTime() - start, bytes, false);
+        } catch (IOException | RuntimeException e) {
+            temp.delete();
+            record(target, System.nanoTime() - start, 0, true);
+            throw e;
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Shifts .bak1..bakN-1 up by one and keeps the current target as .bak1.
+     * A hard link costs no copy - the target is replaced by a new file afterwards, the link keeps the old one.
+     */
+    private static void rotateBackups(File target, int backups) throws IOException {
+        if (backups <= 0 || !target.exists()) return;
+
+        Files.deleteIfExists(backupFile(target, backups).toPath());
+        for (int i = backups - 1; i >= 1; i--) {
+            File backup = backupFile(target, i);
+            if (backup.exists()) {
+                Files.move(backup.toPath(), backupFile(target, i + 1).toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        Path newest = backupFile(target, 1).toPath();
+        try {
+            Files.createLink(newest, target.toPath());
+        } catch (IOException | UnsupportedOperationException e) {
+            Files.copy(target.toPath(), newest, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static File backupFile(File target, int index) {
+        return new File(target.getPath() + ".bak" + index);
+    }
+
+    /**
+     * Restores the newest non-empty backup if the target is missing or empty - call before loading
+     * @return true if a backup was restored
+     */
+    public static boolean recover(File target, int backups) {
+        if (target.exists() && target.length() > 0) return false;
+
+        for (int i = 1; i <= backups; i++) {
+            File backup = backupFile(target, i);
+            if (!backup.exists() || backup.length() == 0) continue;
+
+            try {
+                Files.copy(backup.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                ChaosMod.LOGGER.warn("{} was missing or empty - restored from {}", target.getName(), backup.getName());
+                return true;
+            } catch (IOException e) {
+                ChaosMod.LOGGER.error("Failed to restore {} from {}", target.getName(), backup.getName(), e);
+            }
+        }
+        return false;
+    }
+
+    private static synchronized void record(File target, long nanos, long bytes, boolean failed) {
+        Metrics metrics = METRICS.computeIfAbsent(target.getName(), name -> new Metrics());
+        if (failed) {
+            metrics.failures++;
+            return;
+        }
+        metrics.writes++;
+        metrics.totalNanos += nanos;
+        metrics.lastNanos = nanos;
+        metrics.maxNanos = Math.max(metrics.maxNanos, nanos);
+        metrics.lastBytes = bytes;
+    }
+
+    /**
+     * @return copy of the write metrics per file name, in order of first write
+     */
+    public static synchronized Map<String, Metrics> getMetrics() {
+        Map<String, Metrics> copy = new LinkedHashMap<>();
+        for (Map.Entry<String, Metrics> entry : METRICS.entrySet()) {
+            copy.put(entry.getKey(), entry.getValue().copy());
+        }
+        return copy;
+    }
+
+    /**
+     * Write statistics of one file
+     */
+    public static class Metrics {
+        private int writes;
+        private int failures;
+        private long totalNanos;
+        private long lastNanos;
+        private long maxNanos;
+        private long lastBytes;
+
+        private Metrics copy() {
+            Metrics copy = new Metrics();
+            copy.writes = writes;
+            copy.failures = failures;
+            copy.totalNanos = totalNanos;
+            copy.lastNanos = lastNanos;
+            copy.maxNanos = maxNanos;
+            copy.lastBytes = lastBytes;
+            return copy;
+        }
+
+        public int getWrites() {
+            return writes;
+        }
+
+        public int getFailures() {
+            return failures;
+        }
+
+        public double getAverageMillis() {
+            return writes == 0 ? 0 : totalNanos / (double) writes / 1_000_000.0;
+        }
+
+        public double getLastMillis() {
+            return lastNanos / 1_000_000.0;
+        }
+
+        public double getMaxMillis() {
+            return maxNanos / 1_000_000.0;
+        }
+
+        public long getLastBytes() {
+            return lastBytes;
+        }
+    }
+
+    /**
+     * ByteArrayOutputStream that hands out its array instead of copying it
+     */
+    private static class ExposedBuffer extends ByteArrayOutputStream {
+        ExposedBuffer(int size) {
+            super(size);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+
+        int capacity() {
+            return buf.length;
+        }
+    }
+}
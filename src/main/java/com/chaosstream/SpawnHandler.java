@@ -28,10 +28,15 @@ import java.util.concurrent.ConcurrentLinkedQueue;
 public class SpawnHandler {
     private static final int SPAWN_RADIUS = 20;
     private static final int SPAWN_CHECK_INTERVAL = 200; // Every 10 seconds (200 ticks)
-    private static final Random RANDOM = new Random();
+
+    private static final int DEFERRED_SPAWNS_PER_TICK = 2;
+    private static final int MAX_DEFERRED_SPAWNS = 200; // Oldest held-back spawns are dropped beyond this
 
     private int tickCounter = 0;
     private final ConcurrentLinkedQueue<SpawnCommand> spawnQueue = new ConcurrentLinkedQueue<>();
+    // Hostile chaos spawns held back while the server is over its MSPT budget
+    private final ArrayDeque<SpawnCommand> deferredSpawns = new ArrayDeque<>();
+    private int droppedDeferredSpawns = 0; // Since the backlog last drained
     private final WaveManager waveManager = new WaveManager();
 
     // Mob types for chaos spawning
@@ -47,6 +52,9 @@ public class SpawnHandler {
     public void onServerTick(MinecraftServer server, ChaosManager chaosManager) {
         tickCounter++;
 
+        // Measure load before anything spawns this tick
+        AdaptiveDifficulty.getInstance().tick(server);
+
         // Process spawn queue every tick
         processSpawnQueue(server);
 
@@ -68,13 +76,47 @@ public class SpawnHandler {
      * Process queued spawn commands
      */
     private void processSpawnQueue(MinecraftServer server) {
+        boolean defer = AdaptiveDifficulty.getInstance().shouldDeferSpawns();
+
+        // Release held-back hostile spawns a few per tick once there is room again
+        if (!defer) {
+            for (int i = 0; i < DEFERRED_SPAWNS_PER_TICK && !deferredSpawns.isEmpty(); i++) {
+                executeSpawnCommand(deferredSpawns.poll(), server);
+            }
+            if (deferredSpawns.isEmpty() && droppedDeferredSpawns > 0) {
+                ChaosMod.LOGGER.info("Deferred spawn backlog drained - {} held-back spawns were dropped", droppedDeferredSpawns);
+                droppedDeferredSpawns = 0;
+            }
+        }
+
         SpawnCommand command;
         while ((command = spawnQueue.poll()) != null) {
-            try {
-                command.execute(server);
-            } catch (Exception e) {
-                ChaosMod.LOGGER.error("Error executing spawn command", e);
+            if (command.isHostileSpawn() && (defer || !deferredSpawns.isEmpty())) {
+                deferSpawn(command);
+                continue;
             }
+            executeSpawnCommand(command, server);
+        }
+    }
+
+    /**
+     * Hold back a hostile spawn behind earlier deferred ones - the oldest is dropped once the backlog is full
+     */
+    private void deferSpawn(SpawnCommand command) {
+        if (deferredSpawns.size() >= MAX_DEFERRED_SPAWNS) {
+            deferredSpawns.poll();
+            if (droppedDeferredSpawns++ == 0) {
+                ChaosMod.LOGGER.warn("Deferred spawn backlog full ({}) - dropping the oldest held-back spawns", MAX_DEFERRED_SPAWNS);
+            }
+        }
+        deferredSpawns.add(command);
+    }
+
+    private void executeSpawnCommand(SpawnCommand command, MinecraftServer server) {
+        try {
+            command.execute(server);
+        } catch (Exception e) {
+            ChaosMod.LOGGER.error("Error executing spawn command", e);
         }
     }
 
@@ -84,11 +126,20 @@ public class SpawnHandler {
      */
     public void queueCreeperSpawn(String playerName) {
         spawnQueue.add(new SpawnCommand() {
+            @Override
+            public boolean isHostileSpawn() {
+                return true;
+            }
+
             @Override
             public void execute(MinecraftServer server) {
                 ServerPlayerEntity player = getPlayer(server, playerName);
                 if (player == null) return;
 
+                // Under load fewer, stronger creepers spawn (0 = this one is skipped)
+                int tier = AdaptiveDifficulty.getInstance().nextChaosSpawnTier();
+                if (tier == 0) return;
+
                 ServerWorld world = player.getServerWorld();
                 BlockPos pos = findSafeSpawnPosition(world, player.getBlockPos(), 5);
 
@@ -105,9 +156,9 @@ public class SpawnHandler {
 
                 // Spawn dramatic particles
                 for (int i = 0; i < 30; i++) {
-                    double offsetX = (RANDOM.nextDouble() - 0.5) * 3;
-                    double offsetZ = (RANDOM.nextDouble() - 0.5) * 3;
-                    double offsetY = RANDOM.nextDouble() * 2;
+                    double offsetX = (ChaosRandom.nextDouble() - 0.5) * 3;
+                    double offsetZ = (ChaosRandom.nextDouble() - 0.5) * 3;
+                    double offsetY = ChaosRandom.nextDouble() * 2;
 
                     world.spawnParticles(ParticleTypes.EXPLOSION,
                         pos.getX() + offsetX, pos.getY() + offsetY, pos.getZ() + offsetZ,
@@ -121,6 +172,7 @@ public class SpawnHandler {
                 if (creeper != null) {
                     creeper.refreshPositionAndAngles(pos, 0, 0);
                     creeper.initialize(world, world.getLocalDifficulty(pos), SpawnReason.COMMAND, null, null);
+                    SpawnUtils.applyEnhancements(creeper, tier);
                     world.spawnEntity(creeper);
 
                     player.sendMessage(Text.literal("§c§lA Creeper has been spawned by the chaos!"), false);
@@ -148,9 +200,9 @@ public class SpawnHandler {
 
                 // Spawn golden sparkle particles
                 for (int i = 0; i < 50; i++) {
-                    double offsetX = (RANDOM.nextDouble() - 0.5) * 2;
-                    double offsetZ = (RANDOM.nextDouble() - 0.5) * 2;
-                    double offsetY = RANDOM.nextDouble() * 3;
+                    double offsetX = (ChaosRandom.nextDouble() - 0.5) * 2;
+                    double offsetZ = (ChaosRandom.nextDouble() - 0.5) * 2;
+                    double offsetY = ChaosRandom.nextDouble() * 3;
 
                     world.spawnParticles(ParticleTypes.END_ROD,
                         pos.getX() + offsetX, pos.getY() + offsetY, pos.getZ() + offsetZ,
@@ -197,9 +249,9 @@ public class SpawnHandler {
 
                 // Spawn totem and happy villager particles
                 for (int i = 0; i < 40; i++) {
-                    double offsetX = (RANDOM.nextDouble() - 0.5) * 2;
-                    double offsetZ = (RANDOM.nextDouble() - 0.5) * 2;
-                    double offsetY = RANDOM.nextDouble() * 2;
+                    double offsetX = (ChaosRandom.nextDouble() - 0.5) * 2;
+                    double offsetZ = (ChaosRandom.nextDouble() - 0.5) * 2;
+                    double offsetY = ChaosRandom.nextDouble() * 2;
 
                     world.spawnParticles(ParticleTypes.TOTEM_OF_UNDYING,
                         pos.getX() + offsetX, pos.getY() + offsetY, pos.getZ() + offsetZ,
@@ -239,15 +291,19 @@ public class SpawnHandler {
                 // Parse Klasse
                 VillagerClass villagerClass = VillagerClass.fromString(className);
 
-                // Hole Village Core Position oder spawne beim Spieler
+                // Hole Core der Arena des Spielers oder spawne beim Spieler
                 VillageManager villageManager = ChaosMod.getVillageManager();
+                Arena arena = villageManager.getArenaAtOrDefault(world.getRegistryKey(), player.getBlockPos());
+                if (arena != null && arena.getWorldKey() != world.getRegistryKey()) {
+                    arena = null; // Core liegt in einer anderen Dimension
+                }
+                BlockPos corePos = arena != null ? arena.getCorePos() : null;
                 BlockPos spawnPos;
 
-                if (villageManager.getVillageCorePos() != null) {
+                if (corePos != null) {
                     // Spawne in Core-Nähe (5-10 Blöcke entfernt)
-                    BlockPos corePos = villageManager.getVillageCorePos();
-                    int offsetX = RANDOM.nextInt(10) - 5;
-                    int offsetZ = RANDOM.nextInt(10) - 5;
+                    int offsetX = ChaosRandom.nextInt(10) - 5;
+                    int offsetZ = ChaosRandom.nextInt(10) - 5;
                     spawnPos = findSafeSpawnPosition(world, corePos.add(offsetX, 0, offsetZ), 3);
                 } else {
                     // Kein Core - spawne beim Spieler
@@ -260,7 +316,7 @@ public class SpawnHandler {
 
                 if (defender != null && defender.getLinkedEntity() != null) {
                     // Füge AI Goals hinzu
-                    addDefenderAI(defender.getLinkedEntity(), defender, villageManager.getVillageCorePos());
+                    addDefenderAI(defender.getLinkedEntity(), defender, corePos);
 
                     // Nachricht an Spieler
                     String message = String.format("§b✦ %s hat sich als %s%s §bangeschlossen! ✦",
@@ -388,6 +444,11 @@ public class SpawnHandler {
      */
     public void queueTNTSpawn(String playerName, int count, int fuseTicks) {
         spawnQueue.add(new SpawnCommand() {
+            @Override
+            public boolean isHostileSpawn() {
+                return true;
+            }
+
             @Override
             public void execute(MinecraftServer server) {
                 ServerPlayerEntity player = getPlayer(server, playerName);
@@ -401,6 +462,8 @@ public class SpawnHandler {
 
                 // Spawn TNT entities
                 int actualCount = Math.min(count, 5); // Max 5 TNT
+                // Under load fewer TNT (primed TNT has no tier to make up for it)
+                actualCount = Math.max(1, Math.round(actualCount * AdaptiveDifficulty.getInstance().getSpawnScale()));
                 for (int i = 0; i < actualCount; i++) {
                     BlockPos pos = findSafeSpawnPosition(world, playerPos.up(5), 2);
 
@@ -435,8 +498,8 @@ public class SpawnHandler {
                 BlockPos currentPos = player.getBlockPos();
 
                 // Find random safe location
-                double angle = RANDOM.nextDouble() * Math.PI * 2;
-                int distance = 50 + RANDOM.nextInt(radius - 50);
+                double angle = ChaosRandom.nextDouble() * Math.PI * 2;
+                int distance = 50 + ChaosRandom.nextInt(radius - 50);
 
                 int x = currentPos.getX() + (int)(Math.cos(angle) * distance);
                 int z = currentPos.getZ() + (int)(Math.sin(angle) * distance);
@@ -450,6 +513,7 @@ public class SpawnHandler {
                 // Teleport player
                 player.teleport(world, newPos.getX() + 0.5, newPos.getY(), newPos.getZ() + 0.5,
                     player.getYaw(), player.getPitch());
+                ThreatIndex.invalidate(player);
 
                 // Play teleport sound at new position
                 SoundEffects.playTeleportSound(world, newPos);
@@ -670,13 +734,13 @@ public class SpawnHandler {
 
                 // Random food items
                 ItemStack[] foods = {
-                    new ItemStack(Items.COOKED_BEEF, 5 + RANDOM.nextInt(5)),
-                    new ItemStack(Items.GOLDEN_CARROT, 3 + RANDOM.nextInt(3)),
-                    new ItemStack(Items.COOKED_PORKCHOP, 5 + RANDOM.nextInt(5)),
-                    new ItemStack(Items.BREAD, 8 + RANDOM.nextInt(8))
+                    new ItemStack(Items.COOKED_BEEF, 5 + ChaosRandom.nextInt(5)),
+                    new ItemStack(Items.GOLDEN_CARROT, 3 + ChaosRandom.nextInt(3)),
+                    new ItemStack(Items.COOKED_PORKCHOP, 5 + ChaosRandom.nextInt(5)),
+                    new ItemStack(Items.BREAD, 8 + ChaosRandom.nextInt(8))
                 };
 
-                ItemStack selectedFood = foods[RANDOM.nextInt(foods.length)];
+                ItemStack selectedFood = foods[ChaosRandom.nextInt(foods.length)];
                 player.giveItemStack(selectedFood);
 
                 // Sparkle particles
@@ -729,8 +793,8 @@ public class SpawnHandler {
      */
     private BlockPos findSafeSpawnPosition(ServerWorld world, BlockPos target, int radius) {
         for (int attempt = 0; attempt < 10; attempt++) {
-            int x = target.getX() + RANDOM.nextInt(radius * 2) - radius;
-            int z = target.getZ() + RANDOM.nextInt(radius * 2) - radius;
+            int x = target.getX() + ChaosRandom.nextInt(radius * 2) - radius;
+            int z = target.getZ() + ChaosRandom.nextInt(radius * 2) - radius;
             int y = world.getTopY(net.minecraft.world.Heightmap.Type.MOTION_BLOCKING_NO_LEAVES, x, z);
 
             BlockPos pos = new BlockPos(x, y, z);
@@ -760,19 +824,19 @@ public class SpawnHandler {
     private void addRandomLoot(net.minecraft.block.entity.ChestBlockEntity chest, ServerWorld world) {
         // Simple random loot (you can make this more sophisticated)
         List<ItemStack> loot = Arrays.asList(
-            new ItemStack(Items.DIAMOND, 1 + RANDOM.nextInt(3)),
-            new ItemStack(Items.EMERALD, 1 + RANDOM.nextInt(5)),
-            new ItemStack(Items.GOLDEN_APPLE, 1 + RANDOM.nextInt(2)),
+            new ItemStack(Items.DIAMOND, 1 + ChaosRandom.nextInt(3)),
+            new ItemStack(Items.EMERALD, 1 + ChaosRandom.nextInt(5)),
+            new ItemStack(Items.GOLDEN_APPLE, 1 + ChaosRandom.nextInt(2)),
             new ItemStack(Items.ENCHANTED_BOOK, 1),
-            new ItemStack(Items.ENDER_PEARL, 1 + RANDOM.nextInt(4))
+            new ItemStack(Items.ENDER_PEARL, 1 + ChaosRandom.nextInt(4))
         );
 
         // Shuffle and add 2-4 items
-        Collections.shuffle(loot);
-        int itemCount = 2 + RANDOM.nextInt(3);
+        Collections.shuffle(loot, ChaosRandom.current());
+        int itemCount = 2 + ChaosRandom.nextInt(3);
 
         for (int i = 0; i < Math.min(itemCount, loot.size()); i++) {
-            chest.setStack(RANDOM.nextInt(27), loot.get(i));
+            chest.setStack(ChaosRandom.nextInt(27), loot.get(i));
         }
     }
 
@@ -781,5 +845,12 @@ public class SpawnHandler {
      */
     private interface SpawnCommand {
         void execute(MinecraftServer server);
+
+        /**
+         * Hostile spawns are deferred while the server is over its MSPT budget
+         */
+        default boolean isHostileSpawn() {
+            return false;
+        }
     }
 }
@@ -0,0 +1,183 @@
+package com.chaosstream;
+
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.Heightmap;
+
+import java.util.Arrays;
+
+/**
+ * Pool of pre-validated mob spawn positions around one wave spawn location.
+ * Candidate columns (a ring of MIN_RADIUS..MAX_RADIUS around the center) are validated a few
+ * per tick during the WARNING phase, so wave ticks only pop finished positions instead of
+ * doing heightmap lookups and block checks per mob.
+ *
+ * A block change inside the pool area sends the affected column back to validation. Changes that
+ * are not reported (explosions, placed blocks) are caught by a heightmap read when popping.
+ */
+public class SpawnPointPool {
+    private static final int MIN_RADIUS = 3;
+    private static final int MAX_RADIUS = 8;
+    private static final int GRID_SIZE = MAX_RADIUS * 2 + 1;
+    private static final int NOT_VALIDATED = Integer.MIN_VALUE;
+
+    // Candidate offsets are the same for every pool
+    private static final int[] OFFSET_X;
+    private static final int[] OFFSET_Z;
+    private static final int[] GRID_TO_CANDIDATE = new int[GRID_SIZE * GRID_SIZE];
+
+    static {
+        Arrays.fill(GRID_TO_CANDIDATE, -1);
+        int count = 0;
+        int[] xs = new int[GRID_SIZE * GRID_SIZE];
+        int[] zs = new int[GRID_SIZE * GRID_SIZE];
+        for (int dz = -MAX_RADIUS; dz <= MAX_RADIUS; dz++) {
+            for (int dx = -MAX_RADIUS; dx <= MAX_RADIUS; dx++) {
+                int distanceSq = dx * dx + dz * dz;
+                if (distanceSq < MIN_RADIUS * MIN_RADIUS || distanceSq > MAX_RADIUS * MAX_RADIUS) continue;
+                GRID_TO_CANDIDATE[(dz + MAX_RADIUS) * GRID_SIZE + (dx + MAX_RADIUS)] = count;
+                xs[count] = dx;
+                zs[count] = dz;
+                count++;
+            }
+        }
+        OFFSET_X = Arrays.copyOf(xs, count);
+        OFFSET_Z = Arrays.copyOf(zs, count);
+    }
+
+    private final BlockPos center;
+    private final int[] heights = new int[OFFSET_X.length];      // Validated surface height, NOT_VALIDATED otherwise
+    private final boolean[] queued = new boolean[OFFSET_X.length];
+    private final int[] pending = new int[OFFSET_X.length];      // Ring buffer of candidates to validate
+    private int pendingHead = 0;
+    private int pendingSize = 0;
+    private final int[] valid = new int[OFFSET_X.length];        // Candidates ready to pop
+    private final int[] validSlot = new int[OFFSET_X.length];    // Candidate -> index in valid, -1 if not valid
+    private int validSize = 0;
+
+    public SpawnPointPool(BlockPos center) {
+        this.center = center;
+        Arrays.fill(validSlot, -1);
+        Arrays.fill(heights, NOT_VALIDATED);
+        for (int candidate = 0; candidate < OFFSET_X.length; candidate++) {
+            enqueue(candidate);
+        }
+    }
+
+    /**
+     * Validates up to budget pending candidates
+     */
+    public void validateStep(ServerWorld world, int budget) {
+        int checked = Math.min(budget, pendingSize);
+        for (int i = 0; i < checked; i++) {
+            int candidate = pending[pendingHead];
+            pendingHead = (pendingHead + 1) % pending.length;
+            pendingSize--;
+            queued[candidate] = false;
+
+            int x = center.getX() + OFFSET_X[candidate];
+            int z = center.getZ() + OFFSET_Z[candidate];
+
+            // Never force-load chunks for validation - retry later
+            if (!world.getChunkManager().isChunkLoaded(ChunkSectionPos.getSectionCoord(x), ChunkSectionPos.getSectionCoord(z))) {
+                enqueue(candidate);
+                continue;
+            }
+
+            int y = world.getTopY(Heightmap.Type.MOTION_BLOCKING_NO_LEAVES, x, z);
+            BlockPos ground = new BlockPos(x, y - 1, z);
+            if (world.getBlockState(ground).isSolidBlock(world, ground)) {
+                heights[candidate] = y;
+                addValid(candidate);
+            } else {
+                heights[candidate] = NOT_VALIDATED;
+            }
+        }
+    }
+
+    /**
+     * Takes a random validated position out of the pool
+     * @return spawn position, or null if the pool is empty
+     */
+    public BlockPos pop(ServerWorld world) {
+        while (validSize > 0) {
+            int candidate = valid[ChaosRandom.nextInt(validSize)];
+            removeValid(candidate);
+
+            int x = center.getX() + OFFSET_X[candidate];
+            int z = center.getZ() + OFFSET_Z[candidate];
+            // Surface moved since validation - revalidate later, try another one
+            if (world.getTopY(Heightmap.Type.MOTION_BLOCKING_NO_LEAVES, x, z) != heights[candidate]) {
+                heights[candidate] = NOT_VALIDATED;
+                enqueue(candidate);
+                continue;
+            }
+            return new BlockPos(x, heights[candidate], z);
+        }
+        return null;
+    }
+
+    /**
+     * Puts positions used by the previous wave back into the pool.
+     * They stay validated until a block change in their column says otherwise.
+     */
+    public void recycle() {
+        for (int candidate = 0; candidate < heights.length; candidate++) {
+            if (heights[candidate] != NOT_VALIDATED && validSlot[candidate] < 0 && !queued[candidate]) {
+                addValid(candidate);
+            }
+        }
+    }
+
+    /**
+     * Sends the column of a changed block back to validation if it belongs to this pool
+     */
+    public void onBlockChanged(BlockPos pos) {
+        int dx = pos.getX() - center.getX();
+        int dz = pos.getZ() - center.getZ();
+        if (Math.abs(dx) > MAX_RADIUS || Math.abs(dz) > MAX_RADIUS) return;
+
+        int candidate = GRID_TO_CANDIDATE[(dz + MAX_RADIUS) * GRID_SIZE + (dx + MAX_RADIUS)];
+        if (candidate < 0) return;
+
+        if (validSlot[candidate] >= 0) {
+            removeValid(candidate);
+        }
+        heights[candidate] = NOT_VALIDATED;
+        enqueue(candidate);
+    }
+
+    public BlockPos getCenter() {
+        return center;
+    }
+
+    public boolean hasPending() {
+        return pendingSize > 0;
+    }
+
+    public int getValidCount() {
+        return validSize;
+    }
+
+    private void enqueue(int candidate) {
+        if (queued[candidate]) return;
+        queued[candidate] = true;
+        pending[(pendingHead + pendingSize) % pending.length] = candidate;
+        pendingSize++;
+    }
+
+    private void addValid(int candidate) {
+        validSlot[candidate] = validSize;
+        valid[validSize++] = candidate;
+    }
+
+    private void removeValid(int candidate) {
+        // Swap-remove: move the last entry into the freed slot
+        int slot = validSlot[candidate];
+        int last = valid[--validSize];
+        valid[slot] = last;
+        validSlot[last] = slot;
+        validSlot[candidate] = -1;
+    }
+}
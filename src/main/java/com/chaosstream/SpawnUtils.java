@@ -13,59 +13,112 @@ import net.minecraft.item.Items;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
 
-import java.util.Random;
-
 public class SpawnUtils {
-    private static final Random RANDOM = new Random();
 
-    public static void spawnMob(ServerWorld world, EntityType<?> type, BlockPos pos) {
+    /**
+     * @return the spawned mob, or null if the type is not a mob
+     */
+    public static MobEntity spawnMob(ServerWorld world, EntityType<?> type, BlockPos pos) {
         if (type.create(world) instanceof MobEntity mob) {
             mob.refreshPositionAndAngles(pos, 0, 0);
             mob.initialize(world, world.getLocalDifficulty(pos), SpawnReason.NATURAL, null, null);
 
-            // Add Tower Defense AI if village core is set
-            VillageManager villageManager = ChaosMod.getVillageManager();
-            if (villageManager != null && villageManager.hasVillageCore()) {
-                BlockPos corePos = villageManager.getVillageCorePos();
-                mob.goalSelector.add(1, new AttackVillageCoreGoal(mob, corePos));
-                ChaosMod.LOGGER.debug("Added TD goal to {} targeting core at {}", type.getName().getString(), corePos);
-            }
+            addCoreGoal(world, mob, pos);
 
             world.spawnEntity(mob);
+            return mob;
+        }
+        return null;
+    }
+
+    /**
+     * @return the spawned mob, or null if the type is not a mob
+     */
+    public static MobEntity spawnEnhancedMob(ServerWorld world, EntityType<?> type, BlockPos pos, int tier) {
+        if (type.create(world) instanceof MobEntity mob) {
+            mob.refreshPositionAndAngles(pos, 0, 0);
+            mob.initialize(world, world.getLocalDifficulty(pos), SpawnReason.NATURAL, null, null);
+
+            applyEnhancements(mob, tier);
+
+            addCoreGoal(world, mob, pos);
+
+            world.spawnEntity(mob);
+            return mob;
+        }
+        return null;
+    }
+
+    /**
+     * Apply the enhancements of a tier (1 = none) to a mob that is not spawned yet
+     */
+    static void applyEnhancements(MobEntity mob, int tier) {
+        switch (tier) {
+            case 2:
+                applyTier2Enhancements(mob);
+                break;
+            case 3:
+                applyTier3Enhancements(mob);
+                break;
+            case 4:
+                applyTier4Enhancements(mob);
+                break;
+            case 5:
+                applyTier5Enhancements(mob);
+                break;
         }
     }
 
-    public static void spawnEnhancedMob(ServerWorld world, EntityType<?> type, BlockPos pos, int tier) {
+    /**
+     * Spawns one compound elite standing in for a group of identical mobs (see CompoundElite)
+     * @return the spawned elite, or null if the type is not a mob
+     */
+    public static MobEntity spawnCompoundElite(ServerWorld world, EntityType<?> type, BlockPos pos, int groupSize) {
         if (type.create(world) instanceof MobEntity mob) {
             mob.refreshPositionAndAngles(pos, 0, 0);
             mob.initialize(world, world.getLocalDifficulty(pos), SpawnReason.NATURAL, null, null);
 
-            // Apply enhancements based on tier
-            switch (tier) {
-                case 2:
-                    applyTier2Enhancements(mob);
-                    break;
-                case 3:
-                    applyTier3Enhancements(mob);
-                    break;
-                case 4:
-                    applyTier4Enhancements(mob);
-                    break;
-                case 5:
-                    applyTier5Enhancements(mob);
-                    break;
-            }
+            // Tier 2 look and speed - health and damage are set to the group's total below
+            applyTier2Equipment(mob);
+            CompoundElite.apply(mob, groupSize);
+
+            addCoreGoal(world, mob, pos);
 
             world.spawnEntity(mob);
+            return mob;
+        }
+        return null;
+    }
+
+    /**
+     * Add Tower Defense AI targeting the core of the arena the mob spawns in
+     * (also used when a wave mob's chunk reloads - goals are not saved with the entity)
+     */
+    static void addCoreGoal(ServerWorld world, MobEntity mob, BlockPos pos) {
+        VillageManager villageManager = ChaosMod.getVillageManager();
+        Arena arena = villageManager != null ? villageManager.getArenaAtOrDefault(world.getRegistryKey(), pos) : null;
+        if (arena != null && arena.getWorldKey() == world.getRegistryKey()) {
+            BlockPos corePos = arena.getCorePos();
+            mob.goalSelector.add(1, new AttackVillageCoreGoal(mob, corePos));
+            ChaosMod.LOGGER.debug("Added TD goal to {} targeting core at {}", mob.getType().getName().getString(), corePos);
         }
     }
 
     private static void applyTier2Enhancements(MobEntity mob) {
-        // Basic armor
-        if (RANDOM.nextFloat() < 0.3f) {
-            mob.equipStack(EquipmentSlot.HEAD, new ItemStack(Items.LEATHER_HELMET));
-            mob.equipStack(EquipmentSlot.CHEST, new ItemStack(Items.LEATHER_CHESTPLATE));
+        applyTier2Equipment(mob);
+
+        // More HP - a tier 2 mob stands in for more than one mob when waves are scaled down
+        if (mob.getAttributeInstance(EntityAttributes.GENERIC_MAX_HEALTH) != null) {
+            mob.getAttributeInstance(EntityAttributes.GENERIC_MAX_HEALTH)
+                .setBaseValue(mob.getAttributeInstance(EntityAttributes.GENERIC_MAX_HEALTH).getBaseValue() * 1.3);
+            mob.setHealth(mob.getMaxHealth());
         }
+    }
+
+    private static void applyTier2Equipment(MobEntity mob) {
+        // Basic armor
+        mob.equipStack(EquipmentSlot.HEAD, new ItemStack(Items.CHAINMAIL_HELMET));
+        mob.equipStack(EquipmentSlot.CHEST, new ItemStack(Items.LEATHER_CHESTPLATE));
 
         // Slight speed boost
         if (mob.getAttributeInstance(EntityAttributes.GENERIC_MOVEMENT_SPEED) != null) {
@@ -76,7 +129,7 @@ public class SpawnUtils {
 
     private static void applyTier3Enhancements(MobEntity mob) {
         // Better armor
-        if (RANDOM.nextFloat() < 0.5f) {
+        if (ChaosRandom.nextFloat() < 0.5f) {
             mob.equipStack(EquipmentSlot.HEAD, new ItemStack(Items.IRON_HELMET));
             mob.equipStack(EquipmentSlot.CHEST, new ItemStack(Items.IRON_CHESTPLATE));
             mob.equipStack(EquipmentSlot.LEGS, new ItemStack(Items.IRON_LEGGINGS));
@@ -95,7 +148,7 @@ public class SpawnUtils {
 
     private static void applyTier4Enhancements(MobEntity mob) {
         // Full diamond armor with enchantments
-        if (RANDOM.nextFloat() < 0.7f) {
+        if (ChaosRandom.nextFloat() < 0.7f) {
             ItemStack helmet = new ItemStack(Items.DIAMOND_HELMET);
             ItemStack chest = new ItemStack(Items.DIAMOND_CHESTPLATE);
             ItemStack legs = new ItemStack(Items.DIAMOND_LEGGINGS);
@@ -111,7 +164,7 @@ public class SpawnUtils {
         }
 
         // Weapon
-        if (RANDOM.nextFloat() < 0.5f) {
+        if (ChaosRandom.nextFloat() < 0.5f) {
             ItemStack sword = new ItemStack(Items.DIAMOND_SWORD);
             sword.addEnchantment(Enchantments.SHARPNESS, 2);
             mob.equipStack(EquipmentSlot.MAINHAND, sword);
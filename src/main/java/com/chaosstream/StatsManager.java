@@ -11,7 +11,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -78,15 +77,26 @@ public class StatsManager {
             chaosData.addProperty("multiplier", String.format("%.1fx", chaosManager.getSpawnMultiplier()));
             root.add("chaos", chaosData);
 
-            // ===== Wave-Daten =====
+            // ===== Wave-Daten (Standard-Arena, alle Arenen unter "arenas") =====
+            VillageManager villageManager = ChaosMod.getVillageManager();
+            WaveManager waveManager = ChaosMod.getWaveManager();
+            Arena defaultArena = villageManager.getDefaultArena();
             JsonObject waveData = new JsonObject();
-            waveData.addProperty("current_wave", 0); // TODO: Von WaveManager holen wenn public
+            addWaveData(waveData, waveManager, defaultArena);
             waveData.addProperty("total_completed", totalWavesCompleted);
-            waveData.addProperty("is_active", false); // TODO: Von WaveManager holen
             root.add("wave", waveData);
 
+            JsonArray arenasArray = new JsonArray();
+            for (Arena arena : villageManager.getArenas()) {
+                JsonObject arenaJson = new JsonObject();
+                arenaJson.addProperty("name", arena.getName());
+                addWaveData(arenaJson, waveManager, arena);
+                arenaJson.addProperty("core_health", arena.getCoreHP());
+                arenasArray.add(arenaJson);
+            }
+            root.add("arenas", arenasArray);
+
             // ===== Village Core Daten =====
-            VillageManager villageManager = ChaosMod.getVillageManager();
             JsonObject coreData = new JsonObject();
             if (villageManager.hasVillageCore()) {
                 coreData.addProperty("health", villageManager.getCoreHP());
@@ -154,10 +164,9 @@ public class StatsManager {
             }
             root.add("players", playersArray);
 
-            // Schreibe in Datei
-            try (FileWriter writer = new FileWriter(exportFile)) {
-                gson.toJson(root, writer);
-            }
+            // Schreibe in Datei - atomar, das Overlay liest nie eine halbe Datei
+            // Ohne fsync: wird jede Sekunde neu geschrieben, ein Verlust beim Absturz ist egal
+            SnapshotWriter.writeJson(exportFile, gson, root, 0, false);
 
             lastExportedData = root;
             lastExportTime = now;
@@ -167,6 +176,16 @@ public class StatsManager {
         }
     }
 
+    /**
+     * Wellen-Nummer, Status und verbleibende Gegner einer Arena (ohne Arena/WaveManager: keine Welle)
+     */
+    private static void addWaveData(JsonObject json, WaveManager waveManager, Arena arena) {
+        boolean hasWaves = waveManager != null && arena != null;
+        json.addProperty("current_wave", hasWaves ? waveManager.getCurrentWave(arena) : 0);
+        json.addProperty("is_active", hasWaves && waveManager.isWaveNightActive(arena));
+        json.addProperty("remaining_enemies", hasWaves ? waveManager.getRemainingEnemies(arena) : 0);
+    }
+
     /**
      * Gibt Top N Defender nach bestimmter Metrik zurück
      */
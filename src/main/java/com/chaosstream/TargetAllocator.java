@@ -0,0 +1,228 @@
+package com.chaosstream;
+
+import net.minecraft.entity.mob.HostileEntity;
+import net.minecraft.entity.passive.VillagerEntity;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+
+import java.util.*;
+
+/**
+ * Koordinierte Ziel-Verteilung für Defender
+ * Scored alle Hostiles um einen Core (pro Dimension) einmal pro Tick und verteilt die Defender darauf.
+ * Defender, deren Reichweite über den Scan-Bereich hinausgeht (Patrol-Ring, Follower, Bogenschützen am Rand),
+ * ergänzen den Snapshot um die Hostiles in ihrer eigenen Reichweite - die Kapazität gilt auch für diese Ziele.
+ * Jedes Ziel hat eine Kapazität: sobald der erwartete Schaden der zugewiesenen Defender
+ * die restlichen HP des Mobs erreicht, bekommen weitere Defender ein anderes Ziel (kein Overkill).
+ */
+public class TargetAllocator {
+    private static TargetAllocator instance;
+
+    private static final double SCAN_RADIUS = 80.0; // Max Core-Distanz (50) + Angriffsreichweite (30)
+    private static final double CORE_WEIGHT = 0.7; // Mobs näher am Core zuerst
+    private static final double DEFENDER_WEIGHT = 0.3;
+    private static final long SNAPSHOT_EXPIRY_TICKS = 200; // Unbenutzte Snapshots nach 10 Sekunden verwerfen
+
+    // Dimension -> Core-Position -> Snapshot (gleiche Koordinaten in anderer Dimension = andere Arena)
+    private final Map<RegistryKey<World>, Map<BlockPos, Snapshot>> snapshots = new HashMap<>();
+
+    private TargetAllocator() {
+    }
+
+    public static TargetAllocator getInstance() {
+        if (instance == null) {
+            instance = new TargetAllocator();
+        }
+        return instance;
+    }
+
+    /**
+     * Weist einem Defender sein Ziel zu
+     * Score = distanceToDefender * 0.3 + distanceToCore * 0.7 (niedrigster Score gewinnt),
+     * gesättigte Ziele werden nur genommen wenn sonst nichts in Reichweite ist.
+     *
+     * @param expectedDamage Schaden den der Defender bis zur nächsten Zuweisung voraussichtlich macht
+     * @param holdTicks      Wie lange die Zuweisung als Last auf dem Ziel zählt
+     * @return Ziel oder null wenn kein Hostile in Reichweite
+     */
+    public HostileEntity assign(VillagerEntity defender, BlockPos corePos, double range,
+                                double expectedDamage, int holdTicks) {
+        if (corePos == null || !(defender.getWorld() instanceof ServerWorld world)) {
+            return null;
+        }
+
+        long tick = world.getTime();
+        Map<BlockPos, Snapshot> worldSnapshots = snapshots.computeIfAbsent(world.getRegistryKey(), key -> new HashMap<>());
+        Snapshot snapshot = worldSnapshots.get(corePos);
+        if (snapshot == null) {
+            worldSnapshots.values().removeIf(s -> tick - s.tick > SNAPSHOT_EXPIRY_TICKS);
+            snapshot = new Snapshot(corePos);
+            worldSnapshots.put(corePos, snapshot);
+        }
+        snapshot.refresh(world, tick);
+        snapshot.include(world, defender.getBoundingBox().expand(range));
+
+        UUID defenderId = defender.getUuid();
+        snapshot.release(defenderId);
+
+        double rangeSq = range * range;
+        Candidate best = null;
+        double bestScore = Double.MAX_VALUE;
+        Candidate fallback = null;
+        double fallbackScore = Double.MAX_VALUE;
+
+        for (Candidate candidate : snapshot.candidates) {
+            if (!candidate.entity.isAlive()) continue;
+
+            double distanceSq = defender.squaredDistanceTo(candidate.entity);
+            if (distanceSq > rangeSq) continue;
+
+            double score = Math.sqrt(distanceSq) * DEFENDER_WEIGHT + candidate.coreScore;
+            if (candidate.assignedDamage < candidate.health) {
+                if (score < bestScore) {
+                    bestScore = score;
+                    best = candidate;
+                }
+            } else if (score < fallbackScore) {
+                fallbackScore = score;
+                fallback = candidate;
+            }
+        }
+
+        Candidate chosen = best != null ? best : fallback;
+        if (chosen == null) {
+            return null;
+        }
+
+        chosen.assignedDamage += expectedDamage;
+        snapshot.assignments.put(defenderId, new Assignment(chosen.entity.getUuid(), expectedDamage, tick + holdTicks));
+        return chosen.entity;
+    }
+
+    /**
+     * Gibt die Zuweisung eines Defenders frei (z.B. wenn sein Goal stoppt)
+     */
+    public void release(VillagerEntity defender, BlockPos corePos) {
+        Map<BlockPos, Snapshot> worldSnapshots = snapshots.get(defender.getWorld().getRegistryKey());
+        Snapshot snapshot = corePos != null && worldSnapshots != null ? worldSnapshots.get(corePos) : null;
+        if (snapshot != null) {
+            snapshot.release(defender.getUuid());
+        }
+    }
+
+    /**
+     * Hostiles um einen Core, einmal pro Tick gescannt und vorgescored
+     */
+    private static class Snapshot {
+        final BlockPos corePos;
+        final Vec3d coreCenter;
+        final Box scanBox;
+        final List<Candidate> candidates = new ArrayList<>();
+        final Map<UUID, Candidate> candidatesById = new HashMap<>();
+        final Map<UUID, Assignment> assignments = new HashMap<>(); // Defender-Entity-UUID -> Zuweisung
+        long tick = Long.MIN_VALUE;
+
+        Snapshot(BlockPos corePos) {
+            this.corePos = corePos;
+            this.coreCenter = corePos.toCenterPos();
+            this.scanBox = new Box(corePos).expand(SCAN_RADIUS);
+        }
+
+        void refresh(ServerWorld world, long currentTick) {
+            if (tick == currentTick) return;
+            tick = currentTick;
+
+            candidates.clear();
+            candidatesById.clear();
+
+            List<HostileEntity> hostiles = world.getEntitiesByClass(
+                HostileEntity.class,
+                scanBox,
+                entity -> entity.isAlive()
+            );
+
+            for (HostileEntity hostile : hostiles) {
+                Candidate candidate = new Candidate(hostile, hostile.getPos().distanceTo(coreCenter) * CORE_WEIGHT);
+                candidates.add(candidate);
+                candidatesById.put(hostile.getUuid(), candidate);
+            }
+
+            // Laufende Zuweisungen wieder als Last eintragen, abgelaufene verwerfen
+            // (Ziele außerhalb der Scan-Box kommen erst mit include dazu)
+            Iterator<Assignment> it = assignments.values().iterator();
+            while (it.hasNext()) {
+                Assignment assignment = it.next();
+                if (assignment.expiresTick <= currentTick) {
+                    it.remove();
+                    continue;
+                }
+                Candidate target = candidatesById.get(assignment.targetId);
+                if (target != null) {
+                    target.assignedDamage += assignment.expectedDamage;
+                }
+            }
+        }
+
+        /**
+         * Ergänzt die Hostiles eines Bereichs außerhalb der Scan-Box (nur diesen Tick)
+         */
+        void include(ServerWorld world, Box area) {
+            if (area.minX >= scanBox.minX && area.minY >= scanBox.minY && area.minZ >= scanBox.minZ
+                && area.maxX <= scanBox.maxX && area.maxY <= scanBox.maxY && area.maxZ <= scanBox.maxZ) {
+                return;
+            }
+
+            for (HostileEntity hostile : world.getEntitiesByClass(HostileEntity.class, area, entity -> entity.isAlive())) {
+                if (candidatesById.containsKey(hostile.getUuid())) continue;
+
+                Candidate candidate = new Candidate(hostile, hostile.getPos().distanceTo(coreCenter) * CORE_WEIGHT);
+                for (Assignment assignment : assignments.values()) {
+                    if (assignment.targetId.equals(hostile.getUuid())) {
+                        candidate.assignedDamage += assignment.expectedDamage;
+                    }
+                }
+                candidates.add(candidate);
+                candidatesById.put(hostile.getUuid(), candidate);
+            }
+        }
+
+        void release(UUID defenderId) {
+            Assignment previous = assignments.remove(defenderId);
+            if (previous != null) {
+                Candidate target = candidatesById.get(previous.targetId);
+                if (target != null) {
+                    target.assignedDamage = Math.max(0, target.assignedDamage - previous.expectedDamage);
+                }
+            }
+        }
+    }
+
+    private static class Candidate {
+        final HostileEntity entity;
+        final double coreScore;
+        final float health;
+        double assignedDamage;
+
+        Candidate(HostileEntity entity, double coreScore) {
+            this.entity = entity;
+            this.coreScore = coreScore;
+            this.health = entity.getHealth();
+        }
+    }
+
+    private static class Assignment {
+        final UUID targetId;
+        final double expectedDamage;
+        final long expiresTick;
+
+        Assignment(UUID targetId, double expectedDamage, long expiresTick) {
+            this.targetId = targetId;
+            this.expectedDamage = expectedDamage;
+            this.expiresTick = expiresTick;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.chaosstream;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.LivingEntity;
+import net.minecraft.entity.passive.VillagerEntity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Shared per-tick index of potential threats (villagers and players) for wave mobs.
+ * Built at most once per tick per world and bucketed by chunk section, so a nearest-threat
+ * lookup only touches the few sections around the mob instead of running two entity queries.
+ * Villagers are only collected in a box around each arena core of the world (wave mobs never
+ * leave it), players come from the world's player list.
+ *
+ * Each world's epoch is bumped whenever a threat in it dies or teleports; per-mob caches
+ * compare it to know when their cached result is stale.
+ */
+public class ThreatIndex {
+    private static final Map<RegistryKey<World>, ThreatIndex> INDEXES = new HashMap<>();
+
+    // Flow field radius (furthest a wave mob walks from the core) plus the mobs' detection range
+    private static final int VILLAGER_SCAN_RADIUS = CoreFlowField.RADIUS + 16;
+
+    private final Long2ObjectOpenHashMap<List<LivingEntity>> sections = new Long2ObjectOpenHashMap<>();
+    private final List<List<LivingEntity>> listPool = new ArrayList<>();
+    private final Set<Entity> scanned = Collections.newSetFromMap(new IdentityHashMap<>()); // Overlapping arena boxes
+    private long builtTick = Long.MIN_VALUE;
+    private int epoch = 0;
+
+    /**
+     * Returns the threat index for a world, rebuilt if it is from an earlier tick
+     */
+    public static ThreatIndex get(ServerWorld world) {
+        ThreatIndex index = INDEXES.computeIfAbsent(world.getRegistryKey(), key -> new ThreatIndex());
+        index.ensureBuilt(world);
+        return index;
+    }
+
+    /**
+     * Invalidates the cached nearest-threat results in the entity's world (threat died or teleported)
+     */
+    public static void invalidate(Entity entity) {
+        if (entity instanceof VillagerEntity || entity instanceof PlayerEntity) {
+            invalidate(entity.getWorld());
+        }
+    }
+
+    /**
+     * Invalidates all cached nearest-threat results in a world (e.g. a player left or entered it)
+     */
+    public static void invalidate(World world) {
+        ThreatIndex index = INDEXES.get(world.getRegistryKey());
+        if (index != null) {
+            index.epoch++;
+        }
+    }
+
+    /**
+     * Current epoch of a world's index - does not build the index
+     */
+    public static int getEpoch(World world) {
+        ThreatIndex index = INDEXES.get(world.getRegistryKey());
+        return index != null ? index.epoch : 0;
+    }
+
+    /**
+     * Finds the nearest alive threat whose bounding box intersects the search box
+     */
+    public LivingEntity findNearest(Entity seeker, Box searchBox) {
+        LivingEntity closest = null;
+        double closestDistance = Double.MAX_VALUE;
+
+        int minX = ChunkSectionPos.getSectionCoord(searchBox.minX);
+        int minY = ChunkSectionPos.getSectionCoord(searchBox.minY);
+        int minZ = ChunkSectionPos.getSectionCoord(searchBox.minZ);
+        int maxX = ChunkSectionPos.getSectionCoord(searchBox.maxX);
+        int maxY = ChunkSectionPos.getSectionCoord(searchBox.maxY);
+        int maxZ = ChunkSectionPos.getSectionCoord(searchBox.maxZ);
+
+        for (int sx = minX; sx <= maxX; sx++) {
+            for (int sy = minY; sy <= maxY; sy++) {
+                for (int sz = minZ; sz <= maxZ; sz++) {
+                    List<LivingEntity> bucket = sections.get(ChunkSectionPos.asLong(sx, sy, sz));
+                    if (bucket == null) continue;
+
+                    for (int i = 0; i < bucket.size(); i++) {
+                        LivingEntity candidate = bucket.get(i);
+                        if (!candidate.isAlive() || !searchBox.intersects(candidate.getBoundingBox())) continue;
+
+                        double distance = seeker.squaredDistanceTo(candidate);
+                        if (distance < closestDistance) {
+                            closestDistance = distance;
+                            closest = candidate;
+                        }
+                    }
+                }
+            }
+        }
+
+        return closest;
+    }
+
+    private void ensureBuilt(ServerWorld world) {
+        long tick = world.getTime();
+        if (tick == builtTick) return;
+        builtTick = tick;
+
+        // Listen recyclen statt neu allokieren
+        for (List<LivingEntity> bucket : sections.values()) {
+            bucket.clear();
+            listPool.add(bucket);
+        }
+        sections.clear();
+
+        VillageManager villageManager = ChaosMod.getVillageManager();
+        if (villageManager != null) {
+            scanned.clear();
+            for (Arena arena : villageManager.getArenas()) {
+                if (arena.getWorldKey() != world.getRegistryKey()) continue;
+
+                Box scanBox = new Box(arena.getCorePos()).expand(VILLAGER_SCAN_RADIUS);
+                for (VillagerEntity villager : world.getEntitiesByClass(VillagerEntity.class, scanBox, Entity::isAlive)) {
+                    if (scanned.add(villager)) {
+                        add(villager);
+                    }
+                }
+            }
+            scanned.clear();
+        }
+
+        for (ServerPlayerEntity player : world.getPlayers()) {
+            if (player.isAlive() && !player.isCreative() && !player.isSpectator()) {
+                add(player);
+            }
+        }
+    }
+
+    private void add(LivingEntity entity) {
+        long key = ChunkSectionPos.toLong(entity.getBlockPos());
+        List<LivingEntity> bucket = sections.get(key);
+        if (bucket == null) {
+            bucket = listPool.isEmpty() ? new ArrayList<>() : listPool.remove(listPool.size() - 1);
+            sections.put(key, bucket);
+        }
+        bucket.add(entity);
+    }
+}
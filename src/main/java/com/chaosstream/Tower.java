@@ -2,6 +2,7 @@ package com.chaosstream;
 
 import net.minecraft.util.math.BlockPos;
 import com.google.gson.JsonObject;
+import net.minecraft.nbt.NbtCompound;
 
 import java.util.UUID;
 
@@ -11,22 +12,24 @@ public class Tower {
     private final TowerType type;
     private int currentCooldown;
     private UUID ownerUUID;
+    private final String arenaName;
 
     public Tower(BlockPos position, TowerType type, UUID ownerUUID) {
-        this.id = UUID.randomUUID();
-        this.position = position;
-        this.type = type;
-        this.currentCooldown = 0;
-        this.ownerUUID = ownerUUID;
+        this(position, type, ownerUUID, Arena.DEFAULT_NAME);
+    }
+
+    public Tower(BlockPos position, TowerType type, UUID ownerUUID, String arenaName) {
+        this(UUID.randomUUID(), position, type, ownerUUID, arenaName);
     }
 
     // Constructor for deserialization
-    public Tower(UUID id, BlockPos position, TowerType type, UUID ownerUUID) {
+    public Tower(UUID id, BlockPos position, TowerType type, UUID ownerUUID, String arenaName) {
         this.id = id;
         this.position = position;
         this.type = type;
         this.currentCooldown = 0;
         this.ownerUUID = ownerUUID;
+        this.arenaName = arenaName;
     }
 
     public UUID getId() {
@@ -53,6 +56,10 @@ public class Tower {
         return ownerUUID;
     }
 
+    public String getArenaName() {
+        return arenaName;
+    }
+
     public boolean canAttack() {
         return currentCooldown <= 0;
     }
@@ -68,20 +75,29 @@ public class Tower {
     }
 
     // Serialization
-    public JsonObject toJson() {
-        JsonObject json = new JsonObject();
-        json.addProperty("id", id.toString());
-        json.addProperty("x", position.getX());
-        json.addProperty("y", position.getY());
-        json.addProperty("z", position.getZ());
-        json.addProperty("type", type.getId());
+    public NbtCompound toNbt() {
+        NbtCompound nbt = new NbtCompound();
+        nbt.putUuid("id", id);
+        nbt.putInt("x", position.getX());
+        nbt.putInt("y", position.getY());
+        nbt.putInt("z", position.getZ());
+        nbt.putString("type", type.getId());
         if (ownerUUID != null) {
-            json.addProperty("owner", ownerUUID.toString());
+            nbt.putUuid("owner", ownerUUID);
         }
-        return json;
+        nbt.putString("arena", arenaName);
+        return nbt;
     }
 
     // Deserialization
+    public static Tower fromNbt(NbtCompound nbt) {
+        BlockPos pos = new BlockPos(nbt.getInt("x"), nbt.getInt("y"), nbt.getInt("z"));
+        TowerType type = TowerType.fromString(nbt.getString("type"));
+        UUID owner = nbt.containsUuid("owner") ? nbt.getUuid("owner") : null;
+        return new Tower(nbt.getUuid("id"), pos, type, owner, nbt.getString("arena"));
+    }
+
+    // Deserialization of the old tower-data.json (migration only)
     public static Tower fromJson(JsonObject json) {
         UUID id = UUID.fromString(json.get("id").getAsString());
         int x = json.get("x").getAsInt();
@@ -90,6 +106,7 @@ public class Tower {
         BlockPos pos = new BlockPos(x, y, z);
         TowerType type = TowerType.fromString(json.get("type").getAsString());
         UUID owner = json.has("owner") ? UUID.fromString(json.get("owner").getAsString()) : null;
-        return new Tower(id, pos, type, owner);
+        // tower-data.json is from before arenas existed - every tower belongs to the default arena
+        return new Tower(id, pos, type, owner, Arena.DEFAULT_NAME);
     }
 }
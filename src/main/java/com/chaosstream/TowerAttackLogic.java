@@ -23,11 +23,11 @@ public class TowerAttackLogic {
     }
 
     /**
-     * Process attacks for all towers
-     * Called every server tick
+     * Process attacks for the towers of one arena
+     * Called every server tick for each active arena
      */
-    public void tick(ServerWorld world) {
-        for (Tower tower : towerManager.getAllTowers()) {
+    public void tick(ServerWorld world, Arena arena) {
+        for (Tower tower : towerManager.getTowersInArena(arena.getName())) {
             // Tick cooldown
             tower.tickCooldown();
 
@@ -4,25 +4,31 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtList;
 import net.minecraft.util.math.BlockPos;
 
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
-import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 public class TowerManager {
-    private static final String SAVE_FILE = "tower-data.json";
+    private static final String LEGACY_SAVE_FILE = "tower-data.json";
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
 
     private final List<Tower> towers = new ArrayList<>();
+    // Same towers grouped by arena, so an arena tick only touches its own towers
+    private final Map<String, List<Tower>> towersByArena = new HashMap<>();
 
     public TowerManager() {
-        load();
+        // Towers are read from the world on server start (ChaosWorldState)
     }
 
     /**
@@ -30,7 +36,8 @@ public class TowerManager {
      */
     public void addTower(Tower tower) {
         towers.add(tower);
-        save();
+        indexTower(tower);
+        ChaosWorldState.markChanged();
         ChaosMod.LOGGER.info("Tower added at {} - Type: {}", tower.getPosition(), tower.getType().getDisplayName());
     }
 
@@ -41,7 +48,8 @@ public class TowerManager {
         Tower tower = getTowerAt(pos);
         if (tower != null) {
             towers.remove(tower);
-            save();
+            unindexTower(tower);
+            ChaosWorldState.markChanged();
             ChaosMod.LOGGER.info("Tower removed at {}", pos);
             return true;
         }
@@ -58,7 +66,8 @@ public class TowerManager {
                 .orElse(null);
         if (tower != null) {
             towers.remove(tower);
-            save();
+            unindexTower(tower);
+            ChaosWorldState.markChanged();
             ChaosMod.LOGGER.info("Tower removed: {}", id);
             return true;
         }
@@ -89,6 +98,14 @@ public class TowerManager {
         return new ArrayList<>(towers);
     }
 
+    /**
+     * Get the towers of one arena (live list - do not modify)
+     */
+    public List<Tower> getTowersInArena(String arenaName) {
+        List<Tower> arenaTowers = towersByArena.get(arenaName);
+        return arenaTowers != null ? arenaTowers : Collections.emptyList();
+    }
+
     /**
      * Get towers by type
      */
@@ -128,64 +145,84 @@ public class TowerManager {
      */
     public void clearAllTowers() {
         towers.clear();
-        save();
+        towersByArena.clear();
+        ChaosWorldState.markChanged();
         ChaosMod.LOGGER.info("All towers cleared");
     }
 
+    private void indexTower(Tower tower) {
+        towersByArena.computeIfAbsent(tower.getArenaName(), name -> new ArrayList<>()).add(tower);
+    }
+
+    private void unindexTower(Tower tower) {
+        List<Tower> arenaTowers = towersByArena.get(tower.getArenaName());
+        if (arenaTowers == null) return;
+        arenaTowers.remove(tower);
+        if (arenaTowers.isEmpty()) {
+            towersByArena.remove(tower.getArenaName());
+        }
+    }
+
     /**
-     * Save tower data to file
+     * Write all towers for the world save
      */
-    public void save() {
-        try {
-            File file = new File(SAVE_FILE);
-            JsonObject root = new JsonObject();
-            JsonArray towerArray = new JsonArray();
-
-            for (Tower tower : towers) {
-                towerArray.add(tower.toJson());
-            }
+    public NbtCompound writeNbt() {
+        NbtList towerList = new NbtList();
+        for (Tower tower : towers) {
+            towerList.add(tower.toNbt());
+        }
 
-            root.add("towers", towerArray);
+        NbtCompound nbt = new NbtCompound();
+        nbt.put("towers", towerList);
+        return nbt;
+    }
 
-            try (FileWriter writer = new FileWriter(file)) {
-                GSON.toJson(root, writer);
-                ChaosMod.LOGGER.debug("Tower data saved ({} towers)", towers.size());
-            }
-        } catch (IOException e) {
-            ChaosMod.LOGGER.error("Failed to save tower data", e);
+    /**
+     * Read all towers from the world save
+     */
+    public void readNbt(NbtCompound nbt) {
+        towers.clear();
+        towersByArena.clear();
+
+        NbtList towerList = nbt.getList("towers", NbtElement.COMPOUND_TYPE);
+        for (int i = 0; i < towerList.size(); i++) {
+            Tower tower = Tower.fromNbt(towerList.getCompound(i));
+            towers.add(tower);
+            indexTower(tower);
         }
+        ChaosMod.LOGGER.info("Tower data loaded - {} towers", towers.size());
     }
 
     /**
-     * Load tower data from file
+     * One-time migration of the old tower-data.json from the server directory
      */
-    private void load() {
-        try {
-            File file = new File(SAVE_FILE);
-            if (!file.exists()) {
-                ChaosMod.LOGGER.info("No tower data file found, starting fresh");
-                return;
-            }
-
-            try (FileReader reader = new FileReader(file)) {
-                JsonObject root = GSON.fromJson(reader, JsonObject.class);
-                if (root != null && root.has("towers")) {
-                    JsonArray towerArray = root.getAsJsonArray("towers");
-                    towers.clear();
-
-                    for (int i = 0; i < towerArray.size(); i++) {
-                        JsonObject towerJson = towerArray.get(i).getAsJsonObject();
-                        Tower tower = Tower.fromJson(towerJson);
-                        if (tower != null) {
-                            towers.add(tower);
-                        }
+    public void loadLegacyJson() {
+        towers.clear();
+        towersByArena.clear();
+
+        File file = new File(LEGACY_SAVE_FILE);
+        if (!file.exists()) return;
+
+        try (FileReader reader = new FileReader(file)) {
+            JsonObject root = GSON.fromJson(reader, JsonObject.class);
+            if (root != null && root.has("towers")) {
+                JsonArray towerArray = root.getAsJsonArray("towers");
+
+                for (int i = 0; i < towerArray.size(); i++) {
+                    JsonObject towerJson = towerArray.get(i).getAsJsonObject();
+                    Tower tower = Tower.fromJson(towerJson);
+                    if (tower != null) {
+                        towers.add(tower);
+                        indexTower(tower);
                     }
-
-                    ChaosMod.LOGGER.info("Tower data loaded - {} towers", towers.size());
                 }
+
+                ChaosMod.LOGGER.info("Migrated tower data - {} towers", towers.size());
             }
         } catch (Exception e) {
             ChaosMod.LOGGER.error("Failed to load tower data", e);
+            return;
         }
+        ChaosWorldState.retireLegacyFile(file);
     }
 }
@@ -63,7 +63,8 @@ public class TowerPlacementHandler {
         BlockPos placementPos = clickedPos.up();
 
         // Validate placement
-        String error = validatePlacement(world, placementPos, player);
+        Arena arena = villageManager.getArenaAt(world.getRegistryKey(), placementPos);
+        String error = validatePlacement(world, placementPos, player, arena);
         if (error != null) {
             player.sendMessage(Text.literal("[TD] " + error).formatted(Formatting.RED), false);
             return ActionResult.FAIL;
@@ -84,7 +85,7 @@ public class TowerPlacementHandler {
         buildTowerStructure(world, placementPos, towerType);
 
         // Create and register tower
-        Tower tower = new Tower(placementPos, towerType, player.getUuid());
+        Tower tower = new Tower(placementPos, towerType, player.getUuid(), arena.getName());
         towerManager.addTower(tower);
 
         // Visual and audio feedback
@@ -105,13 +106,15 @@ public class TowerPlacementHandler {
     /**
      * Validate tower placement
      */
-    private String validatePlacement(World world, BlockPos pos, PlayerEntity player) {
-        // Check if village core is set
-        if (!villageManager.hasVillageCore()) {
-            return "Village core not set! Use /chaos setvillage first.";
+    private String validatePlacement(World world, BlockPos pos, PlayerEntity player, Arena arena) {
+        // Check if village core is set (towers belong to the arena they are placed in)
+        if (arena == null) {
+            return villageManager.hasVillageCore()
+                ? "Not inside an arena! Place towers near a village core."
+                : "Village core not set! Use /chaos setvillage first.";
         }
 
-        BlockPos corePos = villageManager.getVillageCorePos();
+        BlockPos corePos = arena.getCorePos();
 
         // Check distance from core
         double distanceFromCore = Math.sqrt(pos.getSquaredDistance(corePos));
@@ -128,7 +131,7 @@ public class TowerPlacementHandler {
         }
 
         // Check distance from other towers
-        for (Tower existingTower : towerManager.getAllTowers()) {
+        for (Tower existingTower : towerManager.getTowersInArena(arena.getName())) {
             double distance = Math.sqrt(pos.getSquaredDistance(existingTower.getPosition()));
             if (distance < MIN_DISTANCE_BETWEEN_TOWERS) {
                 return "Too close to another tower! Min distance: " + MIN_DISTANCE_BETWEEN_TOWERS + " blocks.";
@@ -2,90 +2,255 @@ package com.chaosstream;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.nbt.NbtList;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.World;
 
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
+/**
+ * Registry of all arenas (village cores) on the server.
+ * Arenas are looked up by chunk position through a per-world chunk index, so finding the arena
+ * of a mob, defender or tower is a single hash lookup regardless of how many arenas exist.
+ *
+ * The single-core methods (setVillageCore, getCoreHP, ...) operate on the default arena,
+ * which is the one managed by /chaos setvillage.
+ */
 public class VillageManager {
-    private static final String SAVE_FILE = "village-data.json";
+    private static final String LEGACY_SAVE_FILE = "village-data.json";
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
 
-    private static final int MAX_CORE_HP = 100;
+    private static final int MAX_CORE_HP = Arena.MAX_CORE_HP;
 
-    private BlockPos villageCorePos = null;
-    private int coreHP = MAX_CORE_HP;
-    private boolean gameOver = false;
+    private final Map<String, Arena> arenas = new LinkedHashMap<>();
+    private final Map<RegistryKey<World>, Long2ObjectOpenHashMap<Arena>> chunkIndex = new HashMap<>();
+    private final List<Arena> activeArenas = new ArrayList<>();
 
     public VillageManager() {
-        load();
+        // Arenas are read from the world on server start (ChaosWorldState)
     }
 
+    // ==================== Arenas ====================
+
+    /**
+     * Create an arena (or move an existing one) with a fresh core
+     */
+    public Arena createArena(String name, BlockPos pos, RegistryKey<World> world) {
+        Arena previous = arenas.get(name);
+        if (previous != null) {
+            CoreFlowField.invalidate(previous.getWorldKey(), previous.getCorePos());
+            activeArenas.remove(previous);
+        }
+
+        Arena arena = new Arena(name, world, pos);
+        arenas.put(name, arena);
+        rebuildChunkIndex();
+        ChaosWorldState.markChanged();
+        ChaosMod.LOGGER.info("Arena '{}' core set at: {} in {}", name, pos, world.getValue());
+        return arena;
+    }
+
+    /**
+     * Remove an arena
+     * @return false if no arena with that name exists
+     */
+    public boolean removeArena(String name) {
+        Arena arena = arenas.remove(name);
+        if (arena == null) return false;
+
+        CoreFlowField.invalidate(arena.getWorldKey(), arena.getCorePos());
+        activeArenas.remove(arena);
+        rebuildChunkIndex();
+        ChaosWorldState.markChanged();
+        ChaosMod.LOGGER.info("Arena '{}' removed", name);
+        return true;
+    }
+
+    public Arena getArena(String name) {
+        return name != null ? arenas.get(name) : null;
+    }
+
+    public Collection<Arena> getArenas() {
+        return Collections.unmodifiableCollection(arenas.values());
+    }
+
+    /**
+     * Find the arena containing a position
+     * @return arena or null if the position is outside every arena
+     */
+    public Arena getArenaAt(RegistryKey<World> world, BlockPos pos) {
+        Long2ObjectOpenHashMap<Arena> index = chunkIndex.get(world);
+        if (index == null) return null;
+        return index.get(ChunkPos.toLong(ChunkSectionPos.getSectionCoord(pos.getX()), ChunkSectionPos.getSectionCoord(pos.getZ())));
+    }
+
+    /**
+     * Find the arena containing a position, falling back to the default arena
+     */
+    public Arena getArenaAtOrDefault(RegistryKey<World> world, BlockPos pos) {
+        Arena arena = getArenaAt(world, pos);
+        return arena != null ? arena : getDefaultArena();
+    }
+
+    public Arena getDefaultArena() {
+        return arenas.get(Arena.DEFAULT_NAME);
+    }
+
+    /**
+     * Sort all online players into the arenas they stand in.
+     * Called once per tick before anything arena-related runs.
+     */
+    public void updateArenaPlayers(MinecraftServer server) {
+        for (Arena arena : activeArenas) {
+            arena.getPlayers().clear();
+        }
+        activeArenas.clear();
+
+        for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
+            Arena arena = getArenaAt(player.getWorld().getRegistryKey(), player.getBlockPos());
+            if (arena == null) continue;
+
+            if (!arena.isActive()) {
+                activeArenas.add(arena);
+            }
+            arena.getPlayers().add(player);
+        }
+    }
+
+    /**
+     * Arenas with at least one player inside - only these are ticked
+     */
+    public List<Arena> getActiveArenas() {
+        return activeArenas;
+    }
+
+    /**
+     * Damage an arena's core
+     */
+    public void damageCore(Arena arena, int damage) {
+        if (arena == null || !arena.damageCore(damage)) return;
+
+        ChaosMod.LOGGER.info("Arena '{}' core damaged! HP: {}/{}", arena.getName(), arena.getCoreHP(), MAX_CORE_HP);
+        if (arena.isGameOver()) {
+            ChaosMod.LOGGER.info("GAME OVER - Arena '{}' core destroyed!", arena.getName());
+        }
+        ChaosWorldState.markChanged();
+    }
+
+    /**
+     * Repair an arena's core (für Builder-Villagers)
+     */
+    public void repairCore(Arena arena, int amount, java.util.UUID builderUUID) {
+        if (arena == null || !arena.repairCore(amount)) return;
+
+        ChaosMod.LOGGER.debug("Arena '{}' core repaired by {} HP (Builder: {}). HP: {}/{}",
+            arena.getName(), amount, builderUUID, arena.getCoreHP(), MAX_CORE_HP);
+        ChaosWorldState.markChanged();
+    }
+
+    /**
+     * Reset only HP of an arena (for new round)
+     */
+    public void resetHP(Arena arena) {
+        if (arena == null) return;
+
+        arena.resetHP();
+        ChaosWorldState.markChanged();
+        ChaosMod.LOGGER.info("Arena '{}' core HP reset to {}", arena.getName(), MAX_CORE_HP);
+    }
+
+    private void rebuildChunkIndex() {
+        chunkIndex.clear();
+        for (Arena arena : arenas.values()) {
+            Long2ObjectOpenHashMap<Arena> index = chunkIndex.computeIfAbsent(arena.getWorldKey(), key -> new Long2ObjectOpenHashMap<>());
+            int coreChunkX = ChunkSectionPos.getSectionCoord(arena.getCorePos().getX());
+            int coreChunkZ = ChunkSectionPos.getSectionCoord(arena.getCorePos().getZ());
+
+            for (int dx = -Arena.RADIUS_CHUNKS; dx <= Arena.RADIUS_CHUNKS; dx++) {
+                for (int dz = -Arena.RADIUS_CHUNKS; dz <= Arena.RADIUS_CHUNKS; dz++) {
+                    // Overlapping arenas: the first one created keeps the chunk
+                    index.putIfAbsent(ChunkPos.toLong(coreChunkX + dx, coreChunkZ + dz), arena);
+                }
+            }
+        }
+    }
+
+    // ==================== Default arena ====================
+
     /**
-     * Set village core position
+     * Set village core position (in the overworld)
      */
     public void setVillageCore(BlockPos pos) {
-        this.villageCorePos = pos;
-        this.coreHP = MAX_CORE_HP;
-        this.gameOver = false;
-        save();
-        ChaosMod.LOGGER.info("Village core set at: {}", pos);
+        setVillageCore(pos, World.OVERWORLD);
+    }
+
+    /**
+     * Set village core position in a specific world
+     */
+    public void setVillageCore(BlockPos pos, RegistryKey<World> world) {
+        createArena(Arena.DEFAULT_NAME, pos, world);
     }
 
     /**
      * Check if village core is set
      */
     public boolean hasVillageCore() {
-        return villageCorePos != null;
+        return getDefaultArena() != null;
     }
 
     /**
      * Get village core position
      */
     public BlockPos getVillageCorePos() {
-        return villageCorePos;
+        Arena arena = getDefaultArena();
+        return arena != null ? arena.getCorePos() : null;
+    }
+
+    /**
+     * Get the world containing the village core (overworld if no core is set)
+     */
+    public RegistryKey<World> getVillageCoreWorld() {
+        Arena arena = getDefaultArena();
+        return arena != null ? arena.getWorldKey() : World.OVERWORLD;
     }
 
     /**
      * Damage the core
      */
     public void damageCore(int damage) {
-        if (!hasVillageCore() || gameOver) return;
-
-        coreHP = Math.max(0, coreHP - damage);
-        ChaosMod.LOGGER.info("Village core damaged! HP: {}/{}", coreHP, MAX_CORE_HP);
-
-        if (coreHP <= 0) {
-            gameOver = true;
-            ChaosMod.LOGGER.info("GAME OVER - Village core destroyed!");
-        }
-
-        save();
+        damageCore(getDefaultArena(), damage);
     }
 
     /**
      * Repair the core (für Builder-Villagers)
      */
     public void repairCore(int amount, java.util.UUID builderUUID) {
-        if (!hasVillageCore() || gameOver) return;
-
-        int oldHP = coreHP;
-        coreHP = Math.min(MAX_CORE_HP, coreHP + amount);
-
-        if (coreHP > oldHP) {
-            ChaosMod.LOGGER.debug("Village core repaired by {} HP (Builder: {}). HP: {}/{}",
-                amount, builderUUID, coreHP, MAX_CORE_HP);
-            save();
-        }
+        repairCore(getDefaultArena(), amount, builderUUID);
     }
 
     /**
      * Get current core HP
      */
     public int getCoreHP() {
-        return coreHP;
+        Arena arena = getDefaultArena();
+        return arena != null ? arena.getCoreHP() : MAX_CORE_HP;
     }
 
     /**
@@ -99,17 +264,15 @@ public class VillageManager {
      * Check if game is over
      */
     public boolean isGameOver() {
-        return gameOver;
+        Arena arena = getDefaultArena();
+        return arena != null && arena.isGameOver();
     }
 
     /**
      * Reset village (remove core)
      */
     public void resetVillage() {
-        villageCorePos = null;
-        coreHP = MAX_CORE_HP;
-        gameOver = false;
-        save();
+        removeArena(Arena.DEFAULT_NAME);
         ChaosMod.LOGGER.info("Village reset");
     }
 
@@ -117,66 +280,76 @@ public class VillageManager {
      * Reset only HP (for new round)
      */
     public void resetHP() {
-        coreHP = MAX_CORE_HP;
-        gameOver = false;
-        save();
-        ChaosMod.LOGGER.info("Village core HP reset to {}", MAX_CORE_HP);
+        resetHP(getDefaultArena());
     }
 
+    // ==================== Persistence ====================
+
     /**
-     * Save village data to file
+     * Write all arenas for the world save
      */
-    public void save() {
-        try {
-            File file = new File(SAVE_FILE);
-            VillageData data = new VillageData(villageCorePos, coreHP, gameOver);
+    public NbtCompound writeNbt() {
+        NbtList arenaList = new NbtList();
+        for (Arena arena : arenas.values()) {
+            arenaList.add(arena.toNbt());
+        }
 
-            try (FileWriter writer = new FileWriter(file)) {
-                GSON.toJson(data, writer);
-                ChaosMod.LOGGER.debug("Village data saved");
-            }
-        } catch (IOException e) {
-            ChaosMod.LOGGER.error("Failed to save village data", e);
+        NbtCompound nbt = new NbtCompound();
+        nbt.put("arenas", arenaList);
+        return nbt;
+    }
+
+    /**
+     * Read all arenas from the world save
+     */
+    public void readNbt(NbtCompound nbt) {
+        clear();
+        NbtList arenaList = nbt.getList("arenas", NbtElement.COMPOUND_TYPE);
+        for (int i = 0; i < arenaList.size(); i++) {
+            Arena arena = Arena.fromNbt(arenaList.getCompound(i));
+            arenas.put(arena.getName(), arena);
         }
+
+        rebuildChunkIndex();
+        ChaosMod.LOGGER.info("Village data loaded - {} arena(s)", arenas.size());
     }
 
     /**
-     * Load village data from file
+     * One-time migration of the old single-core village-data.json from the server directory
      */
-    private void load() {
-        try {
-            File file = new File(SAVE_FILE);
-            if (!file.exists()) {
-                ChaosMod.LOGGER.info("No village data file found, starting fresh");
-                return;
-            }
+    public void loadLegacyJson() {
+        clear();
 
-            try (FileReader reader = new FileReader(file)) {
-                VillageData data = GSON.fromJson(reader, VillageData.class);
-                if (data != null) {
-                    this.villageCorePos = data.villageCorePos;
-                    this.coreHP = data.coreHP;
-                    this.gameOver = data.gameOver;
-                    ChaosMod.LOGGER.info("Village data loaded - Core: {}, HP: {}", villageCorePos, coreHP);
-                }
-            }
-        } catch (IOException e) {
+        File file = new File(LEGACY_SAVE_FILE);
+        if (!file.exists()) return;
+
+        try (FileReader reader = new FileReader(file)) {
+            LegacyVillageData data = GSON.fromJson(reader, LegacyVillageData.class);
+            if (data == null || data.villageCorePos == null) return;
+
+            // The single core was always in the overworld
+            arenas.put(Arena.DEFAULT_NAME, new Arena(Arena.DEFAULT_NAME, World.OVERWORLD, data.villageCorePos, data.coreHP, data.gameOver));
+            rebuildChunkIndex();
+            ChaosMod.LOGGER.info("Migrated single village core at {} to arena '{}'", data.villageCorePos, Arena.DEFAULT_NAME);
+        } catch (IOException | RuntimeException e) {
             ChaosMod.LOGGER.error("Failed to load village data", e);
+            return;
         }
+        ChaosWorldState.retireLegacyFile(file);
+    }
+
+    private void clear() {
+        arenas.clear();
+        activeArenas.clear();
+        chunkIndex.clear();
     }
 
     /**
-     * Data class for JSON serialization
+     * Old single-core data class (read only)
      */
-    private static class VillageData {
+    private static class LegacyVillageData {
         BlockPos villageCorePos;
         int coreHP;
         boolean gameOver;
-
-        VillageData(BlockPos villageCorePos, int coreHP, boolean gameOver) {
-            this.villageCorePos = villageCorePos;
-            this.coreHP = coreHP;
-            this.gameOver = gameOver;
-        }
     }
 }
@@ -14,19 +14,24 @@ import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.Heightmap;
+import net.minecraft.world.World;
 
 import java.util.*;
 
 public class WaveManager {
-    private static final Random RANDOM = new Random();
 
     // Wave configuration
     private static final int SPAWN_LOCATIONS_COUNT = 3;
     private static final int MIN_SPAWN_DISTANCE = 40;
     private static final int MAX_SPAWN_DISTANCE = 60;
+    private static final Identifier WAVE_BOSS_BAR_ID = new Identifier("chaosstream", "wave");
+    private static final int WAVE_BOSS_BAR_NOTCHES = 10; // Matches BossBar.Style.NOTCHED_10
+    private static final int POOL_VALIDATIONS_PER_TICK = 8; // Per spawn location - pools are complete well within WARNING
+    private static final int WAVE_COOLDOWN_TICKS = 1200; // 60 seconds between waves
+    private static final int CLEARED_COOLDOWN_TICKS = 200; // Remaining cooldown once every wave mob is dead
 
     // Wave phases
-    private enum WavePhase {
+    enum WavePhase {
         INACTIVE,
         WARNING,      // Visual markers appear
         WAVE_1,       // Weak mobs
@@ -58,46 +63,166 @@ public class WaveManager {
         EntityType.WITHER_SKELETON, EntityType.BLAZE, EntityType.WITCH, EntityType.ENDERMAN
     };
 
-    // Current wave state
-    private WavePhase currentPhase = WavePhase.INACTIVE;
-    private long phaseStartTick = 0;
-    private List<SpawnLocation> spawnLocations = new ArrayList<>();
-    private Map<UUID, CommandBossBar> playerBossBars = new HashMap<>();
-    private CommandBossBar coreHPBossBar = null;
-    private int coreCheckTimer = 0;
+    // Wave state per arena - only sessions of active arenas, or with a wave in progress, are ticked
+    private final Map<String, WaveSession> sessions = new HashMap<>();
+    private final List<WaveSession> unattendedSessions = new ArrayList<>();
+    private List<WaveSession> tickedSessions = new ArrayList<>();
+    private List<WaveSession> previouslyTickedSessions = new ArrayList<>();
+    private long tickCounter = 0;
+    // Bumped whenever a wave night starts - dormant defenders compare it to wake up immediately
+    private int waveNightEpoch = 0;
 
     public void onServerTick(MinecraftServer server, ChaosManager chaosManager) {
-        for (ServerWorld world : server.getWorlds()) {
-            if (world.getRegistryKey() != ServerWorld.OVERWORLD) continue;
+        VillageManager villageManager = ChaosMod.getVillageManager();
+
+        // Swap buffers - sessions ticked last tick but not this one lose their boss bar viewers
+        List<WaveSession> swap = previouslyTickedSessions;
+        previouslyTickedSessions = tickedSessions;
+        tickedSessions = swap;
+        tickedSessions.clear();
+        tickCounter++;
+
+        // Cost is proportional to active arenas (those with players inside), not to all arenas
+        for (Arena arena : villageManager.getActiveArenas()) {
+            ServerWorld world = server.getWorld(arena.getWorldKey());
+            if (world == null) continue;
+
+            WaveSession session = getSession(arena);
+            session.lastTicked = tickCounter;
+            tickedSessions.add(session);
+            tickArena(session, arena, server, world, chaosManager);
+        }
+
+        // A wave in progress keeps running when every player leaves the arena - otherwise
+        // its mobs freeze mid-wave and the night can't finish until someone returns
+        for (WaveSession session : sessions.values()) {
+            if (session.lastTicked != tickCounter && session.isWaveNightActive()
+                && villageManager.getArena(session.arenaName) == session.arena) {
+                unattendedSessions.add(session);
+            }
+        }
+        for (WaveSession session : unattendedSessions) {
+            ServerWorld world = server.getWorld(session.arena.getWorldKey());
+            if (world == null) continue;
+
+            session.lastTicked = tickCounter;
+            tickedSessions.add(session);
+            tickArena(session, session.arena, server, world, chaosManager);
+        }
+        unattendedSessions.clear();
+
+        for (WaveSession session : previouslyTickedSessions) {
+            if (session.lastTicked == tickCounter) continue;
+
+            // Arena became inactive - its boss bars have no viewers until someone returns
+            syncBossBarMembers(session, Collections.emptyList());
+            if (villageManager.getArena(session.arenaName) != session.arena) {
+                // Arena was removed
+                session.spawnScheduler.clear();
+                session.mobRegistry.despawnAll();
+                clearBossBars(session);
+                sessions.remove(session.arenaName, session);
+                ChaosMod.LOGGER.info("Wave session of arena '{}' ended (arena removed)", session.arenaName);
+            }
+        }
+    }
+
+    private void tickArena(WaveSession session, Arena arena, MinecraftServer server, ServerWorld world, ChaosManager chaosManager) {
+        long timeOfDay = world.getTimeOfDay() % 24000;
+        boolean isNight = timeOfDay >= 13000 && timeOfDay <= 23000;
 
-            long timeOfDay = world.getTimeOfDay() % 24000;
-            boolean isNight = timeOfDay >= 13000 && timeOfDay <= 23000;
+        List<ServerPlayerEntity> players = arena.getPlayers();
+        syncBossBarMembers(session, players);
 
-            List<ServerPlayerEntity> players = world.getPlayers();
-            if (players.isEmpty()) continue;
+        // Update core HP boss bar
+        updateCoreHPBossBar(session, arena, server, players);
 
-            // Update core HP boss bar
-            updateCoreHPBossBar(server, players);
+        // Apply damage of mobs that reached the core this tick
+        if (!session.coreContacts.isEmpty()) {
+            processCoreContacts(session, arena, world, players);
+        }
 
-            // Check for mobs attacking the core (every 20 ticks = 1 second)
-            coreCheckTimer++;
-            if (coreCheckTimer >= 20) {
-                coreCheckTimer = 0;
-                checkCoreAttacks(world, players);
+        // Spawn this tick's share of the current wave (keeps running if the night ends mid-wave)
+        session.spawnScheduler.tick(world);
+
+        if (isNight) {
+            processNightWaves(session, arena, world, players, chaosManager, timeOfDay);
+        } else {
+            // Reset during day
+            if (session.currentPhase != WavePhase.INACTIVE) {
+                resetWaves(session);
             }
+        }
+    }
 
-            if (isNight) {
-                processNightWaves(world, players, chaosManager, timeOfDay);
-            } else {
-                // Reset during day
-                if (currentPhase != WavePhase.INACTIVE) {
-                    resetWaves(server);
+    private WaveSession getSession(Arena arena) {
+        WaveSession session = sessions.get(arena.getName());
+        if (session != null && session.arena != arena) {
+            // The arena was moved or recreated - end the wave state left behind
+            retireSession(session);
+            session = null;
+        }
+        if (session == null) {
+            session = new WaveSession(arena);
+            sessions.put(arena.getName(), session);
+        }
+        return session;
+    }
+
+    private void retireSession(WaveSession session) {
+        session.spawnScheduler.clear();
+        session.mobRegistry.despawnAll();
+        clearBossBars(session);
+        session.bossBarMembers.clear();
+        sessions.remove(session.arenaName);
+        ChaosMod.LOGGER.info("Wave session of arena '{}' ended (village core moved)", session.arenaName);
+    }
+
+    /**
+     * Adds arena newcomers to the session's boss bars and removes players who left the arena
+     */
+    private void syncBossBarMembers(WaveSession session, List<ServerPlayerEntity> players) {
+        if (session.bossBarMembers.size() == players.size()) {
+            boolean unchanged = true;
+            for (ServerPlayerEntity player : players) {
+                if (session.bossBarMembers.get(player.getUuid()) != player) {
+                    unchanged = false;
+                    break;
+                }
+            }
+            if (unchanged) return;
+        }
+
+        Iterator<Map.Entry<UUID, ServerPlayerEntity>> it = session.bossBarMembers.entrySet().iterator();
+        while (it.hasNext()) {
+            ServerPlayerEntity member = it.next().getValue();
+            if (!players.contains(member)) {
+                removeFromBossBars(session, member);
+                it.remove();
+            }
+        }
+        for (ServerPlayerEntity player : players) {
+            if (session.bossBarMembers.put(player.getUuid(), player) != player) {
+                if (session.waveBossBar != null) {
+                    session.waveBossBar.addPlayer(player);
+                }
+                if (session.coreHPBossBar != null) {
+                    session.coreHPBossBar.addPlayer(player);
                 }
             }
         }
     }
 
-    private void processNightWaves(ServerWorld world, List<ServerPlayerEntity> players,
+    private void removeFromBossBars(WaveSession session, ServerPlayerEntity player) {
+        if (session.waveBossBar != null) {
+            session.waveBossBar.removePlayer(player);
+        }
+        if (session.coreHPBossBar != null) {
+            session.coreHPBossBar.removePlayer(player);
+        }
+    }
+
+    private void processNightWaves(WaveSession session, Arena arena, ServerWorld world, List<ServerPlayerEntity> players,
                                    ChaosManager chaosManager, long timeOfDay) {
         int chaosLevel = chaosManager.getChaosLevel();
         // Allow waves to start even at chaos 0 (minimum difficulty)
@@ -106,109 +231,113 @@ public class WaveManager {
         long currentTick = world.getTime();
 
         // Initialize spawn locations at night start (larger window: 13000-13500 = 25 seconds)
-        if (timeOfDay >= 13000 && timeOfDay < 13500 && currentPhase == WavePhase.INACTIVE) {
-            startWaveNight(world, players);
-            currentPhase = WavePhase.WARNING;
-            phaseStartTick = currentTick;
+        if (timeOfDay >= 13000 && timeOfDay < 13500 && session.currentPhase == WavePhase.INACTIVE) {
+            startWaveNight(session, arena, world, players);
+            session.currentPhase = WavePhase.WARNING;
+            waveNightEpoch++;
+            session.phaseStartTick = currentTick;
             return;
         }
 
         // Process wave phases
-        long ticksSincePhaseStart = currentTick - phaseStartTick;
+        long ticksSincePhaseStart = currentTick - session.phaseStartTick;
+        if (isCooldown(session.currentPhase)) {
+            ticksSincePhaseStart = shortenClearedCooldown(session, players, currentTick, ticksSincePhaseStart);
+        }
 
-        switch (currentPhase) {
+        switch (session.currentPhase) {
             case WARNING:
-                updateWarningPhase(world, players, ticksSincePhaseStart);
+                updateWarningPhase(session, world, players, ticksSincePhaseStart);
                 if (ticksSincePhaseStart >= 600) { // 30 seconds
-                    startWave(world, players, 1, chaosLevel);
-                    currentPhase = WavePhase.WAVE_1;
-                    phaseStartTick = currentTick;
+                    startWave(session, world, players, 1, chaosLevel);
+                    session.currentPhase = WavePhase.WAVE_1;
+                    session.phaseStartTick = currentTick;
                 }
                 break;
 
             case WAVE_1:
                 if (ticksSincePhaseStart >= 100) { // 5 seconds spawn duration
-                    currentPhase = WavePhase.COOLDOWN_1;
-                    phaseStartTick = currentTick;
+                    session.currentPhase = WavePhase.COOLDOWN_1;
+                    session.phaseStartTick = currentTick;
                 }
                 break;
 
             case COOLDOWN_1:
-                updateBossBar(players, "Next wave in...", ticksSincePhaseStart, 1200);
-                if (ticksSincePhaseStart >= 1200) { // 60 seconds
-                    startWave(world, players, 2, chaosLevel);
-                    currentPhase = WavePhase.WAVE_2;
-                    phaseStartTick = currentTick;
+                updateBossBar(session, players, withRemainingEnemies(session, "Next wave in..."), ticksSincePhaseStart, WAVE_COOLDOWN_TICKS);
+                if (ticksSincePhaseStart >= WAVE_COOLDOWN_TICKS) {
+                    startWave(session, world, players, 2, chaosLevel);
+                    session.currentPhase = WavePhase.WAVE_2;
+                    session.phaseStartTick = currentTick;
                 }
                 break;
 
             case WAVE_2:
                 if (ticksSincePhaseStart >= 100) {
-                    currentPhase = WavePhase.COOLDOWN_2;
-                    phaseStartTick = currentTick;
+                    session.currentPhase = WavePhase.COOLDOWN_2;
+                    session.phaseStartTick = currentTick;
                 }
                 break;
 
             case COOLDOWN_2:
-                updateBossBar(players, "Next wave in...", ticksSincePhaseStart, 1200);
-                if (ticksSincePhaseStart >= 1200) {
-                    startWave(world, players, 3, chaosLevel);
-                    currentPhase = WavePhase.WAVE_3;
-                    phaseStartTick = currentTick;
+                updateBossBar(session, players, withRemainingEnemies(session, "Next wave in..."), ticksSincePhaseStart, WAVE_COOLDOWN_TICKS);
+                if (ticksSincePhaseStart >= WAVE_COOLDOWN_TICKS) {
+                    startWave(session, world, players, 3, chaosLevel);
+                    session.currentPhase = WavePhase.WAVE_3;
+                    session.phaseStartTick = currentTick;
                 }
                 break;
 
             case WAVE_3:
                 if (ticksSincePhaseStart >= 100) {
                     if (chaosLevel >= 100) {
-                        currentPhase = WavePhase.COOLDOWN_3;
+                        session.currentPhase = WavePhase.COOLDOWN_3;
                     } else {
-                        currentPhase = WavePhase.FINISHED;
-                        clearBossBars();
+                        session.currentPhase = WavePhase.FINISHED;
+                        clearBossBars(session);
                         // Wave-Sequence beendet - XP vergeben
                         DefenderManager.getInstance().onWaveCompleted(world);
                     }
-                    phaseStartTick = currentTick;
+                    session.phaseStartTick = currentTick;
                 }
                 break;
 
             case COOLDOWN_3:
-                updateBossBar(players, "Elite wave incoming...", ticksSincePhaseStart, 1200);
-                if (ticksSincePhaseStart >= 1200) {
-                    startWave(world, players, 4, chaosLevel);
-                    currentPhase = WavePhase.WAVE_4;
-                    phaseStartTick = currentTick;
+                updateBossBar(session, players, withRemainingEnemies(session, "Elite wave incoming..."), ticksSincePhaseStart, WAVE_COOLDOWN_TICKS);
+                if (ticksSincePhaseStart >= WAVE_COOLDOWN_TICKS) {
+                    startWave(session, world, players, 4, chaosLevel);
+                    session.currentPhase = WavePhase.WAVE_4;
+                    session.phaseStartTick = currentTick;
                 }
                 break;
 
             case WAVE_4:
                 if (ticksSincePhaseStart >= 100) {
                     if (chaosLevel >= 200) {
-                        currentPhase = WavePhase.COOLDOWN_4;
+                        session.currentPhase = WavePhase.COOLDOWN_4;
                     } else {
-                        currentPhase = WavePhase.FINISHED;
-                        clearBossBars();
+                        session.currentPhase = WavePhase.FINISHED;
+                        clearBossBars(session);
                         // Wave-Sequence beendet - XP vergeben
                         DefenderManager.getInstance().onWaveCompleted(world);
                     }
-                    phaseStartTick = currentTick;
+                    session.phaseStartTick = currentTick;
                 }
                 break;
 
             case COOLDOWN_4:
-                updateBossBar(players, "BOSS WAVE INCOMING!", ticksSincePhaseStart, 1200);
-                if (ticksSincePhaseStart >= 1200) {
-                    startWave(world, players, 5, chaosLevel);
-                    currentPhase = WavePhase.WAVE_5;
-                    phaseStartTick = currentTick;
+                updateBossBar(session, players, withRemainingEnemies(session, "BOSS WAVE INCOMING!"), ticksSincePhaseStart, WAVE_COOLDOWN_TICKS);
+                if (ticksSincePhaseStart >= WAVE_COOLDOWN_TICKS) {
+                    startWave(session, world, players, 5, chaosLevel);
+                    session.currentPhase = WavePhase.WAVE_5;
+                    session.phaseStartTick = currentTick;
                 }
                 break;
 
             case WAVE_5:
                 if (ticksSincePhaseStart >= 100) {
-                    currentPhase = WavePhase.FINISHED;
-                    clearBossBars();
-                    phaseStartTick = currentTick;
+                    session.currentPhase = WavePhase.FINISHED;
+                    clearBossBars(session);
+                    session.phaseStartTick = currentTick;
 
                     // Verteile XP an alle überlebenden Defender
                     DefenderManager.getInstance().onWaveCompleted(world);
@@ -216,43 +345,59 @@ public class WaveManager {
                 break;
         }
 
-        // Update spawn location effects
-        if (currentPhase != WavePhase.INACTIVE && currentPhase != WavePhase.FINISHED) {
-            updateSpawnLocationEffects(world);
+        // Update spawn location effects and keep the spawn point pools validated
+        if (session.currentPhase != WavePhase.INACTIVE && session.currentPhase != WavePhase.FINISHED) {
+            updateSpawnLocationEffects(session, world);
+            updateSpawnPools(session, world);
         }
     }
 
-    private void startWaveNight(ServerWorld world, List<ServerPlayerEntity> players) {
-        spawnLocations.clear();
+    private boolean isCooldown(WavePhase phase) {
+        return phase == WavePhase.COOLDOWN_1 || phase == WavePhase.COOLDOWN_2
+            || phase == WavePhase.COOLDOWN_3 || phase == WavePhase.COOLDOWN_4;
+    }
 
-        // Check if village core is set
-        VillageManager villageManager = ChaosMod.getVillageManager();
-        if (!villageManager.hasVillageCore()) {
-            // No village core - warn admins but don't spawn
-            for (ServerPlayerEntity player : players) {
-                if (player.hasPermissionLevel(2)) { // Op level
-                    player.sendMessage(Text.literal("§c§l[TD] No village core set! Use '/chaos setvillage' to set spawn target."), false);
-                }
-            }
-            return;
+    /**
+     * Every wave mob is dead - skip ahead to the last CLEARED_COOLDOWN_TICKS of the cooldown
+     * @return the (possibly advanced) ticks since phase start
+     */
+    private long shortenClearedCooldown(WaveSession session, List<ServerPlayerEntity> players, long currentTick, long ticksSincePhaseStart) {
+        if (WAVE_COOLDOWN_TICKS - ticksSincePhaseStart <= CLEARED_COOLDOWN_TICKS
+            || session.spawnScheduler.getPendingCount() > 0 || !session.mobRegistry.isEmpty()) {
+            return ticksSincePhaseStart;
+        }
+
+        session.phaseStartTick = currentTick - (WAVE_COOLDOWN_TICKS - CLEARED_COOLDOWN_TICKS);
+        for (ServerPlayerEntity player : players) {
+            player.sendMessage(Text.literal("§a§l✔ Wave cleared! §eNext wave in " + (CLEARED_COOLDOWN_TICKS / 20) + " seconds..."), false);
         }
+        return WAVE_COOLDOWN_TICKS - CLEARED_COOLDOWN_TICKS;
+    }
+
+    private String withRemainingEnemies(WaveSession session, String title) {
+        int remaining = session.mobRegistry.getAliveCount();
+        return remaining > 0 ? title + " §7(" + remaining + " enemies left)" : title;
+    }
+
+    private void startWaveNight(WaveSession session, Arena arena, ServerWorld world, List<ServerPlayerEntity> players) {
+        session.spawnLocations.clear();
 
         // Check if game is over
-        if (villageManager.isGameOver()) {
+        if (arena.isGameOver()) {
             for (ServerPlayerEntity player : players) {
                 player.sendMessage(Text.literal("§c§l[TD] Village core destroyed! Use '/chaos resetvillage' to start a new round."), false);
             }
             return;
         }
 
-        BlockPos villageCorePos = villageManager.getVillageCorePos();
+        BlockPos villageCorePos = arena.getCorePos();
 
         // Create spawn locations around village core (not per player)
         for (int i = 0; i < SPAWN_LOCATIONS_COUNT; i++) {
             BlockPos spawnPos = findRandomSpawnLocation(world, villageCorePos);
             // Use first player's UUID as owner (tower defense is cooperative)
             SpawnLocation location = new SpawnLocation(spawnPos, players.get(0).getUuid());
-            spawnLocations.add(location);
+            session.spawnLocations.add(location);
 
             // Create initial visual marker
             createSpawnMarker(world, spawnPos, true);
@@ -269,13 +414,12 @@ public class WaveManager {
         SoundEffects.playWarningSound(world, players);
     }
 
-    private void updateWarningPhase(ServerWorld world, List<ServerPlayerEntity> players, long ticks) {
+    private void updateWarningPhase(WaveSession session, ServerWorld world, List<ServerPlayerEntity> players, long ticks) {
         // Update boss bar
-        float progress = 1.0f - (ticks / 600.0f);
-        updateBossBar(players, "§c⚠ Wave 1 approaching...", ticks, 600);
+        updateBossBar(session, players, "§c⚠ Wave 1 approaching...", ticks, 600);
     }
 
-    private void startWave(ServerWorld world, List<ServerPlayerEntity> players, int waveNumber, int chaosLevel) {
+    private void startWave(WaveSession session, ServerWorld world, List<ServerPlayerEntity> players, int waveNumber, int chaosLevel) {
         String waveName = getWaveName(waveNumber);
         String waveColor = getWaveColor(waveNumber);
 
@@ -283,13 +427,23 @@ public class WaveManager {
             player.sendMessage(Text.literal(waveColor + "§l⚔ " + waveName + " WAVE SPAWNING! ⚔"), false);
         }
 
-        // Spawn mobs at each location
+        // Queue mobs at each location - the scheduler spreads them over the spawn window
         int mobsPerLocation = getMobCount(waveNumber, chaosLevel);
-        EntityType<?>[] mobTypes = getMobTypes(waveNumber);
 
-        for (SpawnLocation loc : spawnLocations) {
-            spawnWaveMobs(world, loc.pos, mobTypes, mobsPerLocation);
+        // Under load: fewer, enhanced mobs instead of many weak ones
+        AdaptiveDifficulty adaptive = AdaptiveDifficulty.getInstance();
+        int scaledPerLocation = adaptive.scaleWaveMobCount(mobsPerLocation, session.spawnLocations.size());
+        int enhancementTier = adaptive.getCompensationTier(mobsPerLocation, scaledPerLocation);
+        if (scaledPerLocation < mobsPerLocation) {
+            ChaosMod.LOGGER.info("Wave {} scaled to {} mobs per location (from {}, tier {}) - MSPT {} / budget {}",
+                waveNumber, scaledPerLocation, mobsPerLocation, enhancementTier,
+                String.format("%.1f", adaptive.getMspt()), adaptive.getMsptBudget());
+        }
 
+        EntityType<?>[] mobTypes = getMobTypes(waveNumber);
+        session.spawnScheduler.schedule(world, getSpawnPools(session), mobTypes, scaledPerLocation, waveNumber, enhancementTier);
+
+        for (SpawnLocation loc : session.spawnLocations) {
             // Dramatic spawn effects
             createSpawnEffect(world, loc.pos, players);
 
@@ -298,23 +452,6 @@ public class WaveManager {
         }
     }
 
-    private void spawnWaveMobs(ServerWorld world, BlockPos center, EntityType<?>[] mobTypes, int count) {
-        for (int i = 0; i < count; i++) {
-            // Random position around spawn center
-            double angle = RANDOM.nextDouble() * Math.PI * 2;
-            double distance = 3 + RANDOM.nextDouble() * 5;
-
-            int x = center.getX() + (int)(Math.cos(angle) * distance);
-            int z = center.getZ() + (int)(Math.sin(angle) * distance);
-            int y = world.getTopY(Heightmap.Type.MOTION_BLOCKING_NO_LEAVES, x, z);
-
-            BlockPos spawnPos = new BlockPos(x, y, z);
-            EntityType<?> mobType = mobTypes[RANDOM.nextInt(mobTypes.length)];
-
-            SpawnUtils.spawnMob(world, mobType, spawnPos);
-        }
-    }
-
     private void createSpawnMarker(ServerWorld world, BlockPos pos, boolean initial) {
         // Create obsidian portal ring
         if (initial) {
@@ -352,23 +489,17 @@ public class WaveManager {
         // Play lightning sound
         SoundEffects.playLightningSound(world, pos);
 
-        // Dramatic particle effects
-        for (int i = 0; i < 50; i++) {
-            double offsetX = (RANDOM.nextDouble() - 0.5) * 8;
-            double offsetZ = (RANDOM.nextDouble() - 0.5) * 8;
-            double offsetY = RANDOM.nextDouble() * 3;
-
-            world.spawnParticles(ParticleTypes.SOUL_FIRE_FLAME,
-                pos.getX() + offsetX, pos.getY() + offsetY, pos.getZ() + offsetZ,
-                1, 0, 0.5, 0, 0.05);
-            world.spawnParticles(ParticleTypes.LARGE_SMOKE,
-                pos.getX() + offsetX, pos.getY() + offsetY, pos.getZ() + offsetZ,
-                1, 0, 0.5, 0, 0.02);
-        }
+        // Dramatic particle effects (one packet per particle type, spread client-side)
+        world.spawnParticles(ParticleTypes.SOUL_FIRE_FLAME,
+            pos.getX(), pos.getY() + 1.5, pos.getZ(),
+            50, 2.0, 1.0, 2.0, 0.05);
+        world.spawnParticles(ParticleTypes.LARGE_SMOKE,
+            pos.getX(), pos.getY() + 1.5, pos.getZ(),
+            50, 2.0, 1.0, 2.0, 0.02);
     }
 
-    private void updateSpawnLocationEffects(ServerWorld world) {
-        for (SpawnLocation loc : spawnLocations) {
+    private void updateSpawnLocationEffects(WaveSession session, ServerWorld world) {
+        for (SpawnLocation loc : session.spawnLocations) {
             // Periodic particle effects
             if (world.getTime() % 10 == 0) {
                 world.spawnParticles(ParticleTypes.PORTAL,
@@ -383,62 +514,109 @@ public class WaveManager {
         }
     }
 
-    private void updateBossBar(List<ServerPlayerEntity> players, String title, long currentTicks, long maxTicks) {
-        float progress = Math.max(0, 1.0f - (currentTicks / (float)maxTicks));
+    private void updateSpawnPools(WaveSession session, ServerWorld world) {
+        for (SpawnLocation loc : session.spawnLocations) {
+            if (loc.pool.hasPending()) {
+                loc.pool.validateStep(world, POOL_VALIDATIONS_PER_TICK);
+            }
+        }
+    }
 
-        for (ServerPlayerEntity player : players) {
-            CommandBossBar bossBar = playerBossBars.computeIfAbsent(player.getUuid(), uuid -> {
-                Identifier id = new Identifier("chaosstream", "wave_" + uuid);
-                CommandBossBar bar = new CommandBossBar(id, Text.literal(title));
-                bar.setColor(BossBar.Color.RED);
-                bar.setStyle(BossBar.Style.NOTCHED_10);
-                bar.addPlayer(player);
-                return bar;
-            });
+    private List<SpawnPointPool> getSpawnPools(WaveSession session) {
+        List<SpawnPointPool> pools = new ArrayList<>(session.spawnLocations.size());
+        for (SpawnLocation loc : session.spawnLocations) {
+            pools.add(loc.pool);
+        }
+        return pools;
+    }
 
-            bossBar.setName(Text.literal(title));
-            bossBar.setPercent(progress);
+    /**
+     * Forward block changes to the spawn point pools so affected columns get revalidated
+     */
+    public void onBlockChanged(World world, BlockPos pos) {
+        Arena arena = ChaosMod.getVillageManager().getArenaAt(world.getRegistryKey(), pos);
+        if (arena == null) return;
+        WaveSession session = sessions.get(arena.getName());
+        if (session == null) return;
+
+        for (SpawnLocation loc : session.spawnLocations) {
+            loc.pool.onBlockChanged(pos);
         }
     }
 
-    private void clearBossBars() {
-        for (CommandBossBar bar : playerBossBars.values()) {
-            bar.clearPlayers();
+    /**
+     * Updates the shared wave boss bar.
+     * The name is only sent when the title changes, progress only when it crosses a notch.
+     */
+    private void updateBossBar(WaveSession session, List<ServerPlayerEntity> players, String title, long currentTicks, long maxTicks) {
+        if (session.waveBossBar == null) {
+            session.waveBossBar = new CommandBossBar(WAVE_BOSS_BAR_ID, Text.literal(title));
+            session.waveBossBar.setColor(BossBar.Color.RED);
+            session.waveBossBar.setStyle(BossBar.Style.NOTCHED_10);
+            session.waveBossBarTitle = title;
+            session.waveBossBarNotch = -1;
+            for (ServerPlayerEntity player : session.bossBarMembers.values()) {
+                session.waveBossBar.addPlayer(player);
+            }
+        }
+
+        if (!title.equals(session.waveBossBarTitle)) {
+            session.waveBossBar.setName(Text.literal(title));
+            session.waveBossBarTitle = title;
         }
-        playerBossBars.clear();
 
-        // Also clear core HP boss bar
-        if (coreHPBossBar != null) {
-            coreHPBossBar.clearPlayers();
-            coreHPBossBar = null;
+        float progress = Math.max(0, 1.0f - (currentTicks / (float)maxTicks));
+        int notch = Math.round(progress * WAVE_BOSS_BAR_NOTCHES);
+        if (notch != session.waveBossBarNotch) {
+            session.waveBossBar.setPercent(notch / (float) WAVE_BOSS_BAR_NOTCHES);
+            session.waveBossBarNotch = notch;
         }
     }
 
-    private void updateCoreHPBossBar(MinecraftServer server, List<ServerPlayerEntity> players) {
-        VillageManager villageManager = ChaosMod.getVillageManager();
+    private void clearBossBars(WaveSession session) {
+        if (session.waveBossBar != null) {
+            session.waveBossBar.clearPlayers();
+            session.waveBossBar = null;
+            session.waveBossBarTitle = null;
+        }
 
-        // Remove boss bar if no village core
-        if (!villageManager.hasVillageCore()) {
-            if (coreHPBossBar != null) {
-                coreHPBossBar.clearPlayers();
-                coreHPBossBar = null;
-            }
-            return;
+        // Also clear core HP boss bar
+        if (session.coreHPBossBar != null) {
+            session.coreHPBossBar.clearPlayers();
+            session.coreHPBossBar = null;
         }
+    }
 
+    /**
+     * Updates the core HP boss bar - only touches it when HP or game-over state changed
+     */
+    private void updateCoreHPBossBar(WaveSession session, Arena arena, MinecraftServer server, List<ServerPlayerEntity> players) {
         // Create or get existing boss bar
-        if (coreHPBossBar == null) {
-            Identifier id = new Identifier("chaosstream", "core_hp");
+        if (session.coreHPBossBar == null) {
+            Identifier id = getCoreBossBarId(arena);
             // Try to get existing bar first (prevents duplicates on reload)
-            coreHPBossBar = server.getBossBarManager().get(id);
-            if (coreHPBossBar == null) {
-                coreHPBossBar = server.getBossBarManager().add(id, Text.literal("Village Core"));
+            session.coreHPBossBar = server.getBossBarManager().get(id);
+            if (session.coreHPBossBar == null) {
+                session.coreHPBossBar = server.getBossBarManager().add(id, Text.literal("Village Core"));
+            }
+            session.coreBossBarHP = -1;
+
+            // Later arrivals are added by syncBossBarMembers
+            for (ServerPlayerEntity player : players) {
+                session.coreHPBossBar.addPlayer(player);
             }
         }
 
+        int currentHP = arena.getCoreHP();
+        boolean gameOver = arena.isGameOver();
+        if (currentHP == session.coreBossBarHP && gameOver == session.coreBossBarGameOver) {
+            return;
+        }
+        session.coreBossBarHP = currentHP;
+        session.coreBossBarGameOver = gameOver;
+
         // Update boss bar
-        int currentHP = villageManager.getCoreHP();
-        int maxHP = villageManager.getMaxCoreHP();
+        int maxHP = arena.getMaxCoreHP();
         float percent = (float) currentHP / (float) maxHP;
 
         // Color based on HP percentage
@@ -451,28 +629,47 @@ public class WaveManager {
             color = BossBar.Color.RED;
         }
 
-        String statusIcon = villageManager.isGameOver() ? "§c✖" : "§a❤";
-        coreHPBossBar.setName(Text.literal(statusIcon + " §eVillage Core: §f" + currentHP + "/" + maxHP));
-        coreHPBossBar.setPercent(percent);
-        coreHPBossBar.setColor(color);
+        String statusIcon = gameOver ? "§c✖" : "§a❤";
+        String label = Arena.DEFAULT_NAME.equals(arena.getName()) ? "Village Core" : "Village Core (" + arena.getName() + ")";
+        session.coreHPBossBar.setName(Text.literal(statusIcon + " §e" + label + ": §f" + currentHP + "/" + maxHP));
+        session.coreHPBossBar.setPercent(percent);
+        session.coreHPBossBar.setColor(color);
+    }
 
-        // Add all players to boss bar
-        for (ServerPlayerEntity player : players) {
-            coreHPBossBar.addPlayer(player);
+    /**
+     * The default arena keeps the original id so existing bars are reused
+     */
+    private Identifier getCoreBossBarId(Arena arena) {
+        if (Arena.DEFAULT_NAME.equals(arena.getName())) {
+            return new Identifier("chaosstream", "core_hp");
+        }
+        return new Identifier("chaosstream", "core_hp_" + arena.getName());
+    }
+
+    /**
+     * Removes a disconnected player from all boss bars
+     */
+    public void onPlayerLeave(ServerPlayerEntity player) {
+        for (WaveSession session : sessions.values()) {
+            if (session.bossBarMembers.remove(player.getUuid()) != null) {
+                removeFromBossBars(session, player);
+            }
         }
     }
 
-    private void resetWaves(MinecraftServer server) {
-        currentPhase = WavePhase.INACTIVE;
-        spawnLocations.clear();
-        clearBossBars();
-        ChaosMod.LOGGER.info("Wave system reset (day time)");
+    private void resetWaves(WaveSession session) {
+        session.currentPhase = WavePhase.INACTIVE;
+        session.spawnLocations.clear();
+        session.spawnScheduler.clear();
+        int despawned = session.mobRegistry.despawnAll();
+        clearBossBars(session);
+        ChaosMod.LOGGER.info("Wave system reset (day time) - {} leftover wave mobs removed", despawned);
     }
 
     private BlockPos findRandomSpawnLocation(ServerWorld world, BlockPos centerPos) {
         for (int attempt = 0; attempt < 20; attempt++) {
-            double angle = RANDOM.nextDouble() * Math.PI * 2;
-            double distance = MIN_SPAWN_DISTANCE + RANDOM.nextDouble() * (MAX_SPAWN_DISTANCE - MIN_SPAWN_DISTANCE);
+            double angle = ChaosRandom.nextDouble() * Math.PI * 2;
+            double distance = MIN_SPAWN_DISTANCE + ChaosRandom.nextDouble() * (MAX_SPAWN_DISTANCE - MIN_SPAWN_DISTANCE);
 
             int x = centerPos.getX() + (int)(Math.cos(angle) * distance);
             int z = centerPos.getZ() + (int)(Math.sin(angle) * distance);
@@ -541,79 +738,137 @@ public class WaveManager {
         }
     }
 
-    public void forceStartWave(ServerWorld world, ServerPlayerEntity player, int chaosLevel) {
-        spawnLocations.clear();
+    /**
+     * Check if a wave night is in progress in an arena (warning, waves or cooldowns)
+     */
+    public boolean isWaveNightActive(Arena arena) {
+        WaveSession session = sessions.get(arena.getName());
+        return session != null && session.arena == arena && session.isWaveNightActive();
+    }
 
-        // Check if village core is set
+    /**
+     * Counter that changes whenever a wave night starts in any arena (see DefenderGoals.Dormancy)
+     */
+    public int getWaveNightEpoch() {
+        return waveNightEpoch;
+    }
+
+    public void forceStartWave(ServerWorld world, ServerPlayerEntity player, int chaosLevel) {
+        // Wave runs in the arena the player stands in, otherwise in the default arena
         VillageManager villageManager = ChaosMod.getVillageManager();
-        if (!villageManager.hasVillageCore()) {
+        Arena arena = villageManager.getArenaAtOrDefault(player.getWorld().getRegistryKey(), player.getBlockPos());
+        if (arena == null) {
             player.sendMessage(Text.literal("§c§l[TD] No village core set! Use '/chaos setvillage' first."), false);
             return;
         }
 
-        BlockPos villageCorePos = villageManager.getVillageCorePos();
+        // The wave always runs in the core's world, wherever the command was issued
+        world = world.getServer().getWorld(arena.getWorldKey());
+        if (world == null) {
+            player.sendMessage(Text.literal("§c§l[TD] The village core's world is not loaded!"), false);
+            return;
+        }
+
+        WaveSession session = getSession(arena);
+        session.spawnLocations.clear();
+        BlockPos villageCorePos = arena.getCorePos();
 
         // Create spawn locations around village core
         for (int i = 0; i < SPAWN_LOCATIONS_COUNT; i++) {
             BlockPos spawnPos = findRandomSpawnLocation(world, villageCorePos);
             SpawnLocation location = new SpawnLocation(spawnPos, player.getUuid());
-            spawnLocations.add(location);
+            session.spawnLocations.add(location);
             createSpawnMarker(world, spawnPos, true);
         }
 
         // Start wave 1 immediately
-        currentPhase = WavePhase.WAVE_1;
-        phaseStartTick = world.getTime();
-        startWave(world, List.of(player), 1, chaosLevel);
+        session.currentPhase = WavePhase.WAVE_1;
+        waveNightEpoch++;
+        session.phaseStartTick = world.getTime();
+        startWave(session, world, List.of(player), 1, chaosLevel);
+    }
+
+    /**
+     * Called by AttackVillageCoreGoal while a mob is within reach of its core
+     */
+    public void onMobReachedCore(MobEntity mob, BlockPos corePos) {
+        Arena arena = ChaosMod.getVillageManager().getArenaAt(mob.getWorld().getRegistryKey(), corePos);
+        if (arena == null || !arena.getCorePos().equals(corePos) || arena.isGameOver()) return;
+
+        // Only sessions that are ticked process contacts - don't create one for an arena nobody plays in
+        WaveSession session = sessions.get(arena.getName());
+        if (session == null || session.arena != arena || (!arena.isActive() && !session.isWaveNightActive())) return;
+
+        session.coreContacts.add(mob);
     }
 
-    private void checkCoreAttacks(ServerWorld world, List<ServerPlayerEntity> players) {
+    private void processCoreContacts(WaveSession session, Arena arena, ServerWorld world, List<ServerPlayerEntity> players) {
         VillageManager villageManager = ChaosMod.getVillageManager();
+        BlockPos corePos = arena.getCorePos();
 
-        // Only check if core exists and game is not over
-        if (!villageManager.hasVillageCore() || villageManager.isGameOver()) {
-            return;
+        // Only mobs still alive at the end of the tick hit the core
+        List<MobEntity> arrivedMobs = new ArrayList<>(session.coreContacts.size());
+        for (MobEntity mob : session.coreContacts) {
+            if (mob.isAlive() && !mob.isRemoved()) {
+                arrivedMobs.add(mob);
+            }
         }
+        session.coreContacts.clear();
 
-        BlockPos corePos = villageManager.getVillageCorePos();
-        double attackRange = 3.0;
+        if (arena.isGameOver() || arrivedMobs.isEmpty()) return;
 
-        // Find all hostile mobs near the core (any alive mob in range)
-        List<MobEntity> nearbyMobs = world.getEntitiesByClass(
-            MobEntity.class,
-            new net.minecraft.util.math.Box(corePos).expand(attackRange),
-            mob -> mob.isAlive() && mob.getType().getSpawnGroup().isPeaceful() == false
-        );
+        // Total the damage of all mobs reaching the core this check
+        int totalDamage = 0;
+        int hits = 0;
+        Map<EntityType<?>, Integer> attackers = new LinkedHashMap<>();
+        for (MobEntity mob : arrivedMobs) {
+            // Compound elites hit as hard as the group they stand for
+            int members = CompoundElite.getMembers(mob);
+            totalDamage += getMobCoreDamage(mob.getType()) * members;
+            hits += members;
+            attackers.merge(mob.getType(), members, Integer::sum);
 
-        // Process each mob attacking the core
-        for (MobEntity mob : nearbyMobs) {
-            // Calculate damage based on mob type
-            int damage = getMobCoreDamage(mob.getType());
+            // Remove mob after attack
+            mob.discard();
 
-            // Apply damage to core
-            villageManager.damageCore(damage);
+            // Mobs beyond the killing blow keep standing, as before
+            if (totalDamage >= arena.getCoreHP()) break;
+        }
 
-            // Visual and sound effects
-            createCoreHitEffect(world, corePos);
+        // Apply (and persist) once per check
+        villageManager.damageCore(arena, totalDamage);
 
-            // Broadcast damage message
-            for (ServerPlayerEntity player : players) {
-                player.sendMessage(
-                    Text.literal("§c§l[!] Core attacked by " + mob.getType().getName().getString() +
-                                 "! HP: §e" + villageManager.getCoreHP() + "/" + villageManager.getMaxCoreHP()),
-                    false
-                );
-            }
+        // One effect burst and one summarized message per check
+        createCoreHitEffect(world, corePos);
+        Text message = Text.literal("§c§l[!] Core attacked by " + describeAttackers(attackers, hits) +
+                                    "! §c-" + totalDamage + " HP: §e" + arena.getCoreHP() + "/" + arena.getMaxCoreHP());
+        for (ServerPlayerEntity player : players) {
+            player.sendMessage(message, false);
+        }
 
-            // Remove mob after attack
-            mob.discard();
+        // Check for game over
+        if (arena.isGameOver()) {
+            handleGameOver(session, arena, world, players);
+        }
+    }
 
-            // Check for game over
-            if (villageManager.isGameOver()) {
-                handleGameOver(world, players);
-                return;
-            }
+    /**
+     * "Zombie" for a single hit, "5 mobs (Zombie x3, Creeper x2)" otherwise
+     */
+    private String describeAttackers(Map<EntityType<?>, Integer> attackers, int hits) {
+        if (hits == 1) {
+            return attackers.keySet().iterator().next().getName().getString();
+        }
+
+        StringBuilder description = new StringBuilder().append(hits).append(" mobs (");
+        boolean first = true;
+        for (Map.Entry<EntityType<?>, Integer> entry : attackers.entrySet()) {
+            if (!first) description.append(", ");
+            description.append(entry.getKey().getName().getString());
+            if (entry.getValue() > 1) description.append(" x").append(entry.getValue());
+            first = false;
         }
+        return description.append(")").toString();
     }
 
     private int getMobCoreDamage(EntityType<?> mobType) {
@@ -654,11 +909,14 @@ public class WaveManager {
         SoundEffects.playCoreHitSound(world, corePos);
     }
 
-    private void handleGameOver(ServerWorld world, List<ServerPlayerEntity> players) {
+    private void handleGameOver(WaveSession session, Arena arena, ServerWorld world, List<ServerPlayerEntity> players) {
         // Clear all wave state
-        currentPhase = WavePhase.INACTIVE;
-        spawnLocations.clear();
-        clearBossBars();
+        session.coreContacts.clear();
+        session.currentPhase = WavePhase.INACTIVE;
+        session.spawnLocations.clear();
+        session.spawnScheduler.clear();
+        session.mobRegistry.despawnAll();
+        clearBossBars(session);
 
         // Broadcast game over message
         for (ServerPlayerEntity player : players) {
@@ -672,8 +930,7 @@ public class WaveManager {
         }
 
         // Massive explosion effect at core
-        VillageManager villageManager = ChaosMod.getVillageManager();
-        BlockPos corePos = villageManager.getVillageCorePos();
+        BlockPos corePos = arena.getCorePos();
 
         world.spawnParticles(
             ParticleTypes.EXPLOSION_EMITTER,
@@ -686,28 +943,58 @@ public class WaveManager {
         // Game over sound
         SoundEffects.playGameOverSound(world, corePos);
 
-        ChaosMod.LOGGER.info("GAME OVER - Village core destroyed at {}", corePos);
+        ChaosMod.LOGGER.info("GAME OVER - Village core of arena '{}' destroyed at {}", arena.getName(), corePos);
+    }
+
+    /**
+     * Wave number an arena is in or cooling down from (1-5), 0 outside of waves (inactive, warning, finished)
+     */
+    public int getCurrentWave(Arena arena) {
+        WaveSession session = sessions.get(arena.getName());
+        if (session == null || session.arena != arena) return 0;
+
+        switch (session.currentPhase) {
+            case WAVE_1: case COOLDOWN_1: return 1;
+            case WAVE_2: case COOLDOWN_2: return 2;
+            case WAVE_3: case COOLDOWN_3: return 3;
+            case WAVE_4: case COOLDOWN_4: return 4;
+            case WAVE_5: return 5;
+            default: return 0;
+        }
+    }
+
+    /**
+     * Number of wave mobs of an arena that are still alive (spawned but not yet killed)
+     */
+    public int getRemainingEnemies(Arena arena) {
+        WaveSession session = sessions.get(arena.getName());
+        return session != null && session.arena == arena ? session.mobRegistry.getAliveCount() : 0;
     }
 
     /**
      * Gibt aktive Spawn-Locations für Map-Rendering zurück.
      * Wird von NetworkHandler verwendet für DefenderSyncPacket.
      */
-    public List<BlockPos> getActiveSpawnLocations() {
+    public List<BlockPos> getActiveSpawnLocations(Arena arena) {
         List<BlockPos> positions = new ArrayList<>();
-        for (SpawnLocation loc : spawnLocations) {
+        WaveSession session = sessions.get(arena.getName());
+        if (session == null || session.arena != arena) return positions;
+
+        for (SpawnLocation loc : session.spawnLocations) {
             positions.add(loc.pos);
         }
         return positions;
     }
 
-    private static class SpawnLocation {
+    static class SpawnLocation {
         final BlockPos pos;
         final UUID playerUuid;
+        final SpawnPointPool pool;
 
         SpawnLocation(BlockPos pos, UUID playerUuid) {
             this.pos = pos;
             this.playerUuid = playerUuid;
+            this.pool = new SpawnPointPool(pos);
         }
     }
 }
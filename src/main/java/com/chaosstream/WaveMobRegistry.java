@@ -0,0 +1,176 @@
+package com.chaosstream;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.mob.MobEntity;
+import net.minecraft.server.world.ServerWorld;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Live wave mobs of one arena, grouped by wave number.
+ * Mobs are registered when the WaveSpawnScheduler spawns them and dropped when they die or are
+ * discarded (see onEntityRemoved), so alive counts are O(1) and cleanup never needs a world scan.
+ * A mob that is only unloaded with its chunk stays counted - it is still alive. Goals are not saved,
+ * so when the chunk loads again the mob gets its core goal back and rejoins the fight (see onEntityLoaded).
+ * Every wave mob carries WAVE_MOB_TAG (saved with the entity): a tagged mob that loads without a
+ * registry tracking it (wave night ended or server restarted while it was unloaded) is discarded.
+ */
+public class WaveMobRegistry {
+    // Entity UUID -> owning registry, for death/unload events that only know the entity
+    private static final Map<UUID, WaveMobRegistry> OWNERS = new HashMap<>();
+    private static final String WAVE_MOB_TAG = "chaosstream_wave_mob";
+    // Untracked wave mobs that loaded this tick - discarded at the end of the tick, not during the load event
+    private static final List<MobEntity> ORPHANS = new ArrayList<>();
+
+    private final Int2ObjectOpenHashMap<Map<UUID, MobEntity>> mobsByWave = new Int2ObjectOpenHashMap<>();
+    private final Map<UUID, Integer> waveOf = new HashMap<>();
+
+    /**
+     * Track a freshly spawned wave mob
+     */
+    public void register(MobEntity mob, int waveNumber) {
+        WaveMobRegistry previous = OWNERS.put(mob.getUuid(), this);
+        if (previous != null && previous != this) {
+            previous.untrack(mob.getUuid());
+        }
+
+        mobsByWave.computeIfAbsent(waveNumber, wave -> new LinkedHashMap<>()).put(mob.getUuid(), mob);
+        waveOf.put(mob.getUuid(), waveNumber);
+        mob.addCommandTag(WAVE_MOB_TAG);
+    }
+
+    /**
+     * Track a mob under the same registry and wave as an already tracked one (e.g. split from an elite)
+     */
+    public static void registerSibling(MobEntity original, MobEntity sibling) {
+        WaveMobRegistry registry = OWNERS.get(original.getUuid());
+        if (registry == null) return;
+
+        Integer waveNumber = registry.waveOf.get(original.getUuid());
+        if (waveNumber != null) {
+            registry.register(sibling, waveNumber);
+        }
+    }
+
+    /**
+     * Called on entity death - removes the entity from whichever registry tracks it
+     */
+    public static void onEntityRemoved(Entity entity) {
+        WaveMobRegistry registry = OWNERS.remove(entity.getUuid());
+        if (registry != null) {
+            registry.untrack(entity.getUuid());
+        }
+    }
+
+    /**
+     * Called on entity unload - only mobs that are gone for good (killed, discarded) stop counting.
+     * Mobs unloaded with their chunk or moved to another dimension are still alive.
+     */
+    public static void onEntityUnloaded(Entity entity) {
+        Entity.RemovalReason reason = entity.getRemovalReason();
+        if (reason == null || reason.shouldDestroy()) {
+            onEntityRemoved(entity);
+        }
+    }
+
+    /**
+     * Called on entity load - a tracked mob that comes back gets its new entity instance and its core goal,
+     * a wave mob nobody tracks any more is discarded at the end of the tick
+     */
+    public static void onEntityLoaded(Entity entity) {
+        if (!(entity instanceof MobEntity mob) || !mob.getCommandTags().contains(WAVE_MOB_TAG)) return;
+
+        WaveMobRegistry registry = OWNERS.get(mob.getUuid());
+        Integer waveNumber = registry != null ? registry.waveOf.get(mob.getUuid()) : null;
+        Map<UUID, MobEntity> mobs = waveNumber != null ? registry.mobsByWave.get(waveNumber.intValue()) : null;
+        if (mobs == null || !(mob.getWorld() instanceof ServerWorld world)) {
+            ORPHANS.add(mob);
+            return;
+        }
+
+        mobs.put(mob.getUuid(), mob);
+        SpawnUtils.addCoreGoal(world, mob, mob.getBlockPos());
+    }
+
+    /**
+     * Discards the untracked wave mobs loaded this tick (see onEntityLoaded)
+     */
+    public static void discardOrphans() {
+        if (ORPHANS.isEmpty()) return;
+
+        List<MobEntity> orphans = new ArrayList<>(ORPHANS);
+        ORPHANS.clear();
+        for (MobEntity mob : orphans) {
+            if (!mob.isRemoved() && !OWNERS.containsKey(mob.getUuid())) {
+                mob.discard();
+            }
+        }
+        ChaosMod.LOGGER.debug("Discarded {} leftover wave mobs", orphans.size());
+    }
+
+    /**
+     * Live wave mobs across all arenas
+     */
+    public static int getTotalAliveCount() {
+        return OWNERS.size();
+    }
+
+    public int getAliveCount(int waveNumber) {
+        Map<UUID, MobEntity> mobs = mobsByWave.get(waveNumber);
+        return mobs != null ? mobs.size() : 0;
+    }
+
+    public int getAliveCount() {
+        return waveOf.size();
+    }
+
+    public boolean isEmpty() {
+        return waveOf.isEmpty();
+    }
+
+    /**
+     * Removes all tracked mobs from the world. Mobs in unloaded chunks are untracked here and
+     * discarded once their chunk loads (they still carry WAVE_MOB_TAG).
+     * @return number of mobs despawned
+     */
+    public int despawnAll() {
+        // Detach first - discard() fires the unload event, which would modify the maps mid-iteration
+        List<MobEntity> mobs = new ArrayList<>(waveOf.size());
+        for (Map<UUID, MobEntity> waveMobs : mobsByWave.values()) {
+            mobs.addAll(waveMobs.values());
+        }
+        for (MobEntity mob : mobs) {
+            OWNERS.remove(mob.getUuid(), this);
+        }
+        mobsByWave.clear();
+        waveOf.clear();
+
+        int despawned = 0;
+        for (MobEntity mob : mobs) {
+            if (!mob.isRemoved()) {
+                mob.discard();
+                despawned++;
+            }
+        }
+        return despawned;
+    }
+
+    private void untrack(UUID uuid) {
+        Integer waveNumber = waveOf.remove(uuid);
+        if (waveNumber == null) return;
+
+        Map<UUID, MobEntity> mobs = mobsByWave.get(waveNumber.intValue());
+        if (mobs != null) {
+            mobs.remove(uuid);
+            if (mobs.isEmpty()) {
+                mobsByWave.remove(waveNumber.intValue());
+            }
+        }
+    }
+}
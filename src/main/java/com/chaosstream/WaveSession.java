@@ -0,0 +1,68 @@
+package com.chaosstream;
+
+import net.minecraft.entity.boss.CommandBossBar;
+import net.minecraft.entity.mob.MobEntity;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.world.World;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Wave state of a single arena: phase machine, spawn locations, spawn scheduler and boss bars.
+ * WaveManager keeps one session per arena and only ticks sessions of active arenas (plus those
+ * with a wave in progress), so arenas can never touch or corrupt each other's wave state.
+ */
+public class WaveSession {
+    final Arena arena; // A moved or removed arena gets a fresh session
+    final String arenaName;
+    final RegistryKey<World> worldKey;
+
+    WaveManager.WavePhase currentPhase = WaveManager.WavePhase.INACTIVE;
+    long phaseStartTick = 0;
+    final List<WaveManager.SpawnLocation> spawnLocations = new ArrayList<>();
+    final WaveMobRegistry mobRegistry = new WaveMobRegistry();
+    final WaveSpawnScheduler spawnScheduler = new WaveSpawnScheduler(mobRegistry);
+    // Mobs that reached the core since the last tick (reported by AttackVillageCoreGoal)
+    final Set<MobEntity> coreContacts = new LinkedHashSet<>();
+    long lastTicked = -1;
+
+    // Shared by all players of the world for the whole wave night
+    CommandBossBar waveBossBar = null;
+    String waveBossBarTitle = null;
+    int waveBossBarNotch = -1;
+
+    CommandBossBar coreHPBossBar = null;
+    int coreBossBarHP = -1;
+    boolean coreBossBarGameOver = false;
+
+    // Players currently shown this session's boss bars
+    final Map<UUID, ServerPlayerEntity> bossBarMembers = new HashMap<>();
+
+    WaveSession(Arena arena) {
+        this.arena = arena;
+        this.arenaName = arena.getName();
+        this.worldKey = arena.getWorldKey();
+    }
+
+    public String getArenaName() {
+        return arenaName;
+    }
+
+    public RegistryKey<World> getWorldKey() {
+        return worldKey;
+    }
+
+    /**
+     * Check if a wave night is in progress (warning, waves or cooldowns)
+     */
+    public boolean isWaveNightActive() {
+        return currentPhase != WaveManager.WavePhase.INACTIVE && currentPhase != WaveManager.WavePhase.FINISHED;
+    }
+}
@@ -0,0 +1,184 @@
+package com.chaosstream;
+
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.mob.MobEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.Heightmap;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Meters wave mob creation across the spawn window of a WAVE_n phase.
+ * A wave is queued up front (count and mob types are rolled immediately, so composition is
+ * unchanged) and then spawned under a per-tick budget that spreads the queue evenly over
+ * SPAWN_WINDOW_TICKS instead of creating every mob in a single tick.
+ * Every spawned mob is registered in the session's WaveMobRegistry under its wave number.
+ * While the server is over its MSPT budget (AdaptiveDifficulty) spawning pauses and the deadline moves back.
+ * Above the aggregation threshold, identical mobs of early untiered waves are queued as CompoundElite groups.
+ */
+public class WaveSpawnScheduler {
+    // WAVE_n phases last 100 ticks - finish a bit earlier so the wave is complete before the cooldown
+    private static final int SPAWN_WINDOW_TICKS = 80;
+    private static final int MIN_SPAWNS_PER_TICK = 1;
+    private static final int MAX_AGGREGATED_WAVE = 2; // Only the low-tier waves are aggregated
+
+    private final ArrayDeque<PendingSpawn> queue = new ArrayDeque<>();
+    private final WaveMobRegistry mobRegistry;
+    private long deadlineTick = 0;
+
+    public WaveSpawnScheduler(WaveMobRegistry mobRegistry) {
+        this.mobRegistry = mobRegistry;
+    }
+
+    /**
+     * Queues a wave: countPerLocation mobs at every spawn location, interleaved so all
+     * locations fill up at the same rate. Positions used by the last wave go back into the pools.
+     */
+    public void schedule(ServerWorld world, List<SpawnPointPool> pools, EntityType<?>[] mobTypes, int countPerLocation,
+                         int waveNumber, int enhancementTier) {
+        for (SpawnPointPool pool : pools) {
+            pool.recycle();
+        }
+
+        AdaptiveDifficulty adaptive = AdaptiveDifficulty.getInstance();
+        if (adaptive.shouldAggregate() && waveNumber <= MAX_AGGREGATED_WAVE && enhancementTier <= 1) {
+            scheduleAggregated(pools, mobTypes, countPerLocation, waveNumber, adaptive.getAggregationGroupSize());
+        } else {
+            for (int i = 0; i < countPerLocation; i++) {
+                for (SpawnPointPool pool : pools) {
+                    EntityType<?> mobType = mobTypes[ChaosRandom.nextInt(mobTypes.length)];
+                    queue.add(new PendingSpawn(pool, mobType, waveNumber, enhancementTier, 1));
+                }
+            }
+        }
+        deadlineTick = world.getTime() + SPAWN_WINDOW_TICKS;
+
+        ChaosMod.LOGGER.debug("Scheduled {} wave mobs over {} ticks", queue.size(), SPAWN_WINDOW_TICKS);
+    }
+
+    /**
+     * Same rolls as the regular queue, but identical types per location are grouped into elites of up to groupSize
+     */
+    private void scheduleAggregated(List<SpawnPointPool> pools, EntityType<?>[] mobTypes, int countPerLocation,
+                                    int waveNumber, int groupSize) {
+        List<Map<EntityType<?>, Integer>> rolled = new ArrayList<>(pools.size());
+        for (int p = 0; p < pools.size(); p++) {
+            rolled.add(new LinkedHashMap<>());
+        }
+        for (int i = 0; i < countPerLocation; i++) {
+            for (int p = 0; p < pools.size(); p++) {
+                EntityType<?> mobType = mobTypes[ChaosRandom.nextInt(mobTypes.length)];
+                rolled.get(p).merge(mobType, 1, Integer::sum);
+            }
+        }
+
+        List<List<PendingSpawn>> groupsPerPool = new ArrayList<>(pools.size());
+        int maxGroups = 0;
+        for (int p = 0; p < pools.size(); p++) {
+            List<PendingSpawn> groups = new ArrayList<>();
+            for (Map.Entry<EntityType<?>, Integer> entry : rolled.get(p).entrySet()) {
+                for (int left = entry.getValue(); left > 0; left -= groupSize) {
+                    groups.add(new PendingSpawn(pools.get(p), entry.getKey(), waveNumber, 1, Math.min(groupSize, left)));
+                }
+            }
+            groupsPerPool.add(groups);
+            maxGroups = Math.max(maxGroups, groups.size());
+        }
+
+        // Interleave so all locations still fill up at the same rate
+        for (int i = 0; i < maxGroups; i++) {
+            for (List<PendingSpawn> groups : groupsPerPool) {
+                if (i < groups.size()) {
+                    queue.add(groups.get(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Spawns this tick's share of the queue
+     */
+    public void tick(ServerWorld world) {
+        if (queue.isEmpty()) return;
+
+        // Server over budget - hold the rest of the wave back a tick
+        if (AdaptiveDifficulty.getInstance().shouldDeferSpawns()) {
+            deadlineTick++;
+            return;
+        }
+
+        long ticksLeft = deadlineTick - world.getTime();
+        int budget;
+        if (ticksLeft <= 1) {
+            budget = queue.size(); // Deadline reached - flush the rest
+        } else {
+            budget = Math.max(MIN_SPAWNS_PER_TICK, (int) Math.ceil(queue.size() / (double) ticksLeft));
+        }
+
+        for (int i = 0; i < budget && !queue.isEmpty(); i++) {
+            PendingSpawn spawn = queue.poll();
+            MobEntity mob = spawnWaveMob(world, spawn);
+            if (mob != null) {
+                mobRegistry.register(mob, spawn.waveNumber);
+            }
+        }
+    }
+
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    public void clear() {
+        queue.clear();
+    }
+
+    private MobEntity spawnWaveMob(ServerWorld world, PendingSpawn pending) {
+        // Pre-validated position from the pool (filled during the WARNING phase)
+        BlockPos spawnPos = pending.pool.pop(world);
+        if (spawnPos != null) {
+            return spawn(world, pending, spawnPos);
+        }
+
+        // Pool empty (e.g. forced wave without WARNING phase) - probe directly
+        BlockPos center = pending.pool.getCenter();
+        double angle = ChaosRandom.nextDouble() * Math.PI * 2;
+        double distance = 3 + ChaosRandom.nextDouble() * 5;
+
+        int x = center.getX() + (int)(Math.cos(angle) * distance);
+        int z = center.getZ() + (int)(Math.sin(angle) * distance);
+        int y = world.getTopY(Heightmap.Type.MOTION_BLOCKING_NO_LEAVES, x, z);
+
+        return spawn(world, pending, new BlockPos(x, y, z));
+    }
+
+    private MobEntity spawn(ServerWorld world, PendingSpawn pending, BlockPos pos) {
+        if (pending.groupSize > 1) {
+            return SpawnUtils.spawnCompoundElite(world, pending.mobType, pos, pending.groupSize);
+        }
+        if (pending.enhancementTier > 1) {
+            return SpawnUtils.spawnEnhancedMob(world, pending.mobType, pos, pending.enhancementTier);
+        }
+        return SpawnUtils.spawnMob(world, pending.mobType, pos);
+    }
+
+    private static class PendingSpawn {
+        final SpawnPointPool pool;
+        final EntityType<?> mobType;
+        final int waveNumber;
+        final int enhancementTier;
+        final int groupSize; // > 1 spawns a CompoundElite
+
+        PendingSpawn(SpawnPointPool pool, EntityType<?> mobType, int waveNumber, int enhancementTier, int groupSize) {
+            this.pool = pool;
+            this.mobType = mobType;
+            this.waveNumber = waveNumber;
+            this.enhancementTier = enhancementTier;
+            this.groupSize = groupSize;
+        }
+    }
+}
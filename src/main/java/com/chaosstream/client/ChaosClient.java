@@ -24,6 +24,9 @@ public class ChaosClient implements ClientModInitializer {
         ClientNetworkHandler.initClient();
         LOGGER.info("Client-Side Networking bereit!");
 
+        // Chunk-Events für die inkrementelle Minimap
+        MapRenderer.registerChunkEvents();
+
         // Registriere Keybinds ('K' für Defender Management)
         ChaosKeybinds.register();
         LOGGER.info("Keybinds registriert!");
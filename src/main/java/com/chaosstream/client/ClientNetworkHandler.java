@@ -28,6 +28,8 @@ public class ClientNetworkHandler {
     // Client-Side Cache für Defender-Daten
     private static List<DefenderSyncPacket.DefenderData> cachedDefenders = new ArrayList<>();
     private static DefenderSyncPacket lastSyncPacket = null;
+    // Steigt nur, wenn sich die Defender-Liste tatsächlich geändert hat (GUI baut ihre Texte nur dann neu)
+    private static int syncVersion = 0;
 
     // Client-Side Cache für Defender-Inventare (UUID -> InventoryPacket)
     private static Map<UUID, DefenderInventoryPacket> cachedInventories = new HashMap<>();
@@ -69,7 +71,10 @@ public class ClientNetworkHandler {
      */
     private static void handleDefenderSync(DefenderSyncPacket packet) {
         lastSyncPacket = packet;
-        cachedDefenders = new ArrayList<>(packet.defenders());
+        if (!packet.defenders().equals(cachedDefenders)) {
+            cachedDefenders = new ArrayList<>(packet.defenders());
+            syncVersion++;
+        }
 
         LOGGER.debug("Defender-Sync empfangen: {} Defender, Core HP: {}/{}",
             cachedDefenders.size(),
@@ -89,6 +94,20 @@ public class ClientNetworkHandler {
         return new ArrayList<>(cachedDefenders);
     }
 
+    /**
+     * Anzahl der gecachten Defender (ohne Kopie der Liste)
+     */
+    public static int getDefenderCount() {
+        return cachedDefenders.size();
+    }
+
+    /**
+     * Version der Defender-Daten - ändert sich nur bei neuen Daten vom Server
+     */
+    public static int getSyncVersion() {
+        return syncVersion;
+    }
+
     /**
      * Gibt letztes Sync-Packet zurück
      * Enthält auch Core & Spawn-Locations
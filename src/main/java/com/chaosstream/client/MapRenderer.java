@@ -1,34 +1,68 @@
 package com.chaosstream.client;
 
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientChunkEvents;
 import net.minecraft.block.Block;
-import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.texture.NativeImage;
 import net.minecraft.client.texture.NativeImageBackedTexture;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.Heightmap;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.WorldChunk;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
- * Rendert eine minimalistische Top-Down-Minimap um das Village Core.
- * Optimiert für Performance durch Terrain-Caching.
+ * Gekachelte Top-Down-Karte für MapWidget (Pan + Zoom).
+ * Kacheln haben immer TILE_SIZE x TILE_SIZE Texel; auf Stufe 0 ist ein Texel ein Block, jede höhere Stufe
+ * fasst 2x2 Texel der Stufe darunter zusammen (Mipmap). Stufe 0 wird aus geladenen Chunks erfasst, höhere
+ * Stufen nur aus ihren vier Kind-Kacheln - beides auf einem Worker-Thread, hochgeladen wird je Kachel in einem Stück.
+ * Stufe 0 und die Mipmap-Stufen haben getrennte LRU-Caches: eine Mipmap-Kachel behält ihre Pixel und baut nur die
+ * veralteten Viertel aus den Kindern neu, sodass herausgeworfene Stufe-0-Kacheln nicht erneut erfasst werden müssen.
+ * Geänderte Chunks (Chunk-Events, Heightmap-Prüfsumme) machen ihre Kacheln ungültig.
+ * Entladene Chunks behalten ihren zuletzt gesehenen Stand.
  */
 public class MapRenderer {
 
-    private static final int MAP_SIZE = 200; // Pixel-Größe der Map
-    private static final int RENDER_RADIUS = 50; // Blöcke um Core
-    public static final int PIXELS_PER_BLOCK = 3; // Auflösung: 3 Pixel = 1 Block (public für MapWidget)
+    public static final int TILE_SIZE = 64; // Texel pro Kachel-Kante (Stufe 0: Blöcke)
+    public static final int MAX_LEVEL = 3;  // Stufe 3: 1 Texel = 8x8 Blöcke
+    private static final int CHUNKS_PER_TILE = TILE_SIZE / 16;
+    private static final int MAX_CACHED_TILES = 256; // ~32 KB pro Kachel (Pixel + Textur)
+    private static final int MAX_CACHED_MIP_TILES = 256; // Stufen 1-3, unabhängig von Stufe 0
+    private static final int MAX_CAPTURES_PER_FRAME = 1; // Stufe-0-Kacheln, die pro Frame aus der Welt gelesen werden
+    private static final int MAX_JOBS_PER_FRAME = 8;
+    private static final long CHECKSUM_POLL_INTERVAL = 1000; // ms
+    private static final int UNKNOWN_COLOR = 0xFF202020; // Nie gesehen (ABGR)
+
+    // Ein gemeinsamer Worker für das Rastern, damit der Render-Thread nie blockiert
+    private static final ExecutorService WORKER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ChaosMap-Raster");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Offene Karte für die Chunk-Events (es ist immer höchstens eine offen)
+    private static MapRenderer active;
 
     private final MinecraftClient client;
-    private NativeImage terrainCache;
-    private NativeImageBackedTexture terrainTexture;
-    private Identifier terrainTextureId;
-    private BlockPos cachedCorePos;
-    private long lastTerrainUpdate;
+
+    // LRU-Caches (access order) für Stufe 0 und die Mipmap-Stufen - nur auf dem Render-Thread benutzt
+    private final LinkedHashMap<Long, MapTile> tiles = new LinkedHashMap<>(64, 0.75f, true);
+    private final LinkedHashMap<Long, MapTile> mipTiles = new LinkedHashMap<>(64, 0.75f, true);
+    // Im letzten Frame angeforderte Kacheln, in Zeichenreihenfolge
+    private final List<MapTile> wanted = new ArrayList<>();
+    private final List<MapTile> running = new ArrayList<>();
+    private final Map<Long, Integer> chunkChecksums = new HashMap<>();
+    private long frame;
+    private long lastChecksumPoll;
+    private int refreshCursor;
 
     // Block-zu-Farbe-Mapping (RGB als int)
     private static final Map<Block, Integer> BLOCK_COLORS = new HashMap<>();
@@ -86,95 +120,365 @@ public class MapRenderer {
 
     public MapRenderer(MinecraftClient client) {
         this.client = client;
-        this.lastTerrainUpdate = 0;
+        active = this;
+    }
+
+    /**
+     * Registriert die Chunk-Events (einmal beim Client-Start).
+     * Neu geladene Chunks werden für die offene Karte neu erfasst.
+     */
+    public static void registerChunkEvents() {
+        ClientChunkEvents.CHUNK_LOAD.register((world, chunk) -> {
+            if (active != null) active.markChunkDirty(chunk.getPos().x, chunk.getPos().z);
+        });
+    }
+
+    /**
+     * Blöcke, die eine Kachel der Stufe abdeckt
+     */
+    public static int getTileBlocks(int level) {
+        return TILE_SIZE << level;
     }
 
     /**
-     * Initialisiert oder aktualisiert den Terrain-Cache.
-     * Wird nur aufgerufen wenn Core-Position sich ändert oder alle 5 Sekunden.
+     * Fordert eine Kachel zum Zeichnen an (touch für LRU) und plant ihre Erzeugung, falls nötig.
+     * @return Textur der Kachel, oder null solange sie noch nicht fertig ist
      */
-    public void updateTerrainCache(BlockPos corePos) {
+    public Identifier requestTile(int level, int tileX, int tileZ) {
+        MapTile tile = getOrCreateTile(level, tileX, tileZ);
+        tile.lastRequested = frame;
+        wanted.add(tile);
+        return tile.textureId;
+    }
+
+    /**
+     * Textur einer bereits erzeugten Kachel, ohne sie anzufordern (Fallback auf gröbere Stufen)
+     */
+    public Identifier peekTile(int level, int tileX, int tileZ) {
+        MapTile tile = cacheFor(level).get(tileKey(level, tileX, tileZ));
+        return tile != null ? tile.textureId : null;
+    }
+
+    /**
+     * Übernimmt fertige Worker-Ergebnisse und plant neue Kacheln - einmal pro Frame vor dem Zeichnen (MapWidget.render)
+     */
+    public void processTiles() {
         World world = client.world;
         if (world == null) return;
 
+        collectFinishedJobs();
+
         long currentTime = System.currentTimeMillis();
+        if (currentTime - lastChecksumPoll >= CHECKSUM_POLL_INTERVAL) {
+            lastChecksumPoll = currentTime;
+            pollChunkChecksums(world);
+        }
 
-        // Cache nur alle 5 Sekunden neu rendern (Performance!)
-        if (cachedCorePos != null && cachedCorePos.equals(corePos)
-            && currentTime - lastTerrainUpdate < 5000) {
-            return;
+        // Angeforderte Kacheln der Reihe nach erzeugen - fehlende Kinder werden hinten angehängt
+        int captures = 0;
+        int jobs = 0;
+        for (int i = 0; i < wanted.size() && jobs < MAX_JOBS_PER_FRAME; i++) {
+            MapTile tile = wanted.get(i);
+            if (tile.job != null) continue;
+
+            boolean needsTexture = tile.lastRequested == frame && tile.texture == null;
+            if (tile.pixels != null && !tile.isStale()) {
+                if (needsTexture) {
+                    int[] pixels = tile.pixels;
+                    tile.job = WORKER.submit(() -> new TileResult(pixels, toImage(pixels)));
+                    running.add(tile);
+                    jobs++;
+                }
+                continue;
+            }
+
+            // Sichtbare Kacheln und solche mit Textur bekommen ein Bild, reine Mipmap-Quellen nur Pixel
+            boolean withImage = tile.lastRequested == frame || tile.texture != null;
+            if (tile.level == 0) {
+                if (captures >= MAX_CAPTURES_PER_FRAME) continue;
+                TileSnapshot snapshot = captureTile(world, tile.tileX, tile.tileZ);
+                int[] previous = tile.pixels;
+                tile.job = WORKER.submit(() -> rasterize(snapshot, previous, withImage));
+                tile.stale = false;
+                captures++;
+            } else {
+                // Nur veraltete Viertel brauchen ihre Kind-Kachel - fertige werden sofort übernommen
+                int[][] children = new int[4][];
+                int merged = 0;
+                for (int child = 0; child < 4; child++) {
+                    if ((tile.staleQuadrants & (1 << child)) == 0) continue;
+
+                    MapTile childTile = getOrCreateTile(tile.level - 1, tile.tileX * 2 + (child & 1), tile.tileZ * 2 + (child >> 1));
+                    if (childTile.pixels != null && !childTile.isStale() && childTile.job == null) {
+                        children[child] = childTile.pixels;
+                        merged |= 1 << child;
+                    } else if (childTile.job == null && !wanted.contains(childTile)) {
+                        wanted.add(childTile);
+                    }
+                }
+                if (merged == 0) continue;
+                int[] previous = tile.pixels;
+                tile.job = WORKER.submit(() -> downsample(previous, children, withImage));
+                tile.staleQuadrants &= ~merged;
+            }
+            running.add(tile);
+            jobs++;
         }
 
-        // Erstelle neue NativeImage wenn nötig
-        if (terrainCache == null) {
-            terrainCache = new NativeImage(MAP_SIZE, MAP_SIZE, true);
-            terrainTexture = new NativeImageBackedTexture(terrainCache);
-            terrainTextureId = client.getTextureManager().registerDynamicTexture("chaos_minimap", terrainTexture);
+        wanted.clear();
+        frame++;
+    }
+
+    private void collectFinishedJobs() {
+        Iterator<MapTile> iterator = running.iterator();
+        while (iterator.hasNext()) {
+            MapTile tile = iterator.next();
+            if (!tile.job.isDone()) continue;
+            iterator.remove();
+
+            TileResult result;
+            try {
+                result = tile.job.get();
+            } catch (InterruptedException | ExecutionException e) {
+                ChaosClient.LOGGER.error("Kachel {} konnte nicht gerastert werden", tile, e);
+                tile.job = null;
+                if (tile.level > 0) {
+                    tile.staleQuadrants = 0b1111; // Übernommene Viertel sind verloren - komplett neu bauen
+                }
+                continue;
+            }
+            tile.job = null;
+            tile.pixels = result.pixels;
+
+            if (result.image == null) continue;
+            if (tile.texture == null) {
+                // Erstellen lädt das Bild direkt hoch
+                tile.texture = new NativeImageBackedTexture(result.image);
+                tile.textureId = client.getTextureManager().registerDynamicTexture("chaos_map_tile", tile.texture);
+            } else {
+                tile.texture.setImage(result.image);
+                tile.texture.upload();
+            }
         }
+    }
+
+    private MapTile getOrCreateTile(int level, int tileX, int tileZ) {
+        LinkedHashMap<Long, MapTile> cache = cacheFor(level);
+        long key = tileKey(level, tileX, tileZ);
+        MapTile tile = cache.get(key);
+        if (tile != null) return tile;
+
+        tile = new MapTile(level, tileX, tileZ);
+        cache.put(key, tile);
+        evictTiles(cache, level == 0 ? MAX_CACHED_TILES : MAX_CACHED_MIP_TILES);
+        return tile;
+    }
 
-        // Rendere Terrain in festem Radius um Core
-        int maxHeight = 0;
-        int minHeight = 999;
+    private LinkedHashMap<Long, MapTile> cacheFor(int level) {
+        return level == 0 ? tiles : mipTiles;
+    }
 
-        // Erste Pass: Finde Min/Max Höhe für Shading
-        for (int x = -RENDER_RADIUS; x <= RENDER_RADIUS; x++) {
-            for (int z = -RENDER_RADIUS; z <= RENDER_RADIUS; z++) {
-                BlockPos worldPos = corePos.add(x, 0, z);
-                BlockPos topBlockPos = world.getTopPosition(net.minecraft.world.Heightmap.Type.WORLD_SURFACE, worldPos);
-                int height = topBlockPos.getY();
-                maxHeight = Math.max(maxHeight, height);
-                minHeight = Math.min(minHeight, height);
+    /**
+     * Entfernt die am längsten nicht benutzten Kacheln - außer laufenden und gerade angeforderten
+     */
+    private void evictTiles(LinkedHashMap<Long, MapTile> cache, int maxTiles) {
+        Iterator<MapTile> iterator = cache.values().iterator();
+        while (cache.size() > maxTiles && iterator.hasNext()) {
+            MapTile tile = iterator.next();
+            if (tile.job != null || tile.lastRequested >= frame - 1) continue;
+
+            iterator.remove();
+            destroyTexture(tile);
+            if (tile.level == 0) {
+                forEachChunk(tile.tileX, tile.tileZ, (chunkX, chunkZ) -> chunkChecksums.remove(ChunkPos.toLong(chunkX, chunkZ)));
             }
         }
+    }
 
-        int heightRange = Math.max(1, maxHeight - minHeight);
+    private void destroyTexture(MapTile tile) {
+        if (tile.textureId != null) {
+            client.getTextureManager().destroyTexture(tile.textureId);
+            tile.textureId = null;
+            tile.texture = null;
+        }
+    }
 
-        // Zweite Pass: Rendere mit Höhen-Shading
-        for (int x = -RENDER_RADIUS; x <= RENDER_RADIUS; x++) {
-            for (int z = -RENDER_RADIUS; z <= RENDER_RADIUS; z++) {
-                BlockPos worldPos = corePos.add(x, 0, z);
+    /**
+     * Markiert die Stufe-0-Kachel eines Chunks und das betroffene Viertel aller gröberen Kacheln darüber als veraltet
+     */
+    private void markChunkDirty(int chunkX, int chunkZ) {
+        int tileX = Math.floorDiv(chunkX, CHUNKS_PER_TILE);
+        int tileZ = Math.floorDiv(chunkZ, CHUNKS_PER_TILE);
+        MapTile base = tiles.get(tileKey(0, tileX, tileZ));
+        if (base != null) {
+            base.stale = true;
+        }
+        for (int level = 1; level <= MAX_LEVEL; level++) {
+            MapTile tile = mipTiles.get(tileKey(level, tileX >> level, tileZ >> level));
+            if (tile != null) {
+                int childX = tileX >> (level - 1);
+                int childZ = tileZ >> (level - 1);
+                tile.staleQuadrants |= 1 << ((childX & 1) | ((childZ & 1) << 1));
+            }
+        }
+    }
 
-                // Finde obersten nicht-Luft-Block (Heightmap)
-                BlockPos topBlockPos = world.getTopPosition(net.minecraft.world.Heightmap.Type.WORLD_SURFACE, worldPos);
-                BlockState topBlock = world.getBlockState(topBlockPos);
+    /**
+     * Block-Änderungen: Heightmap-Prüfsumme der Chunks aller gecachten Stufe-0-Kacheln vergleichen.
+     * Blockwechsel ohne Höhenänderung (z.B. Gras -> Weg): eine Kachel pro Runde wird trotzdem neu erfasst.
+     */
+    private void pollChunkChecksums(World world) {
+        List<MapTile> baseTiles = new ArrayList<>();
+        for (MapTile tile : tiles.values()) {
+            if (tile.level == 0 && tile.pixels != null) {
+                baseTiles.add(tile);
+            }
+        }
 
-                // Hole Basis-Farbe für Block
-                int baseColor = getBlockColor(topBlock.getBlock());
+        for (MapTile tile : baseTiles) {
+            forEachChunk(tile.tileX, tile.tileZ, (chunkX, chunkZ) -> {
+                WorldChunk chunk = world.getChunkManager().getWorldChunk(chunkX, chunkZ, false);
+                if (chunk == null) return;
 
-                // Höhen-Shading: Höhere Blöcke heller, niedrigere dunkler
-                int height = topBlockPos.getY();
-                float heightFactor = (float)(height - minHeight) / heightRange;
-                heightFactor = 0.7f + (heightFactor * 0.3f); // 0.7 bis 1.0
+                long chunkKey = ChunkPos.toLong(chunkX, chunkZ);
+                int checksum = Arrays.hashCode(chunk.getHeightmap(Heightmap.Type.WORLD_SURFACE).asLongArray());
+                Integer previous = chunkChecksums.put(chunkKey, checksum);
+                if (previous != null && previous != checksum) {
+                    markChunkDirty(chunkX, chunkZ);
+                }
+            });
+        }
 
+        if (!baseTiles.isEmpty()) {
+            refreshCursor = (refreshCursor + 1) % baseTiles.size();
+            MapTile tile = baseTiles.get(refreshCursor);
+            markChunkDirty(tile.tileX * CHUNKS_PER_TILE, tile.tileZ * CHUNKS_PER_TILE);
+        }
+    }
+
+    /**
+     * Liest Höhe und Farbe aller Spalten einer Stufe-0-Kachel aus geladenen Chunks (Render-Thread).
+     * Eine zusätzliche Zeile im Norden liefert die Vergleichshöhe für das Shading der obersten Zeile.
+     */
+    private TileSnapshot captureTile(World world, int tileX, int tileZ) {
+        int[] heights = new int[TILE_SIZE * (TILE_SIZE + 1)];
+        int[] colors = new int[TILE_SIZE * TILE_SIZE];
+        boolean[] loaded = new boolean[CHUNKS_PER_TILE * CHUNKS_PER_TILE];
+        int originX = tileX * TILE_SIZE;
+        int originZ = tileZ * TILE_SIZE;
+        BlockPos.Mutable pos = new BlockPos.Mutable();
+
+        for (int chunkIndex = 0; chunkIndex < loaded.length; chunkIndex++) {
+            int chunkX = (originX >> 4) + chunkIndex % CHUNKS_PER_TILE;
+            int chunkZ = (originZ >> 4) + chunkIndex / CHUNKS_PER_TILE;
+            WorldChunk chunk = world.getChunkManager().getWorldChunk(chunkX, chunkZ, false);
+            if (chunk == null) continue;
+            loaded[chunkIndex] = true;
+
+            for (int localX = 0; localX < 16; localX++) {
+                for (int localZ = 0; localZ < 16; localZ++) {
+                    int texelX = ((chunkX << 4) - originX) + localX;
+                    int texelZ = ((chunkZ << 4) - originZ) + localZ;
+                    // Oberster nicht-Luft-Block (Heightmap)
+                    int height = chunk.sampleHeightmap(Heightmap.Type.WORLD_SURFACE, localX, localZ);
+                    pos.set((chunkX << 4) + localX, height, (chunkZ << 4) + localZ);
+                    heights[(texelZ + 1) * TILE_SIZE + texelX] = height;
+                    colors[texelZ * TILE_SIZE + texelX] = getBlockColor(chunk.getBlockState(pos).getBlock());
+                }
+            }
+        }
+
+        // Nördliche Nachbarzeile (fehlt sie, wird die erste Zeile flach schattiert)
+        for (int chunkOffset = 0; chunkOffset < CHUNKS_PER_TILE; chunkOffset++) {
+            int chunkX = (originX >> 4) + chunkOffset;
+            WorldChunk chunk = world.getChunkManager().getWorldChunk(chunkX, (originZ >> 4) - 1, false);
+            for (int localX = 0; localX < 16; localX++) {
+                int texelX = chunkOffset * 16 + localX;
+                heights[texelX] = chunk != null
+                    ? chunk.sampleHeightmap(Heightmap.Type.WORLD_SURFACE, localX, 15)
+                    : heights[TILE_SIZE + texelX];
+            }
+        }
+        return new TileSnapshot(heights, colors, loaded);
+    }
+
+    /**
+     * Worker-Thread: rastert eine Stufe-0-Kachel. Nicht geladene Chunks behalten ihre bisherigen Pixel.
+     */
+    private static TileResult rasterize(TileSnapshot snapshot, int[] previous, boolean withImage) {
+        int[] pixels = previous != null ? previous.clone() : new int[TILE_SIZE * TILE_SIZE];
+        if (previous == null) {
+            Arrays.fill(pixels, UNKNOWN_COLOR);
+        }
+
+        for (int texelZ = 0; texelZ < TILE_SIZE; texelZ++) {
+            for (int texelX = 0; texelX < TILE_SIZE; texelX++) {
+                int chunkIndex = (texelZ >> 4) * CHUNKS_PER_TILE + (texelX >> 4);
+                if (!snapshot.loaded[chunkIndex]) continue;
+
+                // Höhen-Shading wie Vanilla-Karten: höher als der Nachbar im Norden heller, tiefer dunkler
+                int height = snapshot.heights[(texelZ + 1) * TILE_SIZE + texelX];
+                int northHeight = snapshot.heights[texelZ * TILE_SIZE + texelX];
+                float heightFactor = height > northHeight ? 1.0f : height < northHeight ? 0.7f : 0.85f;
+
+                int baseColor = snapshot.colors[texelZ * TILE_SIZE + texelX];
                 int r = (int)(((baseColor >> 16) & 0xFF) * heightFactor);
                 int g = (int)(((baseColor >> 8) & 0xFF) * heightFactor);
                 int b = (int)((baseColor & 0xFF) * heightFactor);
-                int color = (r << 16) | (g << 8) | b;
-
-                // Konvertiere World-Koordinaten zu Map-Pixel
-                int pixelX = (x + RENDER_RADIUS) * PIXELS_PER_BLOCK;
-                int pixelZ = (z + RENDER_RADIUS) * PIXELS_PER_BLOCK;
-
-                // Zeichne Block als 3x3 Pixel-Bereich
-                for (int px = 0; px < PIXELS_PER_BLOCK; px++) {
-                    for (int pz = 0; pz < PIXELS_PER_BLOCK; pz++) {
-                        int finalX = pixelX + px;
-                        int finalZ = pixelZ + pz;
-
-                        if (finalX >= 0 && finalX < MAP_SIZE && finalZ >= 0 && finalZ < MAP_SIZE) {
-                            // Setze Pixel (ABGR-Format für NativeImage)
-                            terrainCache.setColor(finalX, finalZ, color | 0xFF000000);
-                        }
-                    }
+                pixels[texelZ * TILE_SIZE + texelX] = 0xFF000000 | (b << 16) | (g << 8) | r; // ABGR-Format für NativeImage
+            }
+        }
+        return new TileResult(pixels, withImage ? toImage(pixels) : null);
+    }
+
+    /**
+     * Worker-Thread: fasst Kind-Kacheln (2x2 Texel gemittelt) in ihre Viertel der Kachel der nächsten Stufe zusammen
+     * @param previous bisherige Pixel der Kachel (null: noch nie erzeugt) - Viertel ohne Kind bleiben unverändert
+     * @param children Reihenfolge: Nordwest, Nordost, Südwest, Südost; null = Viertel behalten
+     */
+    private static TileResult downsample(int[] previous, int[][] children, boolean withImage) {
+        int[] pixels = previous != null ? previous.clone() : new int[TILE_SIZE * TILE_SIZE];
+        if (previous == null) {
+            Arrays.fill(pixels, UNKNOWN_COLOR);
+        }
+        int half = TILE_SIZE / 2;
+
+        for (int child = 0; child < 4; child++) {
+            int[] source = children[child];
+            if (source == null) continue;
+            int offsetX = (child & 1) * half;
+            int offsetZ = (child >> 1) * half;
+
+            for (int z = 0; z < half; z++) {
+                for (int x = 0; x < half; x++) {
+                    int sourceIndex = (z * 2) * TILE_SIZE + x * 2;
+                    pixels[(offsetZ + z) * TILE_SIZE + offsetX + x] = average(
+                        source[sourceIndex], source[sourceIndex + 1],
+                        source[sourceIndex + TILE_SIZE], source[sourceIndex + TILE_SIZE + 1]);
                 }
             }
         }
+        return new TileResult(pixels, withImage ? toImage(pixels) : null);
+    }
 
-        // Upload Texture zu GPU
-        terrainTexture.upload();
+    private static int average(int a, int b, int c, int d) {
+        int red = ((a & 0xFF) + (b & 0xFF) + (c & 0xFF) + (d & 0xFF)) >> 2;
+        int green = (((a >> 8) & 0xFF) + ((b >> 8) & 0xFF) + ((c >> 8) & 0xFF) + ((d >> 8) & 0xFF)) >> 2;
+        int blue = (((a >> 16) & 0xFF) + ((b >> 16) & 0xFF) + ((c >> 16) & 0xFF) + ((d >> 16) & 0xFF)) >> 2;
+        return 0xFF000000 | (blue << 16) | (green << 8) | red;
+    }
 
-        cachedCorePos = corePos;
-        lastTerrainUpdate = currentTime;
+    /**
+     * Worker-Thread: Off-Screen-Bild einer Kachel, das der Render-Thread in einem Stück hochlädt
+     */
+    private static NativeImage toImage(int[] pixels) {
+        NativeImage image = new NativeImage(TILE_SIZE, TILE_SIZE, false);
+        for (int z = 0; z < TILE_SIZE; z++) {
+            for (int x = 0; x < TILE_SIZE; x++) {
+                image.setColor(x, z, pixels[z * TILE_SIZE + x]);
+            }
+        }
+        return image;
     }
 
     /**
@@ -185,45 +489,93 @@ public class MapRenderer {
         return BLOCK_COLORS.getOrDefault(block, 0x7CBD6B); // Default: Gras-Grün
     }
 
-    /**
-     * Konvertiert World-Koordinaten (relativ zu Core) zu Map-Pixel-Koordinaten.
-     */
-    public int[] worldToMapPixel(BlockPos worldPos, BlockPos corePos) {
-        int relativeX = worldPos.getX() - corePos.getX();
-        int relativeZ = worldPos.getZ() - corePos.getZ();
-
-        int pixelX = (relativeX + RENDER_RADIUS) * PIXELS_PER_BLOCK + (PIXELS_PER_BLOCK / 2);
-        int pixelZ = (relativeZ + RENDER_RADIUS) * PIXELS_PER_BLOCK + (PIXELS_PER_BLOCK / 2);
+    private static void forEachChunk(int tileX, int tileZ, ChunkConsumer consumer) {
+        for (int offsetX = 0; offsetX < CHUNKS_PER_TILE; offsetX++) {
+            for (int offsetZ = 0; offsetZ < CHUNKS_PER_TILE; offsetZ++) {
+                consumer.accept(tileX * CHUNKS_PER_TILE + offsetX, tileZ * CHUNKS_PER_TILE + offsetZ);
+            }
+        }
+    }
 
-        return new int[]{pixelX, pixelZ};
+    private static long tileKey(int level, int tileX, int tileZ) {
+        // 4 Bit Stufe, je 30 Bit Kachel-Koordinate
+        return ((long) level << 60) | ((tileX & 0x3FFFFFFFL) << 30) | (tileZ & 0x3FFFFFFFL);
     }
 
     /**
-     * Gibt die gecachte Terrain-Texture zurück.
+     * Cleanup-Methode beim Screen-Schließen.
      */
-    public Identifier getTerrainTexture() {
-        return terrainTextureId;
+    public void close() {
+        if (active == this) {
+            active = null;
+        }
+        for (MapTile tile : tiles.values()) {
+            destroyTexture(tile);
+        }
+        for (MapTile tile : mipTiles.values()) {
+            destroyTexture(tile);
+        }
+        // Bilder noch laufender Jobs freigeben, sobald sie fertig sind
+        for (MapTile tile : running) {
+            Future<TileResult> job = tile.job;
+            WORKER.execute(() -> {
+                try {
+                    TileResult result = job.get();
+                    if (result.image != null) result.image.close();
+                } catch (InterruptedException | ExecutionException ignored) {
+                }
+            });
+        }
+        running.clear();
+        tiles.clear();
+        mipTiles.clear();
+        wanted.clear();
+        chunkChecksums.clear();
+    }
+
+    @FunctionalInterface
+    private interface ChunkConsumer {
+        void accept(int chunkX, int chunkZ);
     }
 
     /**
-     * Cleanup-Methode beim Screen-Schließen.
+     * Eine Kachel einer Zoom-Stufe
      */
-    public void close() {
-        if (terrainCache != null) {
-            terrainCache.close();
-            terrainCache = null;
+    private static class MapTile {
+        final int level;
+        final int tileX;
+        final int tileZ;
+        int[] pixels;   // ABGR, wird bei jeder Erzeugung ersetzt (nie verändert) - Worker lesen sie ohne Kopie
+        boolean stale;      // Stufe 0: neu erfassen
+        int staleQuadrants; // Mipmap-Stufen: Bitmaske der neu zu bauenden Viertel (Bit = Kind-Index)
+        Future<TileResult> job;
+        NativeImageBackedTexture texture;
+        Identifier textureId;
+        long lastRequested = -2;
+
+        MapTile(int level, int tileX, int tileZ) {
+            this.level = level;
+            this.tileX = tileX;
+            this.tileZ = tileZ;
+            this.staleQuadrants = level > 0 ? 0b1111 : 0;
+        }
+
+        boolean isStale() {
+            return stale || staleQuadrants != 0;
         }
-        if (terrainTextureId != null && client.getTextureManager() != null) {
-            client.getTextureManager().destroyTexture(terrainTextureId);
-            terrainTextureId = null;
+
+        @Override
+        public String toString() {
+            return level + "/" + tileX + "/" + tileZ;
         }
     }
 
-    public static int getMapSize() {
-        return MAP_SIZE;
+    /**
+     * Höhen und Farben einer Stufe-0-Kachel, erfasst auf dem Render-Thread
+     */
+    private record TileSnapshot(int[] heights, int[] colors, boolean[] loaded) {
     }
 
-    public static int getRenderRadius() {
-        return RENDER_RADIUS;
+    private record TileResult(int[] pixels, NativeImage image) {
     }
 }
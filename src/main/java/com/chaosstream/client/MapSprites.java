@@ -0,0 +1,83 @@
+package com.chaosstream.client;
+
+import com.mojang.blaze3d.systems.RenderSystem;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gui.DrawContext;
+import net.minecraft.client.texture.NativeImage;
+import net.minecraft.client.texture.NativeImageBackedTexture;
+import net.minecraft.util.Identifier;
+
+/**
+ * Vorgebackene weiße Marker-Sprites für MapWidget (Kreise, Herz).
+ * Ein Marker ist ein einziges eingefärbtes Quad statt einer fill()-Schleife pro Pixel.
+ * Die Texturen werden beim ersten Zeichnen erzeugt und bleiben für die Sitzung bestehen.
+ */
+public final class MapSprites {
+    private static final int MAX_RADIUS = 4;
+
+    private static final Identifier[] CIRCLES = new Identifier[MAX_RADIUS + 1];
+    private static Identifier heart;
+
+    // Herz als Raute 5x7 Pixel (Offsets um die Mitte)
+    private static final int[][] HEART_PIXELS = {
+        {0, -3}, {-1, -2}, {1, -2},
+        {-2, -1}, {-1, -1}, {0, -1}, {1, -1}, {2, -1},
+        {-2, 0}, {-1, 0}, {0, 0}, {1, 0}, {2, 0},
+        {-2, 1}, {-1, 1}, {0, 1}, {1, 1}, {2, 1},
+        {-1, 2}, {0, 2}, {1, 2},
+        {0, 3}
+    };
+
+    private MapSprites() {
+    }
+
+    /**
+     * Zeichnet einen gefüllten Kreis (Radius 1-4) in der angegebenen Farbe (ARGB).
+     */
+    public static void drawCircle(DrawContext context, int centerX, int centerY, int radius, int color) {
+        if (CIRCLES[radius] == null) {
+            CIRCLES[radius] = bake("chaos_map_circle_" + radius, radius, (dx, dy) -> dx * dx + dy * dy <= radius * radius);
+        }
+        draw(context, CIRCLES[radius], centerX - radius, centerY - radius, radius * 2 + 1, color);
+    }
+
+    /**
+     * Zeichnet das Herz-Icon (Village Core).
+     */
+    public static void drawHeart(DrawContext context, int centerX, int centerY, int color) {
+        if (heart == null) {
+            heart = bake("chaos_map_heart", 3, (dx, dy) -> {
+                for (int[] pixel : HEART_PIXELS) {
+                    if (pixel[0] == dx && pixel[1] == dy) return true;
+                }
+                return false;
+            });
+        }
+        draw(context, heart, centerX - 3, centerY - 3, 7, color);
+    }
+
+    private static void draw(DrawContext context, Identifier sprite, int x, int y, int size, int color) {
+        RenderSystem.enableBlend();
+        context.setShaderColor(((color >> 16) & 0xFF) / 255.0f, ((color >> 8) & 0xFF) / 255.0f,
+            (color & 0xFF) / 255.0f, ((color >>> 24) & 0xFF) / 255.0f);
+        context.drawTexture(sprite, x, y, 0, 0, size, size, size, size);
+        context.setShaderColor(1.0f, 1.0f, 1.0f, 1.0f);
+        RenderSystem.disableBlend();
+    }
+
+    private static Identifier bake(String name, int radius, PixelMask mask) {
+        int size = radius * 2 + 1;
+        NativeImage image = new NativeImage(size, size, true);
+        for (int dx = -radius; dx <= radius; dx++) {
+            for (int dy = -radius; dy <= radius; dy++) {
+                image.setColor(dx + radius, dy + radius, mask.contains(dx, dy) ? 0xFFFFFFFF : 0);
+            }
+        }
+        return MinecraftClient.getInstance().getTextureManager().registerDynamicTexture(name, new NativeImageBackedTexture(image));
+    }
+
+    @FunctionalInterface
+    private interface PixelMask {
+        boolean contains(int dx, int dy);
+    }
+}
@@ -2,21 +2,34 @@ package com.chaosstream.client;
 
 import com.chaosstream.VillagerClass;
 import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.font.TextRenderer;
 import net.minecraft.client.gui.DrawContext;
+import net.minecraft.text.OrderedText;
+import net.minecraft.text.Text;
+import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
  * Custom Map-Renderer für Minimap mit Terrain + Overlays.
- * Kein Widget, sondern einfache Render-Klasse mit Click-Handler.
+ * Kein Widget, sondern einfache Render-Klasse mit Maus-Handlern (vom Screen weitergereicht):
+ * Ziehen mit links verschiebt die Karte, Mausrad zoomt um den Mauszeiger, Mittelklick zentriert auf den Core.
+ * Das Terrain kommt gekachelt aus MapRenderer; fehlende Kacheln werden übergangsweise aus gröberen Stufen gezeichnet.
  */
 public class MapWidget {
 
+    private static final int MAP_SIZE = 200; // Pixel-Größe der Map
+    private static final int MIN_ZOOM = -MapRenderer.MAX_LEVEL; // 1 Pixel = 8 Blöcke
+    private static final int MAX_ZOOM = 2;                       // 4 Pixel = 1 Block
+    private static final int DEFAULT_ZOOM = 1;                   // 2 Pixel = 1 Block (50 Blöcke Radius)
+
     private final MapRenderer mapRenderer;
     private final int x;
     private final int y;
@@ -27,10 +40,27 @@ public class MapWidget {
     private int coreHealth;
     private int coreMaxHealth;
     private List<BlockPos> spawnLocations;
-    private Map<UUID, DefenderMapData> defenders;
-    private List<UUID> selectedDefenders; // Für Highlighting
+    private List<DefenderMarker> defenderMarkers; // Pro Sync vorbereitet (Farbe, Name)
+    private Set<UUID> selectedDefenders; // Für Highlighting
     private BlockPos playerPos; // Spieler-Position
 
+    // Ansicht: Weltposition in der Kartenmitte und Zoom-Stufe (Pixel pro Block = 2^zoom)
+    private double centerX;
+    private double centerZ;
+    private int zoom = DEFAULT_ZOOM;
+    private boolean viewInitialized;
+    private boolean dragging;
+
+    // Texte werden nur bei neuen Daten aufgebaut, nicht pro Frame
+    private final TextRenderer textRenderer;
+    private final OrderedText youText;
+    private final int youTextWidth;
+    private OrderedText coreHealthText;
+    private int coreHealthTextWidth;
+    private int hoverBlockX = Integer.MIN_VALUE;
+    private int hoverBlockZ = Integer.MIN_VALUE;
+    private OrderedText hoverText;
+
     // Klassen-Farben (RGB)
     private static final Map<VillagerClass, Integer> CLASS_COLORS = new HashMap<>();
 
@@ -45,11 +75,14 @@ public class MapWidget {
     public MapWidget(int x, int y, MinecraftClient client) {
         this.x = x;
         this.y = y;
-        this.width = MapRenderer.getMapSize();
-        this.height = MapRenderer.getMapSize();
+        this.width = MAP_SIZE;
+        this.height = MAP_SIZE;
         this.mapRenderer = new MapRenderer(client);
-        this.defenders = new HashMap<>();
-        this.selectedDefenders = new ArrayList<>();
+        this.defenderMarkers = new ArrayList<>();
+        this.selectedDefenders = new HashSet<>();
+        this.textRenderer = client.textRenderer;
+        this.youText = Text.literal("YOU").asOrderedText();
+        this.youTextWidth = textRenderer.getWidth(youText);
     }
 
     /**
@@ -62,20 +95,41 @@ public class MapWidget {
         this.coreHealth = coreHealth;
         this.coreMaxHealth = coreMaxHealth;
         this.spawnLocations = spawnLocations;
-        this.defenders = defenders;
         this.playerPos = playerPos;
 
-        // Update Terrain-Cache (nur wenn nötig)
-        if (corePos != null) {
-            mapRenderer.updateTerrainCache(corePos);
+        // Marker und Texte einmal pro Sync aufbauen
+        List<DefenderMarker> markers = new ArrayList<>(defenders != null ? defenders.size() : 0);
+        if (defenders != null) {
+            for (Map.Entry<UUID, DefenderMapData> entry : defenders.entrySet()) {
+                markers.add(new DefenderMarker(entry.getKey(), entry.getValue(), textRenderer));
+            }
+        }
+        this.defenderMarkers = markers;
+        this.coreHealthText = Text.literal(coreHealth + "/" + coreMaxHealth).asOrderedText();
+        this.coreHealthTextWidth = textRenderer.getWidth(coreHealthText);
+
+        // Erste Daten: Ansicht auf den Core
+        if (corePos != null && !viewInitialized) {
+            centerOnCore();
         }
     }
 
+    /**
+     * Zentriert die Karte auf den Core und setzt den Zoom zurück.
+     */
+    public void centerOnCore() {
+        if (corePos == null) return;
+        centerX = corePos.getX() + 0.5;
+        centerZ = corePos.getZ() + 0.5;
+        zoom = DEFAULT_ZOOM;
+        viewInitialized = true;
+    }
+
     /**
      * Setzt die ausgewählten Defender (für Highlighting).
      */
     public void setSelectedDefenders(List<UUID> selected) {
-        this.selectedDefenders = selected != null ? new ArrayList<>(selected) : new ArrayList<>();
+        this.selectedDefenders = selected != null ? new HashSet<>(selected) : new HashSet<>();
     }
 
     /**
@@ -89,29 +143,82 @@ public class MapWidget {
             return;
         }
 
-        // 1. Rendere Terrain-Hintergrund
-        context.drawTexture(mapRenderer.getTerrainTexture(),
-            x, y, 0, 0,
-            MapRenderer.getMapSize(), MapRenderer.getMapSize(),
-            MapRenderer.getMapSize(), MapRenderer.getMapSize());
+        // Fertige Kacheln übernehmen, neue planen
+        mapRenderer.processTiles();
+
+        // 1. Rendere Terrain-Kacheln (auf die Map-Fläche beschnitten)
+        context.fill(x, y, x + width, y + height, 0xFF202020);
+        context.enableScissor(x, y, x + width, y + height);
+        renderTiles(context);
 
         // 2. Rendere Overlays
         renderSpawnLocations(context);
         renderDefenders(context);
         renderCore(context);
         renderPlayer(context);
+        context.disableScissor();
 
         // 3. Rendere Rahmen um Map
         context.drawBorder(x, y, width, height, 0xFFAAAAAA);
 
         // 4. Hover-Effekt: Zeige Koordinaten wenn Maus über Map
         if (isMouseOver(mouseX, mouseY)) {
-            BlockPos worldPos = screenToWorldPos(mouseX, mouseY);
-            if (worldPos != null) {
-                String coordText = "X: " + worldPos.getX() + " Z: " + worldPos.getZ();
-                context.drawText(MinecraftClient.getInstance().textRenderer,
-                    coordText, mouseX + 10, mouseY - 10, 0xFFFFFFFF, true);
+            int blockX = screenToWorldX(mouseX);
+            int blockZ = screenToWorldZ(mouseY);
+            if (hoverText == null || blockX != hoverBlockX || blockZ != hoverBlockZ) {
+                hoverBlockX = blockX;
+                hoverBlockZ = blockZ;
+                hoverText = Text.literal("X: " + blockX + " Z: " + blockZ).asOrderedText();
             }
+            context.drawText(textRenderer, hoverText, mouseX + 10, mouseY - 10, 0xFFFFFFFF, true);
+        }
+    }
+
+    /**
+     * Zeichnet alle sichtbaren Kacheln der passenden Stufe.
+     */
+    private void renderTiles(DrawContext context) {
+        int level = getTileLevel();
+        int tileBlocks = MapRenderer.getTileBlocks(level);
+        int tileScreenSize = Math.round(tileBlocks * getScale());
+
+        int firstTileX = Math.floorDiv(screenToWorldX(x), tileBlocks);
+        int lastTileX = Math.floorDiv(screenToWorldX(x + width), tileBlocks);
+        int firstTileZ = Math.floorDiv(screenToWorldZ(y), tileBlocks);
+        int lastTileZ = Math.floorDiv(screenToWorldZ(y + height), tileBlocks);
+
+        for (int tileZ = firstTileZ; tileZ <= lastTileZ; tileZ++) {
+            for (int tileX = firstTileX; tileX <= lastTileX; tileX++) {
+                int screenX = worldToScreenX(tileX * tileBlocks);
+                int screenY = worldToScreenY(tileZ * tileBlocks);
+
+                Identifier texture = mapRenderer.requestTile(level, tileX, tileZ);
+                if (texture != null) {
+                    context.drawTexture(texture, screenX, screenY, tileScreenSize, tileScreenSize,
+                        0, 0, MapRenderer.TILE_SIZE, MapRenderer.TILE_SIZE, MapRenderer.TILE_SIZE, MapRenderer.TILE_SIZE);
+                } else {
+                    renderFallbackTile(context, level, tileX, tileZ, screenX, screenY, tileScreenSize);
+                }
+            }
+        }
+    }
+
+    /**
+     * Noch nicht erzeugte Kachel: passenden Ausschnitt der nächstgröberen vorhandenen Stufe zeichnen.
+     */
+    private void renderFallbackTile(DrawContext context, int level, int tileX, int tileZ,
+                                    int screenX, int screenY, int size) {
+        for (int parentLevel = level + 1; parentLevel <= MapRenderer.MAX_LEVEL; parentLevel++) {
+            int factor = 1 << (parentLevel - level);
+            Identifier texture = mapRenderer.peekTile(parentLevel,
+                Math.floorDiv(tileX, factor), Math.floorDiv(tileZ, factor));
+            if (texture == null) continue;
+
+            int region = MapRenderer.TILE_SIZE / factor;
+            context.drawTexture(texture, screenX, screenY, size, size,
+                Math.floorMod(tileX, factor) * region, Math.floorMod(tileZ, factor) * region,
+                region, region, MapRenderer.TILE_SIZE, MapRenderer.TILE_SIZE);
+            return;
         }
     }
 
@@ -121,13 +228,13 @@ public class MapWidget {
     private void renderSpawnLocations(DrawContext context) {
         if (spawnLocations == null || spawnLocations.isEmpty()) return;
 
-        for (BlockPos spawnPos : spawnLocations) {
-            int[] pixel = mapRenderer.worldToMapPixel(spawnPos, corePos);
-            int screenX = x + pixel[0];
-            int screenY = y + pixel[1];
+        for (int i = 0; i < spawnLocations.size(); i++) {
+            BlockPos spawnPos = spawnLocations.get(i);
+            int screenX = worldToScreenX(spawnPos.getX() + 0.5);
+            int screenY = worldToScreenY(spawnPos.getZ() + 0.5);
 
             // Roter Kreis (6x6 Pixel)
-            drawCircle(context, screenX, screenY, 3, 0xFFFF0000);
+            MapSprites.drawCircle(context, screenX, screenY, 3, 0xFFFF0000);
         }
     }
 
@@ -135,40 +242,31 @@ public class MapWidget {
      * Rendert Defender als farbige Punkte (Klassen-Farbe).
      */
     private void renderDefenders(DrawContext context) {
-        if (defenders == null || defenders.isEmpty()) return;
-
-        for (Map.Entry<UUID, DefenderMapData> entry : defenders.entrySet()) {
-            UUID uuid = entry.getKey();
-            DefenderMapData defender = entry.getValue();
+        for (int i = 0; i < defenderMarkers.size(); i++) {
+            DefenderMarker marker = defenderMarkers.get(i);
+            DefenderMapData defender = marker.data;
 
-            int[] pixel = mapRenderer.worldToMapPixel(defender.pos, corePos);
-            int screenX = x + pixel[0];
-            int screenY = y + pixel[1];
-
-            // Klassen-Farbe
-            int color = CLASS_COLORS.getOrDefault(defender.villagerClass, 0xFFFFFFFF);
+            int screenX = worldToScreenX(defender.pos.getX() + 0.5);
+            int screenY = worldToScreenY(defender.pos.getZ() + 0.5);
 
             // Ist dieser Defender ausgewählt?
-            boolean isSelected = selectedDefenders.contains(uuid);
+            boolean isSelected = selectedDefenders.contains(marker.uuid);
 
             if (isSelected) {
                 // SELECTED: Größerer Kreis + weißer Highlight-Ring + Name
                 // Weißer Highlight-Ring (8x8 Pixel)
-                drawCircle(context, screenX, screenY, 4, 0xFFFFFFFF);
+                MapSprites.drawCircle(context, screenX, screenY, 4, 0xFFFFFFFF);
 
                 // Größerer Punkt (6x6 Pixel) mit schwarzem Rahmen
                 context.fill(screenX - 3, screenY - 3, screenX + 3, screenY + 3, 0xFF000000); // Rahmen
-                context.fill(screenX - 2, screenY - 2, screenX + 2, screenY + 2, color | 0xFF000000); // Füllung
+                context.fill(screenX - 2, screenY - 2, screenX + 2, screenY + 2, marker.color); // Füllung
 
                 // Zeige Namen über dem Defender
-                String name = defender.name != null ? defender.name : "Defender";
-                int nameWidth = MinecraftClient.getInstance().textRenderer.getWidth(name);
-                context.drawText(MinecraftClient.getInstance().textRenderer,
-                    name, screenX - nameWidth / 2, screenY - 12, 0xFFFFFFFF, true);
+                context.drawText(textRenderer, marker.name, screenX - marker.nameWidth / 2, screenY - 12, 0xFFFFFFFF, true);
             } else {
                 // NORMAL: Normaler Punkt (4x4 Pixel) mit schwarzem Rahmen
                 context.fill(screenX - 2, screenY - 2, screenX + 2, screenY + 2, 0xFF000000); // Rahmen
-                context.fill(screenX - 1, screenY - 1, screenX + 1, screenY + 1, color | 0xFF000000); // Füllung
+                context.fill(screenX - 1, screenY - 1, screenX + 1, screenY + 1, marker.color); // Füllung
             }
 
             // Optional: Zeige HP-Bar unter Defender (für Low-HP)
@@ -194,17 +292,14 @@ public class MapWidget {
      * Rendert Village Core als gelbes Herz-Icon.
      */
     private void renderCore(DrawContext context) {
-        int centerX = x + MapRenderer.getMapSize() / 2;
-        int centerY = y + MapRenderer.getMapSize() / 2;
+        int centerX = worldToScreenX(corePos.getX() + 0.5);
+        int centerY = worldToScreenY(corePos.getZ() + 0.5);
 
         // Gelbes Herz (8x8 Pixel, vereinfacht als Raute)
-        drawHeart(context, centerX, centerY, 0xFFFFD700);
+        MapSprites.drawHeart(context, centerX, centerY, 0xFFFFD700);
 
         // Core HP-Text darunter
-        String hpText = coreHealth + "/" + coreMaxHealth;
-        int textWidth = MinecraftClient.getInstance().textRenderer.getWidth(hpText);
-        context.drawText(MinecraftClient.getInstance().textRenderer,
-            hpText, centerX - textWidth / 2, centerY + 6, 0xFFFFFFFF, true);
+        context.drawText(textRenderer, coreHealthText, centerX - coreHealthTextWidth / 2, centerY + 6, 0xFFFFFFFF, true);
     }
 
     /**
@@ -213,54 +308,17 @@ public class MapWidget {
     private void renderPlayer(DrawContext context) {
         if (playerPos == null || corePos == null) return;
 
-        int[] pixel = mapRenderer.worldToMapPixel(playerPos, corePos);
-        int screenX = x + pixel[0];
-        int screenY = y + pixel[1];
+        int screenX = worldToScreenX(playerPos.getX() + 0.5);
+        int screenY = worldToScreenY(playerPos.getZ() + 0.5);
 
         // Weißer Kreis (größer als Defender)
-        drawCircle(context, screenX, screenY, 4, 0xFFFFFFFF);
+        MapSprites.drawCircle(context, screenX, screenY, 4, 0xFFFFFFFF);
 
         // Schwarzer Punkt in der Mitte
         context.fill(screenX - 1, screenY - 1, screenX + 1, screenY + 1, 0xFF000000);
 
         // "YOU" Text darunter
-        String youText = "YOU";
-        int textWidth = MinecraftClient.getInstance().textRenderer.getWidth(youText);
-        context.drawText(MinecraftClient.getInstance().textRenderer,
-            youText, screenX - textWidth / 2, screenY + 6, 0xFFFFFFFF, true);
-    }
-
-    /**
-     * Zeichnet einen einfachen Kreis (approximiert als gefüllter Bereich).
-     */
-    private void drawCircle(DrawContext context, int centerX, int centerY, int radius, int color) {
-        for (int dx = -radius; dx <= radius; dx++) {
-            for (int dy = -radius; dy <= radius; dy++) {
-                if (dx * dx + dy * dy <= radius * radius) {
-                    context.fill(centerX + dx, centerY + dy, centerX + dx + 1, centerY + dy + 1, color);
-                }
-            }
-        }
-    }
-
-    /**
-     * Zeichnet ein vereinfachtes Herz-Icon (Raute).
-     */
-    private void drawHeart(DrawContext context, int centerX, int centerY, int color) {
-        // Einfaches Herz als Raute 8x8 Pixel
-        int[][] heartPixels = {
-            {0, -3}, {-1, -2}, {1, -2},
-            {-2, -1}, {-1, -1}, {0, -1}, {1, -1}, {2, -1},
-            {-2, 0}, {-1, 0}, {0, 0}, {1, 0}, {2, 0},
-            {-2, 1}, {-1, 1}, {0, 1}, {1, 1}, {2, 1},
-            {-1, 2}, {0, 2}, {1, 2},
-            {0, 3}
-        };
-
-        for (int[] pixel : heartPixels) {
-            context.fill(centerX + pixel[0], centerY + pixel[1],
-                        centerX + pixel[0] + 1, centerY + pixel[1] + 1, color);
-        }
+        context.drawText(textRenderer, youText, screenX - youTextWidth / 2, screenY + 6, 0xFFFFFFFF, true);
     }
 
     /**
@@ -278,22 +336,89 @@ public class MapWidget {
     public BlockPos screenToWorldPos(double mouseX, double mouseY) {
         if (corePos == null) return null;
 
-        // Relative Pixel-Position auf Map
-        int pixelX = (int) (mouseX - x);
-        int pixelZ = (int) (mouseY - y);
-
-        // Konvertiere Pixel zu relativen Block-Koordinaten
-        int relativeX = (pixelX / MapRenderer.PIXELS_PER_BLOCK) - MapRenderer.getRenderRadius();
-        int relativeZ = (pixelZ / MapRenderer.PIXELS_PER_BLOCK) - MapRenderer.getRenderRadius();
-
-        // Absolut World-Position
         return new BlockPos(
-            corePos.getX() + relativeX,
+            screenToWorldX(mouseX),
             corePos.getY(), // Y bleibt gleich (wird später vom Server korrigiert)
-            corePos.getZ() + relativeZ
+            screenToWorldZ(mouseY)
         );
     }
 
+    /**
+     * Mausklick: Mittelklick zentriert auf den Core, Linksklick beginnt ggf. ein Verschieben.
+     * @return true wenn der Klick verbraucht wurde
+     */
+    public boolean mouseClicked(double mouseX, double mouseY, int button) {
+        if (!isMouseOver(mouseX, mouseY)) return false;
+        if (button == 2) {
+            centerOnCore();
+            return true;
+        }
+        dragging = button == 0;
+        return false; // Linksklick bleibt für den Screen (z.B. Befehl an Position)
+    }
+
+    public boolean mouseReleased(double mouseX, double mouseY, int button) {
+        dragging = false;
+        return false;
+    }
+
+    /**
+     * Verschiebt die Karte beim Ziehen mit gedrückter linker Maustaste.
+     */
+    public boolean mouseDragged(double mouseX, double mouseY, int button, double deltaX, double deltaY) {
+        if (!dragging || button != 0) return false;
+        centerX -= deltaX / getScale();
+        centerZ -= deltaY / getScale();
+        return true;
+    }
+
+    /**
+     * Zoomt um den Mauszeiger - der Punkt unter der Maus bleibt stehen.
+     */
+    public boolean mouseScrolled(double mouseX, double mouseY, double amount) {
+        if (!isMouseOver(mouseX, mouseY)) return false;
+
+        int newZoom = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom + (amount > 0 ? 1 : -1)));
+        if (newZoom == zoom) return true;
+
+        double worldX = centerX + (mouseX - (x + width / 2.0)) / getScale();
+        double worldZ = centerZ + (mouseY - (y + height / 2.0)) / getScale();
+        zoom = newZoom;
+        centerX = worldX - (mouseX - (x + width / 2.0)) / getScale();
+        centerZ = worldZ - (mouseY - (y + height / 2.0)) / getScale();
+        return true;
+    }
+
+    /**
+     * Pixel pro Block
+     */
+    private float getScale() {
+        return zoom >= 0 ? (1 << zoom) : 1.0f / (1 << -zoom);
+    }
+
+    /**
+     * Kachel-Stufe, bei der ein Texel etwa einem Bildschirm-Pixel entspricht
+     */
+    private int getTileLevel() {
+        return zoom >= 0 ? 0 : Math.min(MapRenderer.MAX_LEVEL, -zoom);
+    }
+
+    private int worldToScreenX(double worldX) {
+        return x + width / 2 + (int) Math.floor((worldX - centerX) * getScale());
+    }
+
+    private int worldToScreenY(double worldZ) {
+        return y + height / 2 + (int) Math.floor((worldZ - centerZ) * getScale());
+    }
+
+    private int screenToWorldX(double screenX) {
+        return (int) Math.floor(centerX + (screenX - (x + width / 2)) / getScale());
+    }
+
+    private int screenToWorldZ(double screenY) {
+        return (int) Math.floor(centerZ + (screenY - (y + height / 2)) / getScale());
+    }
+
     /**
      * Gibt die Map-Bounds zurück (für Click-Detection im Screen).
      */
@@ -309,6 +434,25 @@ public class MapWidget {
         mapRenderer.close();
     }
 
+    /**
+     * Für das Zeichnen vorbereiteter Defender (Klassen-Farbe, Name) - wird pro Sync neu erstellt.
+     */
+    private static class DefenderMarker {
+        final UUID uuid;
+        final DefenderMapData data;
+        final int color;
+        final OrderedText name;
+        final int nameWidth;
+
+        DefenderMarker(UUID uuid, DefenderMapData data, TextRenderer textRenderer) {
+            this.uuid = uuid;
+            this.data = data;
+            this.color = CLASS_COLORS.getOrDefault(data.villagerClass, 0xFFFFFFFF) | 0xFF000000;
+            this.name = Text.literal(data.name != null ? data.name : "Defender").asOrderedText();
+            this.nameWidth = textRenderer.getWidth(name);
+        }
+    }
+
     /**
      * Daten-Container für Defender auf der Map.
      */
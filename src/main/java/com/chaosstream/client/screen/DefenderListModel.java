@@ -0,0 +1,158 @@
+package com.chaosstream.client.screen;
+
+import com.chaosstream.VillagerClass;
+import com.chaosstream.network.DefenderSyncPacket;
+
+import java.util.*;
+
+/**
+ * Client-seitiger Index aller Defender für DefenderListScreen.
+ * Hält einen Eintrag pro Defender (wird über Syncs hinweg wiederverwendet), einen sortierten Namens-Index
+ * für Präfix-Suche und Buckets pro Klasse. Ein Sync aktualisiert nur geänderte, neue und entfernte Defender.
+ */
+public class DefenderListModel {
+
+    /**
+     * Sortierung der Liste (absteigend, bei Gleichstand nach Name)
+     */
+    public enum SortMode {
+        LEVEL("Level"),
+        KILLS("Kills"),
+        DAMAGE("Schaden");
+
+        private final String displayName;
+
+        SortMode(String displayName) {
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        public SortMode next() {
+            return values()[(ordinal() + 1) % values().length];
+        }
+    }
+
+    private final DefenderListScreen screen;
+    private final Map<UUID, DefenderListWidget.DefenderEntry> entries = new HashMap<>();
+    // Name (lowercase) -> Defender; ein Viewer kann mehrere Defender haben
+    private final NavigableMap<String, Set<UUID>> byName = new TreeMap<>();
+    private final Map<VillagerClass, Set<UUID>> byClass = new EnumMap<>(VillagerClass.class);
+
+    public DefenderListModel(DefenderListScreen screen) {
+        this.screen = screen;
+    }
+
+    /**
+     * Übernimmt einen Sync: neue Defender aufnehmen, geänderte aktualisieren, fehlende entfernen
+     */
+    public void apply(List<DefenderSyncPacket.DefenderData> defenders) {
+        Set<UUID> seen = new HashSet<>(defenders.size() * 2);
+
+        for (DefenderSyncPacket.DefenderData defender : defenders) {
+            seen.add(defender.uuid());
+            DefenderListWidget.DefenderEntry entry = entries.get(defender.uuid());
+            if (entry == null) {
+                entries.put(defender.uuid(), new DefenderListWidget.DefenderEntry(screen, defender));
+                index(defender);
+                continue;
+            }
+
+            DefenderSyncPacket.DefenderData old = entry.getDefender();
+            if (!old.name().equals(defender.name()) || old.villagerClass() != defender.villagerClass()) {
+                unindex(old);
+                index(defender);
+            }
+            entry.update(defender);
+        }
+
+        Iterator<Map.Entry<UUID, DefenderListWidget.DefenderEntry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<UUID, DefenderListWidget.DefenderEntry> entry = iterator.next();
+            if (!seen.contains(entry.getKey())) {
+                unindex(entry.getValue().getDefender());
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Gefilterte und sortierte Einträge.
+     * Die Suche trifft Namen per Präfix (Namens-Index) und Klassen per Präfix ihres Namens (z.B. "heil", "tank").
+     */
+    public List<DefenderListWidget.DefenderEntry> view(String query, SortMode sortMode) {
+        String search = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+
+        Collection<DefenderListWidget.DefenderEntry> matches;
+        if (search.isEmpty()) {
+            matches = entries.values();
+        } else {
+            Set<UUID> uuids = new HashSet<>();
+            for (Set<UUID> byPrefix : byName.subMap(search, true, search + Character.MAX_VALUE, true).values()) {
+                uuids.addAll(byPrefix);
+            }
+            for (Map.Entry<VillagerClass, Set<UUID>> bucket : byClass.entrySet()) {
+                VillagerClass villagerClass = bucket.getKey();
+                if (villagerClass.getDisplayName().toLowerCase(Locale.ROOT).startsWith(search)
+                    || villagerClass.name().toLowerCase(Locale.ROOT).startsWith(search)) {
+                    uuids.addAll(bucket.getValue());
+                }
+            }
+
+            matches = new ArrayList<>(uuids.size());
+            for (UUID uuid : uuids) {
+                matches.add(entries.get(uuid));
+            }
+        }
+
+        List<DefenderListWidget.DefenderEntry> result = new ArrayList<>(matches);
+        result.sort(comparator(sortMode));
+        return result;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static Comparator<DefenderListWidget.DefenderEntry> comparator(SortMode sortMode) {
+        Comparator<DefenderSyncPacket.DefenderData> primary;
+        switch (sortMode) {
+            case KILLS:
+                primary = Comparator.comparingInt(DefenderSyncPacket.DefenderData::kills).reversed();
+                break;
+            case DAMAGE:
+                primary = Comparator.comparingInt(DefenderSyncPacket.DefenderData::damageDealt).reversed();
+                break;
+            default:
+                primary = Comparator.comparingInt(DefenderSyncPacket.DefenderData::level)
+                    .thenComparingInt(DefenderSyncPacket.DefenderData::xp)
+                    .reversed();
+        }
+
+        // Name und UUID als Tiebreaker - sonst springen gleichwertige Zeilen bei jedem Sync
+        Comparator<DefenderSyncPacket.DefenderData> stable = primary
+            .thenComparing(defender -> defender.name().toLowerCase(Locale.ROOT))
+            .thenComparing(DefenderSyncPacket.DefenderData::uuid);
+        return Comparator.comparing(DefenderListWidget.DefenderEntry::getDefender, stable);
+    }
+
+    private void index(DefenderSyncPacket.DefenderData defender) {
+        byName.computeIfAbsent(defender.name().toLowerCase(Locale.ROOT), name -> new HashSet<>()).add(defender.uuid());
+        byClass.computeIfAbsent(defender.villagerClass(), villagerClass -> new HashSet<>()).add(defender.uuid());
+    }
+
+    private void unindex(DefenderSyncPacket.DefenderData defender) {
+        String name = defender.name().toLowerCase(Locale.ROOT);
+        Set<UUID> named = byName.get(name);
+        if (named != null) {
+            named.remove(defender.uuid());
+            if (named.isEmpty()) byName.remove(name);
+        }
+        Set<UUID> classed = byClass.get(defender.villagerClass());
+        if (classed != null) {
+            classed.remove(defender.uuid());
+        }
+    }
+}
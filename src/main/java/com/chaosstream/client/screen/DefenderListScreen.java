@@ -5,19 +5,33 @@ import com.chaosstream.network.DefenderSyncPacket;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.gui.screen.Screen;
 import net.minecraft.client.gui.widget.ButtonWidget;
+import net.minecraft.client.gui.widget.TextFieldWidget;
 import net.minecraft.text.Text;
 
 import java.util.List;
 
 /**
  * Management-Screen für alle Defender (geöffnet per Keybind 'K')
- * Zeigt scrollbare Liste von Defendern
+ * Zeigt scrollbare Liste von Defendern, durchsuchbar (Name/Klasse) und sortierbar (Level/Kills/Schaden)
  * Click auf Defender → öffnet DefenderManagementScreen
+ * Suche, Sortierung, Scroll-Position und Auswahl bleiben beim Zurückkehren und bei neuen Syncs erhalten.
  */
 public class DefenderListScreen extends Screen {
     private DefenderListWidget defenderList;
+    private TextFieldWidget searchField;
     private final Screen parent;
 
+    // Überlebt init() (z.B. nach Rückkehr aus dem DefenderManagementScreen)
+    private final DefenderListModel model = new DefenderListModel(this);
+    private String query = "";
+    private DefenderListModel.SortMode sortMode = DefenderListModel.SortMode.LEVEL;
+    private double savedScroll;
+    private DefenderListWidget.DefenderEntry savedSelection;
+
+    // Stand der zuletzt geladenen Defender-Daten (siehe ClientNetworkHandler.getSyncVersion)
+    private int loadedSyncVersion = -1;
+    private Text subtitle;
+
     public DefenderListScreen(Screen parent) {
         super(Text.literal("Defender Management"));
         this.parent = parent;
@@ -27,25 +41,57 @@ public class DefenderListScreen extends Screen {
     protected void init() {
         super.init();
 
-        // Defender-Liste Widget (scrollbar)
         int listWidth = Math.min(400, this.width - 40);
-        int listHeight = this.height - 96;
         int listX = (this.width - listWidth) / 2;
-        int listY = 48;
+
+        // Suche (Name oder Klasse) + Sortierung
+        this.searchField = new TextFieldWidget(this.textRenderer, listX, 42, listWidth - 94, 18, Text.literal("Suche"));
+        this.searchField.setPlaceholder(Text.literal("§7Suche: Name oder Klasse"));
+        this.searchField.setText(query);
+        this.searchField.setChangedListener(text -> {
+            query = text;
+            updateView();
+        });
+        this.addDrawableChild(this.searchField);
+
+        this.addDrawableChild(
+            ButtonWidget.builder(sortLabel(), button -> {
+                    sortMode = sortMode.next();
+                    button.setMessage(sortLabel());
+                    updateView();
+                })
+                .dimensions(listX + listWidth - 90, 41, 90, 20)
+                .build()
+        );
+
+        // Defender-Liste Widget (scrollbar)
+        int listY = 66;
+        int listHeight = this.height - listY - 40;
+        if (this.defenderList != null) {
+            // Neu-Init (Größenänderung, Rückkehr): Stand des alten Widgets übernehmen
+            savedScroll = this.defenderList.getScrollAmount();
+            if (this.defenderList.getSelectedOrNull() != null) {
+                savedSelection = this.defenderList.getSelectedOrNull();
+            }
+        }
 
         this.defenderList = new DefenderListWidget(
             this.client,
-            this,
             listWidth,
             listHeight,
             listY,
             listY + listHeight
         );
+        this.defenderList.setLeftPos(listX);
         this.addSelectableChild(this.defenderList);
 
         // Lade Defender-Daten von Client-Cache
-        List<DefenderSyncPacket.DefenderData> defenders = ClientNetworkHandler.getCachedDefenders();
-        this.defenderList.load(defenders);
+        loadedSyncVersion = -1;
+        refreshDefenders();
+        if (savedSelection != null && this.defenderList.children().contains(savedSelection)) {
+            this.defenderList.setSelected(savedSelection);
+        }
+        this.defenderList.setScrollAmount(savedScroll);
 
         // "Schließen" Button
         this.addDrawableChild(
@@ -60,6 +106,9 @@ public class DefenderListScreen extends Screen {
         // Dunkler Hintergrund (wie DefenderManagementScreen, nicht Erde-Textur)
         context.fill(0, 0, this.width, this.height, 0xC0101010);
 
+        // Neue Daten vom Server? Sonst bleibt alles wie aufgebaut
+        refreshDefenders();
+
         // Defender-Liste
         this.defenderList.render(context, mouseX, mouseY, delta);
 
@@ -73,11 +122,9 @@ public class DefenderListScreen extends Screen {
         );
 
         // Defender-Count
-        int defenderCount = ClientNetworkHandler.getCachedDefenders().size();
-        String subtitle = String.format("§7%d Defender aktiv", defenderCount);
         context.drawCenteredTextWithShadow(
             this.textRenderer,
-            Text.literal(subtitle),
+            subtitle,
             this.width / 2,
             28,
             0xAAAAAA
@@ -87,11 +134,47 @@ public class DefenderListScreen extends Screen {
         super.render(context, mouseX, mouseY, delta);
     }
 
+    /**
+     * Lädt Liste und Untertitel neu - nur wenn ClientNetworkHandler geänderte Daten empfangen hat
+     */
+    private void refreshDefenders() {
+        int syncVersion = ClientNetworkHandler.getSyncVersion();
+        if (syncVersion == loadedSyncVersion) return;
+        loadedSyncVersion = syncVersion;
+
+        // Nur geänderte Defender werden im Model aktualisiert
+        model.apply(ClientNetworkHandler.getCachedDefenders());
+        updateView();
+    }
+
+    /**
+     * Wendet Suche und Sortierung an - Scroll-Position und Auswahl bleiben erhalten
+     */
+    private void updateView() {
+        List<DefenderListWidget.DefenderEntry> entries = model.view(query, sortMode);
+        this.defenderList.setEntries(entries);
+
+        this.subtitle = query.isBlank()
+            ? Text.literal(String.format("§7%d Defender aktiv", model.size()))
+            : Text.literal(String.format("§7%d von %d Defendern", entries.size(), model.size()));
+    }
+
+    private Text sortLabel() {
+        return Text.literal("§7Sortierung: §f" + sortMode.getDisplayName());
+    }
+
     /**
      * Öffnet DefenderManagementScreen für einen spezifischen Defender
      */
     public void openDefenderManagement(DefenderSyncPacket.DefenderData defender) {
         if (this.client != null) {
+            // Angeklickten Defender nach der Rückkehr wieder markieren
+            savedScroll = this.defenderList.getScrollAmount();
+            for (DefenderListWidget.DefenderEntry entry : this.defenderList.children()) {
+                if (entry.getDefender().uuid().equals(defender.uuid())) {
+                    savedSelection = entry;
+                }
+            }
             this.client.setScreen(new DefenderManagementScreen(this, defender));
         }
     }
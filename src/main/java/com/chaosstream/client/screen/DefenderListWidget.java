@@ -1,10 +1,11 @@
 package com.chaosstream.client.screen;
 
-import com.chaosstream.VillagerClass;
 import com.chaosstream.network.DefenderSyncPacket;
 import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.font.TextRenderer;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.gui.widget.AlwaysSelectedEntryListWidget;
+import net.minecraft.text.OrderedText;
 import net.minecraft.text.Text;
 
 import java.util.List;
@@ -12,28 +13,33 @@ import java.util.List;
 /**
  * Scrollbare Liste von Defendern für DefenderListScreen
  * Zeigt Defender mit Icon, Name, HP-Bar, Level
+ * Virtualisiert: Einträge kommen aus DefenderListModel und bauen ihre Texte erst, wenn sie sichtbar gerendert werden.
+ * Neue Daten ersetzen nur die Eintragsliste - Scroll-Position und Auswahl bleiben erhalten.
  */
 public class DefenderListWidget extends AlwaysSelectedEntryListWidget<DefenderListWidget.DefenderEntry> {
-    private final DefenderListScreen parent;
+    private static final int BAR_WIDTH = 100;
+    private static final int BAR_HEIGHT = 6;
 
-    public DefenderListWidget(MinecraftClient client, DefenderListScreen parent, int width, int height, int top, int bottom) {
+    public DefenderListWidget(MinecraftClient client, int width, int height, int top, int bottom) {
         super(client, width, height, top, bottom, 42); // 42 Pixel pro Entry (für Stats-Zeile)
-        this.parent = parent;
     }
 
     /**
-     * Lädt Defender-Daten in die Liste
+     * Zeigt die gefilterten/sortierten Einträge - ohne Neuaufbau, wenn sich Auswahl und Reihenfolge nicht ändern
      */
-    public void load(List<DefenderSyncPacket.DefenderData> defenders) {
-        this.clearEntries();
-        for (DefenderSyncPacket.DefenderData defender : defenders) {
-            this.addEntry(new DefenderEntry(defender));
-        }
+    public void setEntries(List<DefenderEntry> entries) {
+        if (entries.equals(this.children())) return;
+
+        DefenderEntry selected = this.getSelectedOrNull();
+        double scroll = this.getScrollAmount();
+        this.replaceEntries(entries);
+        this.setSelected(selected != null && entries.contains(selected) ? selected : null);
+        this.setScrollAmount(scroll); // wird auf die neue Listenlänge begrenzt
     }
 
     @Override
     protected int getScrollbarPositionX() {
-        return this.width - 6;
+        return this.left + this.width - 6;
     }
 
     @Override
@@ -44,36 +50,56 @@ public class DefenderListWidget extends AlwaysSelectedEntryListWidget<DefenderLi
     /**
      * Entry für einen einzelnen Defender in der Liste
      */
-    public class DefenderEntry extends Entry<DefenderEntry> {
-        private final DefenderSyncPacket.DefenderData defender;
-
-        public DefenderEntry(DefenderSyncPacket.DefenderData defender) {
+    public static class DefenderEntry extends Entry<DefenderEntry> {
+        private final DefenderListScreen parent;
+        private DefenderSyncPacket.DefenderData defender;
+        private boolean textsValid;
+
+        // Vorbereitete Anzeige (siehe rebuild)
+        private OrderedText nameText;
+        private OrderedText hpText;
+        private OrderedText statsText;
+        private OrderedText classText;
+        private Text narration;
+        private int fillColor;
+        private int fillWidth;
+
+        public DefenderEntry(DefenderListScreen parent, DefenderSyncPacket.DefenderData defender) {
+            this.parent = parent;
             this.defender = defender;
         }
 
-        @Override
-        public void render(DrawContext context, int index, int y, int x, int entryWidth, int entryHeight, int mouseX, int mouseY, boolean hovered, float tickDelta) {
-            // Name + Level (mit Klassen-Farbe als String)
-            String classColorCode = defender.villagerClass().getColorCode();
-            String name = String.format("%s%s - Lvl %d", classColorCode, defender.name(), defender.level());
-            context.drawText(
-                MinecraftClient.getInstance().textRenderer,
-                Text.literal(name),
-                x + 5, y + 5, 0xFFFFFF, true
-            );
+        public DefenderSyncPacket.DefenderData getDefender() {
+            return defender;
+        }
 
-            // HP-Bar
-            float healthPercent = defender.health() / defender.maxHealth();
-            int barWidth = 100;
-            int barHeight = 6;
-            int barX = x + 5;
-            int barY = y + 20;
+        /**
+         * Übernimmt neue Daten - Texte nur neu, wenn sich etwas Sichtbares geändert hat
+         */
+        void update(DefenderSyncPacket.DefenderData updated) {
+            DefenderSyncPacket.DefenderData old = this.defender;
+            this.defender = updated;
+            if (!old.name().equals(updated.name()) || old.villagerClass() != updated.villagerClass()
+                || old.level() != updated.level() || old.health() != updated.health()
+                || old.maxHealth() != updated.maxHealth() || old.kills() != updated.kills()
+                || old.damageDealt() != updated.damageDealt()) {
+                textsValid = false; // Neu aufgebaut beim nächsten sichtbaren Rendern
+            }
+        }
 
-            // HP-Bar Hintergrund (Grau)
-            context.fill(barX, barY, barX + barWidth, barY + barHeight, 0xFF333333);
+        private void rebuild() {
+            textsValid = true;
+            // Name + Level (mit Klassen-Farbe als String)
+            String classColorCode = defender.villagerClass().getColorCode();
+            nameText = Text.literal(String.format("%s%s - Lvl %d", classColorCode, defender.name(), defender.level())).asOrderedText();
+            hpText = Text.literal(String.format("%.0f/%.0f HP", defender.health(), defender.maxHealth())).asOrderedText();
+            // Stats (Kills & Damage) unterhalb HP-Bar
+            statsText = Text.literal(String.format("§7💀 %d  §7💥 %d", defender.kills(), defender.damageDealt())).asOrderedText();
+            classText = Text.literal(classColorCode + defender.villagerClass().getDisplayName()).asOrderedText();
+            narration = Text.literal(String.format("%s - Level %d", defender.name(), defender.level()));
 
             // HP-Bar Füllung (Farbe basierend auf HP%)
-            int fillColor;
+            float healthPercent = defender.health() / defender.maxHealth();
             if (healthPercent > 0.7f) {
                 fillColor = 0xFF00FF00; // Grün
             } else if (healthPercent > 0.4f) {
@@ -81,32 +107,29 @@ public class DefenderListWidget extends AlwaysSelectedEntryListWidget<DefenderLi
             } else {
                 fillColor = 0xFFFF0000; // Rot
             }
-            int fillWidth = (int) (barWidth * healthPercent);
-            context.fill(barX, barY, barX + fillWidth, barY + barHeight, fillColor);
+            fillWidth = (int) (BAR_WIDTH * healthPercent);
+        }
+
+        @Override
+        public void render(DrawContext context, int index, int y, int x, int entryWidth, int entryHeight, int mouseX, int mouseY, boolean hovered, float tickDelta) {
+            if (!textsValid) {
+                rebuild();
+            }
+            TextRenderer textRenderer = MinecraftClient.getInstance().textRenderer;
 
-            // HP-Text
-            String hpText = String.format("%.0f/%.0f HP", defender.health(), defender.maxHealth());
-            context.drawText(
-                MinecraftClient.getInstance().textRenderer,
-                Text.literal(hpText),
-                barX + barWidth + 5, barY - 1, 0xFFFFFF, false
-            );
+            context.drawText(textRenderer, nameText, x + 5, y + 5, 0xFFFFFF, true);
 
-            // Stats (Kills & Damage) unterhalb HP-Bar
-            String statsText = String.format("§7💀 %d  §7💥 %d", defender.kills(), defender.damageDealt());
-            context.drawText(
-                MinecraftClient.getInstance().textRenderer,
-                Text.literal(statsText),
-                x + 5, y + 28, 0xFFFFFF, false
-            );
+            // HP-Bar
+            int barX = x + 5;
+            int barY = y + 20;
+            context.fill(barX, barY, barX + BAR_WIDTH, barY + BAR_HEIGHT, 0xFF333333);
+            context.fill(barX, barY, barX + fillWidth, barY + BAR_HEIGHT, fillColor);
+            context.drawText(textRenderer, hpText, barX + BAR_WIDTH + 5, barY - 1, 0xFFFFFF, false);
+
+            context.drawText(textRenderer, statsText, x + 5, y + 28, 0xFFFFFF, false);
 
             // Klasse (rechts, mit Farb-Code)
-            String className = classColorCode + defender.villagerClass().getDisplayName();
-            context.drawText(
-                MinecraftClient.getInstance().textRenderer,
-                Text.literal(className),
-                x + entryWidth - 60, y + 5, 0xFFFFFF, false
-            );
+            context.drawText(textRenderer, classText, x + entryWidth - 60, y + 5, 0xFFFFFF, false);
         }
 
         @Override
@@ -121,7 +144,10 @@ public class DefenderListWidget extends AlwaysSelectedEntryListWidget<DefenderLi
 
         @Override
         public Text getNarration() {
-            return Text.literal(String.format("%s - Level %d", defender.name(), defender.level()));
+            if (!textsValid) {
+                rebuild();
+            }
+            return narration;
         }
     }
 }
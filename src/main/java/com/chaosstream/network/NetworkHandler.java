@@ -1,5 +1,6 @@
 package com.chaosstream.network;
 
+import com.chaosstream.Arena;
 import com.chaosstream.ChaosMod;
 import com.chaosstream.DefenderManager;
 import com.chaosstream.DefenderVillager;
@@ -13,7 +14,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Server-Side Networking Handler
@@ -114,17 +117,20 @@ public class NetworkHandler {
             }
         }
 
-        // Village Core-Daten
-        BlockPos corePos = villageManager.getVillageCorePos();
-        int coreHealth = villageManager.getCoreHP();
-        int coreMaxHealth = villageManager.getMaxCoreHP();
-
-        // Active Spawn-Locations (von WaveManager)
-        List<BlockPos> spawnLocations = ChaosMod.getWaveManager().getActiveSpawnLocations();
+        // Active Spawn-Locations pro Arena (von WaveManager, einmal pro Arena gesammelt)
+        Map<Arena, List<BlockPos>> spawnLocationsByArena = new HashMap<>();
 
         // Sende an alle Spieler (Minecraft 1.20.1 API)
-        // Jeder Spieler erhält seine eigene Position
+        // Jeder Spieler erhält seine eigene Position und den Core seiner Arena
         for (ServerPlayerEntity player : server.getPlayerManager().getPlayerList()) {
+            Arena arena = villageManager.getArenaAtOrDefault(player.getWorld().getRegistryKey(), player.getBlockPos());
+            BlockPos corePos = arena != null ? arena.getCorePos() : null;
+            int coreHealth = arena != null ? arena.getCoreHP() : villageManager.getMaxCoreHP();
+            int coreMaxHealth = villageManager.getMaxCoreHP();
+            List<BlockPos> spawnLocations = arena != null
+                ? spawnLocationsByArena.computeIfAbsent(arena, a -> ChaosMod.getWaveManager().getActiveSpawnLocations(a))
+                : new ArrayList<>();
+
             // Erstelle Packet mit Spieler-Position
             DefenderSyncPacket packet = new DefenderSyncPacket(
                 defenderDataList,